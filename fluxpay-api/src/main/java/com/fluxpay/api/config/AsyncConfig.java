@@ -0,0 +1,105 @@
+package com.fluxpay.api.config;
+
+import com.fluxpay.security.context.ContextPropagatingTaskDecorator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.CompositeTaskDecorator;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig implements AsyncConfigurer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncConfig.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${ASYNC_MAX_CONCURRENCY:256}")
+    private int maxConcurrency;
+
+    @Value("${ASYNC_QUEUE_CAPACITY:10000}")
+    private int queueCapacity;
+
+    @Value("${ASYNC_AWAIT_TERMINATION_SECONDS:30}")
+    private int awaitTerminationSeconds;
+
+    public AsyncConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Each task gets its own virtual thread, which waits for one of ASYNC_MAX_CONCURRENCY permits before running, so
+    // tasks beyond the limit queue without holding the caller. Once ASYNC_QUEUE_CAPACITY tasks are waiting, further
+    // tasks are dropped and counted rather than run on the request thread.
+    @Bean(name = "taskExecutor")
+    public SimpleAsyncTaskExecutor taskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("fluxpay-async-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(new CompositeTaskDecorator(List.of(
+                new ContextPropagatingTaskDecorator(), admissionDecorator())));
+        executor.setTaskTerminationTimeout(TimeUnit.SECONDS.toMillis(awaitTerminationSeconds));
+        return executor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return taskExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) ->
+                LOGGER.warn("Async {}.{} failed: {}", method.getDeclaringClass().getSimpleName(), method.getName(), ex.getMessage());
+    }
+
+    private TaskDecorator admissionDecorator() {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        AtomicInteger queued = new AtomicInteger();
+        Timer wait = Timer.builder("fluxpay.async.wait").register(meterRegistry);
+        Timer execution = Timer.builder("fluxpay.async.execution").register(meterRegistry);
+        Counter rejected = Counter.builder("fluxpay.async.rejected").register(meterRegistry);
+        Gauge.builder("fluxpay.async.queue.size", queued, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("fluxpay.async.active", permits, p -> maxConcurrency - p.availablePermits())
+                .register(meterRegistry);
+        return runnable -> {
+            if (queued.incrementAndGet() > queueCapacity) {
+                queued.decrementAndGet();
+                rejected.increment();
+                LOGGER.warn("Async queue is full ({} tasks waiting), dropping task", queueCapacity);
+                return () -> { };
+            }
+            long submitted = System.nanoTime();
+            return () -> {
+                try {
+                    permits.acquireUninterruptibly();
+                } finally {
+                    queued.decrementAndGet();
+                }
+                long started = System.nanoTime();
+                wait.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    runnable.run();
+                } finally {
+                    execution.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    permits.release();
+                }
+            };
+        };
+    }
+}
@@ -1,10 +1,15 @@
 package com.fluxpay.api.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+import java.time.Duration;
+
 @Configuration
 public class SchedulerConfig {
 
@@ -15,6 +20,7 @@ public class SchedulerConfig {
     private int awaitTerminationSeconds;
 
     @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
     public ThreadPoolTaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
         scheduler.setPoolSize(poolSize);
@@ -24,5 +30,14 @@ public class SchedulerConfig {
         scheduler.initialize();
         return scheduler;
     }
-}
 
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskScheduler virtualThreadTaskScheduler() {
+        SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+        scheduler.setVirtualThreads(true);
+        scheduler.setThreadNamePrefix("fluxpay-scheduler-");
+        scheduler.setTaskTerminationTimeout(Duration.ofSeconds(awaitTerminationSeconds).toMillis());
+        return scheduler;
+    }
+}
@@ -0,0 +1,23 @@
+package com.fluxpay.api.config;
+
+import com.fluxpay.api.interceptor.ApiQuotaInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ApiQuotaInterceptor apiQuotaInterceptor;
+
+    public WebMvcConfig(ApiQuotaInterceptor apiQuotaInterceptor) {
+        this.apiQuotaInterceptor = apiQuotaInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(apiQuotaInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/auth/**", "/api/tenants/*/usage");
+    }
+}
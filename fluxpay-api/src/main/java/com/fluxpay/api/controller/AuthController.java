@@ -5,6 +5,7 @@ import com.fluxpay.api.dto.LoginResponse;
 import com.fluxpay.api.dto.RefreshTokenRequest;
 import com.fluxpay.api.dto.RefreshTokenResponse;
 import com.fluxpay.api.dto.SessionInfoResponse;
+import com.fluxpay.common.exception.ResourceNotFoundException;
 import com.fluxpay.common.exception.ValidationException;
 import com.fluxpay.security.context.TenantContext;
 import com.fluxpay.security.jwt.JwtTokenProvider;
@@ -13,6 +14,7 @@ import com.fluxpay.security.session.model.DeviceInfo;
 import com.fluxpay.security.session.model.SecurityFlags;
 import com.fluxpay.security.session.model.SessionData;
 import com.fluxpay.security.session.service.DeviceFingerprintService;
+import com.fluxpay.security.session.service.LoginThrottleService;
 import com.fluxpay.security.session.service.SessionService;
 import com.fluxpay.tenant.entity.User;
 import com.fluxpay.tenant.service.UserService;
@@ -36,27 +38,41 @@ public class AuthController {
     private final SessionService sessionService;
     private final DeviceFingerprintService deviceFingerprintService;
     private final SessionProperties sessionProperties;
+    private final LoginThrottleService loginThrottleService;
 
     public AuthController(
             UserService userService,
             JwtTokenProvider jwtTokenProvider,
             SessionService sessionService,
             DeviceFingerprintService deviceFingerprintService,
-            SessionProperties sessionProperties) {
+            SessionProperties sessionProperties,
+            LoginThrottleService loginThrottleService) {
         this.userService = userService;
         this.jwtTokenProvider = jwtTokenProvider;
         this.sessionService = sessionService;
         this.deviceFingerprintService = deviceFingerprintService;
         this.sessionProperties = sessionProperties;
+        this.loginThrottleService = loginThrottleService;
     }
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
-        User user = userService.getUserByEmail(request.getEmail());
+        String ipAddress = deviceFingerprintService.getClientIpAddress(httpRequest);
+        loginThrottleService.checkAllowed(request.getEmail(), ipAddress);
+
+        User user;
+        try {
+            user = userService.getUserByEmail(request.getEmail());
+        } catch (ResourceNotFoundException e) {
+            loginThrottleService.recordFailure(request.getEmail(), ipAddress);
+            throw e;
+        }
 
         if (!userService.verifyPassword(user, request.getPassword())) {
+            loginThrottleService.recordFailure(request.getEmail(), ipAddress);
             throw new ValidationException("Invalid credentials");
         }
+        int failedAttempts = loginThrottleService.recordSuccess(request.getEmail());
 
         String sessionId = UUID.randomUUID().toString();
         String refreshToken = UUID.randomUUID().toString() + "-" + System.currentTimeMillis();
@@ -70,7 +86,6 @@ public class AuthController {
 
         DeviceInfo deviceInfo = deviceFingerprintService.extractDeviceInfo(httpRequest);
         String deviceFingerprint = deviceFingerprintService.generateFingerprint(httpRequest);
-        String ipAddress = deviceFingerprintService.getClientIpAddress(httpRequest);
 
         SessionData sessionData = SessionData.builder()
                 .sessionId(sessionId)
@@ -87,7 +102,7 @@ public class AuthController {
                         .suspiciousActivity(false)
                         .requiresReauth(false)
                         .mfaRequired(false)
-                        .failedAttempts(0)
+                        .failedAttempts(failedAttempts)
                         .lastSecurityCheck(Instant.now())
                         .build())
                 .createdAt(Instant.now())
@@ -0,0 +1,42 @@
+package com.fluxpay.api.controller;
+
+import com.fluxpay.subscription.dto.EntitlementDecision;
+import com.fluxpay.subscription.service.EntitlementService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/subscriptions/{subscriptionId}/entitlements")
+public class EntitlementController {
+
+    private final EntitlementService entitlementService;
+
+    public EntitlementController(EntitlementService entitlementService) {
+        this.entitlementService = entitlementService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, EntitlementDecision>> getEntitlements(
+            @PathVariable UUID subscriptionId,
+            @RequestParam(name = "features", required = false) List<String> features) {
+        Map<String, EntitlementDecision> decisions = features == null || features.isEmpty()
+                ? entitlementService.getEntitlements(subscriptionId)
+                : entitlementService.checkAll(subscriptionId, features);
+        return ResponseEntity.ok(decisions);
+    }
+
+    @GetMapping("/{featureKey}")
+    public ResponseEntity<EntitlementDecision> checkEntitlement(
+            @PathVariable UUID subscriptionId,
+            @PathVariable String featureKey) {
+        return ResponseEntity.ok(entitlementService.check(subscriptionId, featureKey));
+    }
+}
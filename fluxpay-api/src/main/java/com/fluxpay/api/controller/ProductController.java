@@ -1,7 +1,11 @@
 package com.fluxpay.api.controller;
 
+import com.fluxpay.product.dto.CatalogPrice;
+import com.fluxpay.product.dto.CatalogProduct;
+import com.fluxpay.product.dto.CatalogSnapshot;
 import com.fluxpay.product.entity.Price;
 import com.fluxpay.product.entity.Product;
+import com.fluxpay.product.service.CatalogService;
 import com.fluxpay.product.service.PriceService;
 import com.fluxpay.product.service.ProductService;
 import jakarta.validation.Valid;
@@ -18,10 +22,12 @@ public class ProductController {
 
     private final ProductService productService;
     private final PriceService priceService;
+    private final CatalogService catalogService;
 
-    public ProductController(ProductService productService, PriceService priceService) {
+    public ProductController(ProductService productService, PriceService priceService, CatalogService catalogService) {
         this.productService = productService;
         this.priceService = priceService;
+        this.catalogService = catalogService;
     }
 
     @PostMapping
@@ -31,9 +37,15 @@ public class ProductController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Product>> getProducts() {
-        List<Product> products = productService.getActiveProducts();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<CatalogProduct>> getProducts() {
+        CatalogSnapshot catalog = catalogService.getCatalog();
+        return ResponseEntity.ok().eTag(catalog.etag()).body(catalog.products());
+    }
+
+    @GetMapping("/catalog")
+    public ResponseEntity<CatalogSnapshot> getCatalog() {
+        CatalogSnapshot catalog = catalogService.getCatalog();
+        return ResponseEntity.ok().eTag(catalog.etag()).body(catalog);
     }
 
     @GetMapping("/{id}")
@@ -56,8 +68,12 @@ public class ProductController {
     }
 
     @GetMapping("/{productId}/prices")
-    public ResponseEntity<List<Price>> getPrices(@PathVariable UUID productId) {
-        List<Price> prices = priceService.getActivePricesByProduct(productId);
+    public ResponseEntity<List<CatalogPrice>> getPrices(@PathVariable UUID productId) {
+        CatalogSnapshot catalog = catalogService.getCatalog();
+        if (catalog.containsProduct(productId)) {
+            return ResponseEntity.ok().eTag(catalog.etag()).body(catalog.pricesFor(productId));
+        }
+        List<CatalogPrice> prices = priceService.getActivePricesByProduct(productId);
         return ResponseEntity.ok(prices);
     }
 
@@ -1,10 +1,13 @@
 package com.fluxpay.api.controller;
 
+import com.fluxpay.api.dto.ApiUsageResponse;
 import com.fluxpay.api.dto.TenantRegistrationRequest;
 import com.fluxpay.common.enums.UserRole;
+import com.fluxpay.common.exception.ResourceNotFoundException;
 import com.fluxpay.security.context.TenantContext;
 import com.fluxpay.tenant.entity.Tenant;
 import com.fluxpay.tenant.entity.User;
+import com.fluxpay.tenant.service.ApiUsageService;
 import com.fluxpay.tenant.service.TenantService;
 import com.fluxpay.tenant.service.UserService;
 import jakarta.validation.Valid;
@@ -20,10 +23,12 @@ public class TenantController {
 
     private final TenantService tenantService;
     private final UserService userService;
+    private final ApiUsageService apiUsageService;
 
-    public TenantController(TenantService tenantService, UserService userService) {
+    public TenantController(TenantService tenantService, UserService userService, ApiUsageService apiUsageService) {
         this.tenantService = tenantService;
         this.userService = userService;
+        this.apiUsageService = apiUsageService;
     }
 
     @PostMapping("/register")
@@ -35,8 +40,6 @@ public class TenantController {
 
         Tenant createdTenant = tenantService.createTenant(tenant);
 
-        TenantContext.setCurrentTenant(createdTenant.getId());
-
         User adminUser = new User();
         adminUser.setTenantId(createdTenant.getId());
         adminUser.setEmail(request.getAdminEmail());
@@ -45,9 +48,8 @@ public class TenantController {
         adminUser.setRole(UserRole.OWNER);
         adminUser.setEmailVerified(true);
 
-        userService.createUser(adminUser, request.getAdminPassword());
-
-        TenantContext.clear();
+        TenantContext.runWithTenant(createdTenant.getId(),
+                () -> userService.createUser(adminUser, request.getAdminPassword()));
 
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTenant);
     }
@@ -58,6 +60,19 @@ public class TenantController {
         return ResponseEntity.ok(tenant);
     }
 
+    @GetMapping("/{id}/usage")
+    public ResponseEntity<ApiUsageResponse> getUsage(@PathVariable UUID id) {
+        if (!id.equals(TenantContext.getCurrentTenantId())) {
+            throw new ResourceNotFoundException("Tenant", id);
+        }
+        Tenant tenant = tenantService.getTenantById(id);
+        long callCount = apiUsageService.getCurrentUsage(id);
+        Integer limit = tenant.getMaxApiCallsPerMonth();
+        Long remaining = limit != null ? Math.max(0L, limit - callCount) : null;
+        return ResponseEntity.ok(new ApiUsageResponse(
+                id, ApiUsageService.currentMonth(), callCount, limit, remaining));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Tenant> updateTenant(@PathVariable UUID id, @RequestBody Tenant tenant) {
         Tenant updatedTenant = tenantService.updateTenant(id, tenant);
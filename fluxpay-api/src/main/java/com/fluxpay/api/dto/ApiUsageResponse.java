@@ -0,0 +1,18 @@
+package com.fluxpay.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiUsageResponse {
+    private UUID tenantId;
+    private String month;
+    private Long callCount;
+    private Integer limit;
+    private Long remaining;
+}
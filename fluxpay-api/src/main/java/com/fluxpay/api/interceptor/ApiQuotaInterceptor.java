@@ -0,0 +1,34 @@
+package com.fluxpay.api.interceptor;
+
+import com.fluxpay.common.exception.RateLimitExceededException;
+import com.fluxpay.security.context.TenantContext;
+import com.fluxpay.tenant.service.ApiUsageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.UUID;
+
+@Component
+public class ApiQuotaInterceptor implements HandlerInterceptor {
+
+    private final ApiUsageService apiUsageService;
+
+    public ApiQuotaInterceptor(ApiUsageService apiUsageService) {
+        this.apiUsageService = apiUsageService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        UUID tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId == null) {
+            return true;
+        }
+        if (apiUsageService.isQuotaExceeded(tenantId)) {
+            throw new RateLimitExceededException("Monthly API call quota exceeded");
+        }
+        apiUsageService.record(tenantId);
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, partition_month DATE) RETURNS VOID AS $$
+DECLARE
+    start_date DATE := date_trunc('month', partition_month)::date;
+    end_date DATE := (date_trunc('month', partition_month) + INTERVAL '1 month')::date;
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+        parent || '_' || to_char(start_date, 'YYYYMM'), parent, start_date, end_date);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops every monthly partition of parent whose whole range ends on or before cutoff.
+CREATE OR REPLACE FUNCTION drop_monthly_partitions_before(parent TEXT, cutoff DATE) RETURNS INTEGER AS $$
+DECLARE
+    child RECORD;
+    dropped INTEGER := 0;
+BEGIN
+    FOR child IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        WHERE p.relname = parent AND c.relname ~ ('^' || parent || '_[0-9]{6}$')
+    LOOP
+        IF (to_date(right(child.relname, 6), 'YYYYMM') + INTERVAL '1 month')::date <= cutoff THEN
+            EXECUTE format('DROP TABLE IF EXISTS %I', child.relname);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE session_audit_logs RENAME TO session_audit_logs_legacy;
+ALTER TABLE session_audit_logs_legacy RENAME CONSTRAINT session_audit_logs_pkey TO session_audit_logs_legacy_pkey;
+ALTER TABLE session_events RENAME TO session_events_legacy;
+ALTER TABLE session_events_legacy RENAME CONSTRAINT session_events_pkey TO session_events_legacy_pkey;
+
+CREATE TABLE session_audit_logs (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    session_id VARCHAR(255) NOT NULL,
+    user_id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    ip_address VARCHAR(45),
+    device_info TEXT,
+    details TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE session_events (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    session_id VARCHAR(255) NOT NULL,
+    user_id UUID NOT NULL,
+    tenant_id UUID NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    timestamp TIMESTAMP NOT NULL,
+    metadata TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+DO $$
+DECLARE
+    next_month DATE;
+BEGIN
+    next_month := date_trunc('month', LEAST(
+        COALESCE((SELECT MIN(created_at) FROM session_audit_logs_legacy), CURRENT_TIMESTAMP),
+        COALESCE((SELECT MIN(timestamp) FROM session_events_legacy), CURRENT_TIMESTAMP)))::date;
+    WHILE next_month <= (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months')::date LOOP
+        PERFORM create_monthly_partition('session_audit_logs', next_month);
+        PERFORM create_monthly_partition('session_events', next_month);
+        next_month := (next_month + INTERVAL '1 month')::date;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO session_audit_logs
+    (id, session_id, user_id, tenant_id, event_type, ip_address, device_info, details, created_at, updated_at, deleted_at)
+SELECT id, session_id, user_id, tenant_id, event_type, ip_address, device_info, details, created_at, updated_at, deleted_at
+FROM session_audit_logs_legacy;
+
+INSERT INTO session_events
+    (id, session_id, user_id, tenant_id, event_type, timestamp, metadata, created_at, updated_at, deleted_at)
+SELECT id, session_id, user_id, tenant_id, event_type, timestamp, metadata, created_at, updated_at, deleted_at
+FROM session_events_legacy;
+
+DROP TABLE session_audit_logs_legacy;
+DROP TABLE session_events_legacy;
+
+CREATE INDEX idx_session_audit_logs_created_at ON session_audit_logs USING BRIN (created_at);
+CREATE INDEX idx_session_audit_logs_session_id ON session_audit_logs(session_id);
+CREATE INDEX idx_session_audit_logs_tenant_user ON session_audit_logs(tenant_id, user_id, created_at);
+
+CREATE INDEX idx_session_events_timestamp ON session_events USING BRIN (timestamp);
+CREATE INDEX idx_session_events_session_id ON session_events(session_id);
+CREATE INDEX idx_session_events_tenant_user ON session_events(tenant_id, user_id, timestamp);
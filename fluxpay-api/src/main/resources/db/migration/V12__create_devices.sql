@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS devices (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    fingerprint VARCHAR(128) NOT NULL,
+    device_type VARCHAR(50),
+    device_name VARCHAR(255),
+    os VARCHAR(100),
+    os_version VARCHAR(50),
+    browser VARCHAR(100),
+    browser_version VARCHAR(50),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP,
+    CONSTRAINT uk_devices_fingerprint UNIQUE (fingerprint)
+);
+
+ALTER TABLE session_audit_logs ADD COLUMN device_id UUID;
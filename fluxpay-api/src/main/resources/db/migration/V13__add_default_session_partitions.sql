@@ -0,0 +1,62 @@
+-- Catch-all partitions so an INSERT for a month the partition scheduler has not created yet still succeeds.
+CREATE TABLE IF NOT EXISTS session_audit_logs_default PARTITION OF session_audit_logs DEFAULT;
+CREATE TABLE IF NOT EXISTS session_events_default PARTITION OF session_events DEFAULT;
+
+CREATE OR REPLACE FUNCTION partition_key_column(parent TEXT) RETURNS TEXT AS $$
+    SELECT a.attname::text
+    FROM pg_partitioned_table pt
+    JOIN pg_attribute a ON a.attrelid = pt.partrelid AND a.attnum = pt.partattrs[0]
+    WHERE pt.partrelid = parent::regclass;
+$$ LANGUAGE sql STABLE;
+
+-- Postgres refuses to add a partition while the default partition holds rows in its range, so those rows are moved
+-- into the new table before it is attached. Locking the default partition keeps inserts from landing there meanwhile.
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, partition_month DATE) RETURNS VOID AS $$
+DECLARE
+    start_date DATE := date_trunc('month', partition_month)::date;
+    end_date DATE := (date_trunc('month', partition_month) + INTERVAL '1 month')::date;
+    child TEXT := parent || '_' || to_char(start_date, 'YYYYMM');
+    default_child TEXT := parent || '_default';
+    key_column TEXT := partition_key_column(parent);
+BEGIN
+    IF to_regclass(child) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS)', child, parent);
+    IF to_regclass(default_child) IS NOT NULL THEN
+        EXECUTE format('LOCK TABLE %I IN SHARE ROW EXCLUSIVE MODE', default_child);
+        EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= %L AND %I < %L RETURNING *) '
+                || 'INSERT INTO %I SELECT * FROM moved',
+            default_child, key_column, start_date, key_column, end_date, child);
+    END IF;
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        parent, child, start_date, end_date);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops every monthly partition of parent whose whole range ends on or before cutoff, and deletes rows older than
+-- cutoff that are still waiting in the default partition.
+CREATE OR REPLACE FUNCTION drop_monthly_partitions_before(parent TEXT, cutoff DATE) RETURNS INTEGER AS $$
+DECLARE
+    child RECORD;
+    dropped INTEGER := 0;
+    default_child TEXT := parent || '_default';
+BEGIN
+    FOR child IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        WHERE p.relname = parent AND c.relname ~ ('^' || parent || '_[0-9]{6}$')
+    LOOP
+        IF (to_date(right(child.relname, 6), 'YYYYMM') + INTERVAL '1 month')::date <= cutoff THEN
+            EXECUTE format('DROP TABLE IF EXISTS %I', child.relname);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    IF to_regclass(default_child) IS NOT NULL THEN
+        EXECUTE format('DELETE FROM %I WHERE %I < %L', default_child, partition_key_column(parent), cutoff);
+    END IF;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,102 @@
+package com.fluxpay.api.config;
+
+import com.fluxpay.security.context.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncConfigTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SimpleAsyncTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AsyncConfig config = new AsyncConfig(meterRegistry);
+        ReflectionTestUtils.setField(config, "maxConcurrency", 2);
+        ReflectionTestUtils.setField(config, "queueCapacity", 2);
+        ReflectionTestUtils.setField(config, "awaitTerminationSeconds", 1);
+        executor = config.taskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+        TenantContext.clear();
+    }
+
+    @Test
+    void taskExecutor_RunsOnVirtualThreadsWithTenantContext() throws Exception {
+        UUID tenantId = UUID.randomUUID();
+        TenantContext.setCurrentTenant(tenantId);
+
+        CompletableFuture<UUID> seenTenant = new CompletableFuture<>();
+        CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+        executor.execute(() -> {
+            seenTenant.complete(TenantContext.getCurrentTenantId());
+            virtual.complete(Thread.currentThread().isVirtual());
+        });
+
+        assertThat(seenTenant.get(5, TimeUnit.SECONDS)).isEqualTo(tenantId);
+        assertThat(virtual.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void taskExecutor_RecordsLatencyMetrics() throws Exception {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        executor.execute(() -> done.complete(null));
+        done.get(5, TimeUnit.SECONDS);
+
+        executor.close();
+
+        assertThat(meterRegistry.get("fluxpay.async.wait").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("fluxpay.async.execution").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("fluxpay.async.queue.size").gauge().value()).isZero();
+        assertThat(meterRegistry.get("fluxpay.async.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void taskExecutor_QueuesBeyondConcurrencyAndDropsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(2);
+        AtomicInteger ranOnCaller = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+        Runnable blocking = () -> {
+            if (Thread.currentThread() == caller) {
+                ranOnCaller.incrementAndGet();
+            }
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        executor.execute(blocking);
+        executor.execute(blocking);
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(blocking);
+        executor.execute(blocking);
+        executor.execute(blocking);
+
+        assertThat(meterRegistry.get("fluxpay.async.active").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("fluxpay.async.queue.size").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("fluxpay.async.rejected").counter().count()).isEqualTo(1);
+        assertThat(ranOnCaller).hasValue(0);
+
+        release.countDown();
+    }
+}
@@ -5,6 +5,8 @@ import com.fluxpay.api.dto.LoginResponse;
 import com.fluxpay.api.dto.RefreshTokenRequest;
 import com.fluxpay.api.dto.RefreshTokenResponse;
 import com.fluxpay.api.dto.SessionInfoResponse;
+import com.fluxpay.common.exception.RateLimitExceededException;
+import com.fluxpay.common.exception.ResourceNotFoundException;
 import com.fluxpay.common.exception.ValidationException;
 import com.fluxpay.security.context.TenantContext;
 import com.fluxpay.security.jwt.JwtTokenProvider;
@@ -13,6 +15,7 @@ import com.fluxpay.security.session.model.DeviceInfo;
 import com.fluxpay.security.session.model.SecurityFlags;
 import com.fluxpay.security.session.model.SessionData;
 import com.fluxpay.security.session.service.DeviceFingerprintService;
+import com.fluxpay.security.session.service.LoginThrottleService;
 import com.fluxpay.security.session.service.SessionService;
 import com.fluxpay.tenant.entity.User;
 import com.fluxpay.tenant.service.UserService;
@@ -60,6 +63,9 @@ class AuthControllerTest {
     @Mock
     private SessionProperties sessionProperties;
 
+    @Mock
+    private LoginThrottleService loginThrottleService;
+
     @Mock
     private HttpServletRequest httpRequest;
 
@@ -151,6 +157,58 @@ class AuthControllerTest {
                 .hasMessageContaining("Invalid credentials");
 
         verify(sessionService, never()).createSession(any());
+        verify(loginThrottleService).recordFailure(eq("test@example.com"), any());
+        verify(loginThrottleService, never()).recordSuccess(any());
+    }
+
+    @Test
+    void login_WhenThrottled_ShouldRejectBeforeVerifyingPassword() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("password123");
+
+        when(deviceFingerprintService.getClientIpAddress(httpRequest)).thenReturn("127.0.0.1");
+        doThrow(new RateLimitExceededException("Too many failed sign-in attempts, try again later"))
+                .when(loginThrottleService).checkAllowed("test@example.com", "127.0.0.1");
+
+        assertThatThrownBy(() -> authController.login(request, httpRequest))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        verifyNoInteractions(userService);
+        verify(sessionService, never()).createSession(any());
+    }
+
+    @Test
+    void login_WithUnknownEmail_ShouldRecordFailure() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("nobody@example.com");
+        request.setPassword("password123");
+
+        when(deviceFingerprintService.getClientIpAddress(httpRequest)).thenReturn("127.0.0.1");
+        when(userService.getUserByEmail("nobody@example.com"))
+                .thenThrow(new ResourceNotFoundException("User with email: nobody@example.com"));
+
+        assertThatThrownBy(() -> authController.login(request, httpRequest))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verify(loginThrottleService).recordFailure("nobody@example.com", "127.0.0.1");
+    }
+
+    @Test
+    void login_Success_ShouldCarryPriorFailuresIntoSession() {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("test@example.com");
+        request.setPassword("password123");
+
+        when(userService.getUserByEmail("test@example.com")).thenReturn(user);
+        when(userService.verifyPassword(user, "password123")).thenReturn(true);
+        when(loginThrottleService.recordSuccess("test@example.com")).thenReturn(3);
+        when(jwtTokenProvider.createToken(eq(userId), eq(tenantId), eq("ADMIN"), anyString())).thenReturn("access-token");
+
+        authController.login(request, httpRequest);
+
+        verify(sessionService).createSession(argThat(session -> session.getSecurityFlags().getFailedAttempts() == 3));
+        verify(loginThrottleService, never()).recordFailure(any(), any());
     }
 
     @Test
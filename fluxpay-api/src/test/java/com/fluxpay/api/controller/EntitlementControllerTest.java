@@ -0,0 +1,67 @@
+package com.fluxpay.api.controller;
+
+import com.fluxpay.subscription.dto.EntitlementDecision;
+import com.fluxpay.subscription.service.EntitlementService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EntitlementControllerTest {
+
+    @Mock
+    private EntitlementService entitlementService;
+
+    @InjectMocks
+    private EntitlementController entitlementController;
+
+    private final UUID subscriptionId = UUID.randomUUID();
+
+    @Test
+    void checkEntitlement_ReturnsDecision() {
+        EntitlementDecision decision = EntitlementDecision.limited("seats", 10);
+        when(entitlementService.check(subscriptionId, "seats")).thenReturn(decision);
+
+        ResponseEntity<EntitlementDecision> response = entitlementController.checkEntitlement(subscriptionId, "seats");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(decision);
+    }
+
+    @Test
+    void getEntitlements_WithFeatures_ChecksBatch() {
+        Map<String, EntitlementDecision> decisions = Map.of(
+                "sso", EntitlementDecision.enabled("sso"),
+                "api", EntitlementDecision.denied("api"));
+        when(entitlementService.checkAll(subscriptionId, List.of("sso", "api"))).thenReturn(decisions);
+
+        ResponseEntity<Map<String, EntitlementDecision>> response =
+                entitlementController.getEntitlements(subscriptionId, List.of("sso", "api"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(decisions);
+        verify(entitlementService, never()).getEntitlements(any());
+    }
+
+    @Test
+    void getEntitlements_WithoutFeatures_ReturnsAll() {
+        Map<String, EntitlementDecision> decisions = Map.of("projects", EntitlementDecision.unlimited("projects"));
+        when(entitlementService.getEntitlements(subscriptionId)).thenReturn(decisions);
+
+        ResponseEntity<Map<String, EntitlementDecision>> response =
+                entitlementController.getEntitlements(subscriptionId, null);
+
+        assertThat(response.getBody()).isEqualTo(decisions);
+    }
+}
@@ -1,7 +1,11 @@
 package com.fluxpay.api.controller;
 
+import com.fluxpay.product.dto.CatalogPrice;
+import com.fluxpay.product.dto.CatalogProduct;
+import com.fluxpay.product.dto.CatalogSnapshot;
 import com.fluxpay.product.entity.Price;
 import com.fluxpay.product.entity.Product;
+import com.fluxpay.product.service.CatalogService;
 import com.fluxpay.product.service.PriceService;
 import com.fluxpay.product.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,7 +19,9 @@ import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +38,9 @@ class ProductControllerTest {
     @Mock
     private PriceService priceService;
 
+    @Mock
+    private CatalogService catalogService;
+
     @InjectMocks
     private ProductController productController;
 
@@ -70,28 +79,41 @@ class ProductControllerTest {
 
     @Test
     void getProducts_Success() {
-        List<Product> products = List.of(product);
-        when(productService.getActiveProducts()).thenReturn(products);
+        when(catalogService.getCatalog()).thenReturn(catalog(List.of(product), Map.of(productId, List.of(price))));
 
-        ResponseEntity<List<Product>> response = productController.getProducts();
+        ResponseEntity<List<CatalogProduct>> response = productController.getProducts();
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1\"");
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody()).hasSize(1);
-        assertThat(response.getBody().get(0).getName()).isEqualTo("Test Product");
+        assertThat(response.getBody().get(0).name()).isEqualTo("Test Product");
+        verify(productService, never()).getActiveProducts();
     }
 
     @Test
     void getProducts_ReturnsEmptyList() {
-        when(productService.getActiveProducts()).thenReturn(Collections.emptyList());
+        when(catalogService.getCatalog()).thenReturn(catalog(Collections.emptyList(), Map.of()));
 
-        ResponseEntity<List<Product>> response = productController.getProducts();
+        ResponseEntity<List<CatalogProduct>> response = productController.getProducts();
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody()).isEmpty();
     }
 
+    @Test
+    void getCatalog_ReturnsSnapshotWithEtag() {
+        CatalogSnapshot catalog = catalog(List.of(product), Map.of(productId, List.of(price)));
+        when(catalogService.getCatalog()).thenReturn(catalog);
+
+        ResponseEntity<CatalogSnapshot> response = productController.getCatalog();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(response.getBody()).isSameAs(catalog);
+    }
+
     @Test
     void getProduct_Success() {
         when(productService.getProductById(productId)).thenReturn(product);
@@ -131,15 +153,28 @@ class ProductControllerTest {
 
     @Test
     void getPrices_Success() {
-        List<Price> prices = List.of(price);
-        when(priceService.getActivePricesByProduct(productId)).thenReturn(prices);
+        when(catalogService.getCatalog()).thenReturn(catalog(List.of(product), Map.of(productId, List.of(price))));
 
-        ResponseEntity<List<Price>> response = productController.getPrices(productId);
+        ResponseEntity<List<CatalogPrice>> response = productController.getPrices(productId);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"v1\"");
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody()).hasSize(1);
-        assertThat(response.getBody().get(0).getProductId()).isEqualTo(productId);
+        assertThat(response.getBody().get(0).productId()).isEqualTo(productId);
+        verify(priceService, never()).getActivePricesByProduct(any());
+    }
+
+    @Test
+    void getPrices_FallsBackForProductOutsideCatalog() {
+        when(catalogService.getCatalog()).thenReturn(catalog(Collections.emptyList(), Map.of()));
+        when(priceService.getActivePricesByProduct(productId)).thenReturn(List.of(CatalogPrice.of(price)));
+
+        ResponseEntity<List<CatalogPrice>> response = productController.getPrices(productId);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNull();
+        assertThat(response.getBody()).containsExactly(CatalogPrice.of(price));
     }
 
     @Test
@@ -151,5 +186,11 @@ class ProductControllerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         verify(productService).deleteProduct(productId);
     }
-}
 
+    private CatalogSnapshot catalog(List<Product> products, Map<UUID, List<Price>> prices) {
+        Map<UUID, List<CatalogPrice>> priceViews = new HashMap<>();
+        prices.forEach((id, list) -> priceViews.put(id, list.stream().map(CatalogPrice::of).toList()));
+        return new CatalogSnapshot(UUID.randomUUID(), 1L, "\"v1\"", products.stream().map(CatalogProduct::of).toList(),
+                priceViews, List.of(), Map.of());
+    }
+}
@@ -1,11 +1,13 @@
 package com.fluxpay.api.controller;
 
+import com.fluxpay.api.dto.ApiUsageResponse;
 import com.fluxpay.api.dto.TenantRegistrationRequest;
 import com.fluxpay.common.enums.UserRole;
 import com.fluxpay.common.exception.ResourceNotFoundException;
 import com.fluxpay.security.context.TenantContext;
 import com.fluxpay.tenant.entity.Tenant;
 import com.fluxpay.tenant.entity.User;
+import com.fluxpay.tenant.service.ApiUsageService;
 import com.fluxpay.tenant.service.TenantService;
 import com.fluxpay.tenant.service.UserService;
 import org.junit.jupiter.api.AfterEach;
@@ -36,6 +38,9 @@ class TenantControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ApiUsageService apiUsageService;
+
     @InjectMocks
     private TenantController tenantController;
 
@@ -223,5 +228,28 @@ class TenantControllerTest {
 
         verify(userService).createUser(argThat(u -> u.getEmailVerified() == true), anyString());
     }
-}
 
+    @Test
+    void getUsage_ReturnsCallsAndRemainingQuota() {
+        TenantContext.setCurrentTenant(tenantId);
+        tenant.setMaxApiCallsPerMonth(10000);
+        when(tenantService.getTenantById(tenantId)).thenReturn(tenant);
+        when(apiUsageService.getCurrentUsage(tenantId)).thenReturn(2500L);
+
+        ResponseEntity<ApiUsageResponse> response = tenantController.getUsage(tenantId);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getCallCount()).isEqualTo(2500L);
+        assertThat(response.getBody().getLimit()).isEqualTo(10000);
+        assertThat(response.getBody().getRemaining()).isEqualTo(7500L);
+    }
+
+    @Test
+    void getUsage_ForAnotherTenant_ShouldThrowNotFound() {
+        TenantContext.setCurrentTenant(UUID.randomUUID());
+
+        assertThatThrownBy(() -> tenantController.getUsage(tenantId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(tenantService, apiUsageService);
+    }
+}
@@ -0,0 +1,67 @@
+package com.fluxpay.api.interceptor;
+
+import com.fluxpay.common.exception.RateLimitExceededException;
+import com.fluxpay.security.context.TenantContext;
+import com.fluxpay.tenant.service.ApiUsageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiQuotaInterceptorTest {
+
+    @Mock
+    private ApiUsageService apiUsageService;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @InjectMocks
+    private ApiQuotaInterceptor interceptor;
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void preHandle_RecordsCall_WhenUnderQuota() {
+        UUID tenantId = UUID.randomUUID();
+        TenantContext.setCurrentTenant(tenantId);
+        when(apiUsageService.isQuotaExceeded(tenantId)).thenReturn(false);
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        verify(apiUsageService).record(tenantId);
+    }
+
+    @Test
+    void preHandle_Throws_WhenQuotaExceeded() {
+        UUID tenantId = UUID.randomUUID();
+        TenantContext.setCurrentTenant(tenantId);
+        when(apiUsageService.isQuotaExceeded(tenantId)).thenReturn(true);
+
+        assertThatThrownBy(() -> interceptor.preHandle(request, response, new Object()))
+                .isInstanceOf(RateLimitExceededException.class);
+        verify(apiUsageService, never()).record(tenantId);
+    }
+
+    @Test
+    void preHandle_SkipsMetering_WithoutTenant() {
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        verifyNoInteractions(apiUsageService);
+    }
+}
@@ -0,0 +1,99 @@
+package com.fluxpay.api.migration;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+class SessionPartitionMigrationIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() throws IOException {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        for (String script : new String[] {
+                "V8__create_session_tables.sql",
+                "V11__partition_session_audit_tables.sql",
+                "V13__add_default_session_partitions.sql"}) {
+            ClassPathResource resource = new ClassPathResource("db/migration/" + script);
+            jdbcTemplate.execute(resource.getContentAsString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE session_audit_logs, session_events");
+    }
+
+    @Test
+    void insert_ForMonthNotYetCreated_LandsInDefaultPartition() {
+        insertAuditLog("2099-01-15 10:00:00");
+
+        assertThat(partitionsOf("session_audit_logs")).isEqualTo("session_audit_logs_default");
+    }
+
+    @Test
+    void createMonthlyPartition_MovesRowsOutOfDefaultPartition() {
+        insertAuditLog("2098-03-15 10:00:00");
+        insertAuditLog("2098-04-15 10:00:00");
+
+        jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?::date)", Object.class,
+                "session_audit_logs", "2098-03-01");
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM session_audit_logs WHERE created_at < '2098-04-01'", String.class))
+                .isEqualTo("session_audit_logs_209803");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM session_audit_logs WHERE created_at >= '2098-04-01'", String.class))
+                .isEqualTo("session_audit_logs_default");
+
+        jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?::date)", Object.class,
+                "session_audit_logs", "2098-03-01");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM session_audit_logs", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void dropMonthlyPartitionsBefore_PurgesExpiredRowsFromDefaultPartition() {
+        jdbcTemplate.update("INSERT INTO session_events (session_id, user_id, tenant_id, event_type, timestamp) "
+                + "VALUES ('s1', ?, ?, 'LOGIN', ?)", UUID.randomUUID(), UUID.randomUUID(),
+                Timestamp.valueOf("2000-01-15 10:00:00"));
+        assertThat(partitionsOf("session_events")).isEqualTo("session_events_default");
+
+        jdbcTemplate.queryForObject("SELECT drop_monthly_partitions_before(?, ?::date)", Integer.class,
+                "session_events", "2001-01-01");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM session_events", Integer.class)).isZero();
+    }
+
+    private void insertAuditLog(String createdAt) {
+        jdbcTemplate.update("INSERT INTO session_audit_logs (session_id, user_id, tenant_id, event_type, created_at) "
+                + "VALUES ('s1', ?, ?, 'LOGIN', ?)", UUID.randomUUID(), UUID.randomUUID(),
+                Timestamp.valueOf(createdAt));
+    }
+
+    private String partitionsOf(String table) {
+        return jdbcTemplate.queryForObject(
+                "SELECT string_agg(DISTINCT tableoid::regclass::text, ',') FROM " + table, String.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.fluxpay.benchmarks.billing;
+
+import com.fluxpay.benchmarks.support.Stubs;
+import com.fluxpay.billing.entity.ExchangeRate;
+import com.fluxpay.billing.repository.ExchangeRateRepository;
+import com.fluxpay.billing.service.CurrencyService;
+import com.fluxpay.common.enums.Currency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class CurrencyServiceBenchmark {
+
+    private CurrencyService currencyService;
+
+    @Setup
+    public void setUp() {
+        ExchangeRate rate = new ExchangeRate();
+        rate.setFromCurrency(Currency.USD);
+        rate.setToCurrency(Currency.EUR);
+        rate.setRate(new BigDecimal("0.923456"));
+        rate.setEffectiveDate(LocalDate.now());
+
+        currencyService = new CurrencyService(Stubs.stub(ExchangeRateRepository.class,
+                "findTopByFromCurrencyAndToCurrencyAndActiveTrueAndEffectiveDateLessThanEqualOrderByEffectiveDateDesc",
+                Optional.of(rate)));
+    }
+
+    @Benchmark
+    public Long convertAmount() {
+        return currencyService.convertAmount(1_234_567L, Currency.USD, Currency.EUR);
+    }
+}
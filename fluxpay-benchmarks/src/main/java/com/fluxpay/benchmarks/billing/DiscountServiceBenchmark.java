@@ -0,0 +1,66 @@
+package com.fluxpay.benchmarks.billing;
+
+import com.fluxpay.benchmarks.support.Stubs;
+import com.fluxpay.billing.entity.Coupon;
+import com.fluxpay.billing.repository.CouponRepository;
+import com.fluxpay.billing.repository.DiscountRepository;
+import com.fluxpay.billing.service.DiscountService;
+import com.fluxpay.common.enums.DiscountType;
+import com.fluxpay.security.context.TenantContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class DiscountServiceBenchmark {
+
+    private static final String COUPON_CODE = "SAVE15";
+
+    @Param({"PERCENTAGE", "FIXED_AMOUNT"})
+    private DiscountType discountType;
+
+    private DiscountService discountService;
+
+    @Setup
+    public void setUp() {
+        Coupon coupon = new Coupon();
+        coupon.setId(UUID.randomUUID());
+        coupon.setCode(COUPON_CODE);
+        coupon.setDiscountType(discountType);
+        coupon.setDiscountValue(discountType == DiscountType.PERCENTAGE ? new BigDecimal("15.5") : new BigDecimal("12.99"));
+
+        CouponRepository couponRepository = Stubs.stub(CouponRepository.class,
+                Map.of("findByTenantIdAndCode", args -> Optional.of(coupon)));
+        discountService = new DiscountService(couponRepository, Stubs.stub(DiscountRepository.class, Map.of()),
+                new RedisTemplate<>(), new RedisMessageListenerContainer());
+        TenantContext.setCurrentTenant(UUID.randomUUID());
+    }
+
+    @TearDown
+    public void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Benchmark
+    public Long calculateDiscount() {
+        return discountService.calculateDiscount(49_999L, COUPON_CODE);
+    }
+}
@@ -0,0 +1,49 @@
+package com.fluxpay.benchmarks.billing;
+
+import com.fluxpay.common.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private long amount = 1_234_567L;
+    private BigDecimal percentage = new BigDecimal("13.3333");
+    private BigDecimal rate = new BigDecimal("0.923456");
+
+    @Benchmark
+    public long percentageBigDecimal() {
+        BigDecimal amountDecimal = BigDecimal.valueOf(amount).divide(HUNDRED, 4, RoundingMode.HALF_UP);
+        BigDecimal result = amountDecimal.multiply(percentage).divide(HUNDRED, 4, RoundingMode.HALF_UP);
+        return result.multiply(HUNDRED).longValue();
+    }
+
+    @Benchmark
+    public long percentageMoney() {
+        return Money.percentage(amount, percentage, RoundingMode.DOWN);
+    }
+
+    @Benchmark
+    public long convertBigDecimal() {
+        return BigDecimal.valueOf(amount).multiply(rate).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    @Benchmark
+    public long convertMoney() {
+        return Money.multiplyByRate(amount, rate, RoundingMode.HALF_UP);
+    }
+}
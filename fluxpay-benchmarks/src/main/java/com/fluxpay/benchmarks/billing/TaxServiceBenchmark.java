@@ -0,0 +1,63 @@
+package com.fluxpay.benchmarks.billing;
+
+import com.fluxpay.benchmarks.support.Stubs;
+import com.fluxpay.billing.entity.TaxRate;
+import com.fluxpay.billing.repository.TaxRateRepository;
+import com.fluxpay.billing.service.TaxService;
+import com.fluxpay.common.enums.TaxType;
+import com.fluxpay.security.context.TenantContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class TaxServiceBenchmark {
+
+    @Param({"9999", "1234567"})
+    private long subtotal;
+
+    @Param({"20.00", "13.3333"})
+    private String percentage;
+
+    private TaxService taxService;
+
+    @Setup
+    public void setUp() {
+        TaxRate taxRate = new TaxRate();
+        taxRate.setId(UUID.randomUUID());
+        taxRate.setName("Standard");
+        taxRate.setTaxType(TaxType.VAT);
+        taxRate.setCountryCode("DE");
+        taxRate.setPercentage(new BigDecimal(percentage));
+
+        taxService = new TaxService(Stubs.stub(TaxRateRepository.class,
+                "findByTenantIdAndCountryCodeAndActiveTrueOrderByCreatedAtDesc", Optional.of(taxRate)));
+        TenantContext.setCurrentTenant(UUID.randomUUID());
+    }
+
+    @TearDown
+    public void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Benchmark
+    public Map<String, Object> calculateTax() {
+        return taxService.calculateTax(subtotal, "DE");
+    }
+}
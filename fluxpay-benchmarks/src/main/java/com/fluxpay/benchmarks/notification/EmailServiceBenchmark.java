@@ -0,0 +1,57 @@
+package com.fluxpay.benchmarks.notification;
+
+import com.fluxpay.benchmarks.support.Stubs;
+import com.fluxpay.notification.repository.EmailTemplateRepository;
+import com.fluxpay.notification.service.EmailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class EmailServiceBenchmark {
+
+    private static final String TEMPLATE = "<html><body><h1>Hello {{firstName}} {{lastName}},</h1>"
+            + "<p>Your invoice {{invoiceNumber}} for {{amount}} {{currency}} is due on {{dueDate}}.</p>"
+            + "<p>Plan: {{planName}}. Questions? Reply to {{supportEmail}}.</p>"
+            + "<p>Thanks, {{companyName}}</p></body></html>";
+
+    private static final Map<String, String> VARIABLES = Map.of(
+            "firstName", "Ada",
+            "lastName", "Lovelace",
+            "invoiceNumber", "INV-2024-000123",
+            "amount", "129.99",
+            "currency", "EUR",
+            "dueDate", "2024-07-01",
+            "planName", "Scale",
+            "supportEmail", "billing@example.com",
+            "companyName", "FluxPay");
+
+    private EmailService emailService;
+    private Method replacePlaceholders;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        emailService = new EmailService(Stubs.stub(JavaMailSender.class, Map.of()),
+                Stubs.stub(EmailTemplateRepository.class, Map.of()));
+        replacePlaceholders = EmailService.class.getDeclaredMethod("replacePlaceholders", String.class, Map.class);
+        replacePlaceholders.setAccessible(true);
+    }
+
+    @Benchmark
+    public Object replacePlaceholders() throws ReflectiveOperationException {
+        return replacePlaceholders.invoke(emailService, TEMPLATE, VARIABLES);
+    }
+}
@@ -0,0 +1,49 @@
+package com.fluxpay.benchmarks.security;
+
+import com.fluxpay.security.session.model.DeviceInfo;
+import com.fluxpay.security.session.service.DeviceFingerprintService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class DeviceFingerprintServiceBenchmark {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36";
+
+    private DeviceFingerprintService deviceFingerprintService;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        deviceFingerprintService = new DeviceFingerprintService();
+        request = new MockHttpServletRequest();
+        request.addHeader("User-Agent", USER_AGENT);
+        request.addHeader("Accept-Language", "en-US,en;q=0.9");
+        request.addHeader("Accept-Encoding", "gzip, deflate, br");
+    }
+
+    @Benchmark
+    public String generateFingerprint() {
+        request.removeAttribute(DeviceFingerprintService.FINGERPRINT_ATTRIBUTE);
+        return deviceFingerprintService.generateFingerprint(request);
+    }
+
+    @Benchmark
+    public DeviceInfo extractDeviceInfo() {
+        request.removeAttribute(DeviceFingerprintService.FINGERPRINT_ATTRIBUTE);
+        return deviceFingerprintService.extractDeviceInfo(request);
+    }
+}
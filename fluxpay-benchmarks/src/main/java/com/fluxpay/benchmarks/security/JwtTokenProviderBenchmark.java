@@ -0,0 +1,63 @@
+package com.fluxpay.benchmarks.security;
+
+import com.fluxpay.security.jwt.AuthenticatedClaims;
+import com.fluxpay.security.jwt.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs512-signing-0123456789abcdef";
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider(SECRET, TimeUnit.HOURS.toMillis(1), 10_000);
+        token = jwtTokenProvider.createToken(UUID.randomUUID(), UUID.randomUUID(), "ADMIN", UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwtTokenProvider.createToken(UUID.randomUUID(), UUID.randomUUID(), "ADMIN", "session");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public UUID getUserId() {
+        return jwtTokenProvider.getUserId(token);
+    }
+
+    @Benchmark
+    public AuthenticatedClaims authenticateRequest() {
+        return jwtTokenProvider.verify(token);
+    }
+
+    @Benchmark
+    public void authenticateRequestPerClaimParse(Blackhole blackhole) {
+        blackhole.consume(jwtTokenProvider.getUserId(token));
+        blackhole.consume(jwtTokenProvider.getTenantId(token));
+        blackhole.consume(jwtTokenProvider.getRole(token));
+        blackhole.consume(jwtTokenProvider.getSessionId(token));
+        blackhole.consume(jwtTokenProvider.getExpirationDate(token));
+    }
+}
@@ -0,0 +1,110 @@
+package com.fluxpay.benchmarks.security;
+
+import com.fluxpay.security.jwt.JwtTokenProvider;
+import com.fluxpay.security.session.codec.SessionAwareRedisSerializer;
+import com.fluxpay.security.session.model.DeviceInfo;
+import com.fluxpay.security.session.model.LocationInfo;
+import com.fluxpay.security.session.model.SecurityFlags;
+import com.fluxpay.security.session.model.SessionData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class SessionCodecBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-64-characters-long-for-hmac-sha-512";
+
+    private SessionAwareRedisSerializer jsonSerializer;
+    private SessionAwareRedisSerializer binarySerializer;
+    private SessionData session;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws Exception {
+        jsonSerializer = new SessionAwareRedisSerializer(false);
+        binarySerializer = new SessionAwareRedisSerializer(true);
+
+        String fingerprint = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256")
+                .digest("device".getBytes(StandardCharsets.UTF_8)));
+        UUID userId = UUID.randomUUID();
+        UUID tenantId = UUID.randomUUID();
+        String sessionId = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+
+        session = SessionData.builder()
+                .sessionId(sessionId)
+                .accessToken(new JwtTokenProvider(SECRET, 900_000L, 10L).createToken(userId, tenantId, "USER", sessionId))
+                .refreshToken(UUID.randomUUID() + "-" + now.toEpochMilli())
+                .userId(userId)
+                .tenantId(tenantId)
+                .role("USER")
+                .deviceInfo(DeviceInfo.builder()
+                        .deviceId(fingerprint)
+                        .deviceType("desktop")
+                        .os("Mac OS X")
+                        .osVersion("10")
+                        .browser("Chrome")
+                        .browserVersion("124")
+                        .build())
+                .locationInfo(LocationInfo.builder()
+                        .country("US")
+                        .region("CA")
+                        .city("San Francisco")
+                        .timezone("America/Los_Angeles")
+                        .latitude(37.7749)
+                        .longitude(-122.4194)
+                        .build())
+                .tokenFingerprint(fingerprint)
+                .deviceFingerprint(fingerprint)
+                .ipAddress("203.0.113.24")
+                .userAgent("Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 "
+                        + "(KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36")
+                .securityFlags(SecurityFlags.builder().lastSecurityCheck(now).build())
+                .createdAt(now)
+                .lastAccess(now)
+                .expiresAt(now.plusSeconds(900))
+                .refreshTokenExpiresAt(now.plusSeconds(604_800))
+                .lastRequestTime(now)
+                .build();
+
+        json = jsonSerializer.serialize(session);
+        binary = binarySerializer.serialize(session);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(session);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(session);
+    }
+
+    @Benchmark
+    public Object deserializeJson() {
+        return jsonSerializer.deserialize(json);
+    }
+
+    @Benchmark
+    public Object deserializeBinary() {
+        return binarySerializer.deserialize(binary);
+    }
+}
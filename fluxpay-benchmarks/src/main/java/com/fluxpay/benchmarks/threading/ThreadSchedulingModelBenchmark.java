@@ -0,0 +1,104 @@
+package com.fluxpay.benchmarks.threading;
+
+import com.fluxpay.security.context.TenantContext;
+import com.fluxpay.security.jwt.TokenDigest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// A scheduling micro-model, not a load test: it never starts Tomcat or runs the filters, and it never touches Hikari,
+// Lettuce or VIRTUAL_THREADS_ENABLED. Each burst submits concurrent tasks that hash a token and then Thread.sleep in
+// place of Redis and Postgres, to a 200-thread pool ("platform", Tomcat's default) or one virtual thread per task.
+// "virtual_pinned" sleeps inside a monitor to show what pinning costs on JDK 21. Throughput is bursts per ms, and the
+// SampleTime percentiles are per burst, i.e. the latency of a burst's slowest task, not of a single request.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadSchedulingModelBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual", "virtual_pinned"})
+    private String mode;
+
+    @Param({"1000"})
+    private int requests;
+
+    @Param({"1", "4"})
+    private int redisMillis;
+
+    @Param({"4"})
+    private int postgresMillis;
+
+    private ExecutorService executor;
+    private UUID tenantId;
+
+    @Setup
+    public void setUp() {
+        executor = "platform".equals(mode)
+                ? Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        tenantId = UUID.randomUUID();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int serveBurst() throws Exception {
+        boolean pinned = "virtual_pinned".equals(mode);
+        List<Future<String>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            String token = "token-" + i;
+            // Created here so it escapes to the worker; a lock local to handle() is elided once C2 compiles it.
+            Object lock = pinned ? new Object() : null;
+            responses.add(executor.submit(() -> TenantContext.callWithTenant(tenantId, () -> handle(token, lock))));
+        }
+        int served = 0;
+        for (Future<String> response : responses) {
+            if (response.get() != null) {
+                served++;
+            }
+        }
+        return served;
+    }
+
+    private String handle(String token, Object lock) {
+        String digest = TokenDigest.of(token);
+        block(redisMillis);
+        if (lock != null) {
+            synchronized (lock) {
+                block(postgresMillis);
+            }
+        } else {
+            block(postgresMillis);
+        }
+        return digest + TenantContext.getCurrentTenantId();
+    }
+
+    private static void block(int millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.fluxpay.billing.dto;
+
+import com.fluxpay.billing.entity.Coupon;
+import com.fluxpay.common.enums.DiscountType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record CouponView(
+        UUID id,
+        UUID tenantId,
+        String code,
+        DiscountType discountType,
+        BigDecimal discountValue,
+        Integer maxRedemptions,
+        Integer timesRedeemed,
+        Instant validFrom,
+        Instant validUntil,
+        boolean active) {
+
+    public static CouponView of(Coupon coupon) {
+        return new CouponView(
+                coupon.getId(),
+                coupon.getTenantId(),
+                coupon.getCode(),
+                coupon.getDiscountType(),
+                coupon.getDiscountValue(),
+                coupon.getMaxRedemptions(),
+                coupon.getTimesRedeemed(),
+                coupon.getValidFrom(),
+                coupon.getValidUntil(),
+                Boolean.TRUE.equals(coupon.getActive()));
+    }
+
+    // The redemption count is as of loading; redeem() enforces the limit against the database.
+    public boolean isValid(Instant now) {
+        if (!active) {
+            return false;
+        }
+        if (validFrom != null && now.isBefore(validFrom)) {
+            return false;
+        }
+        if (validUntil != null && now.isAfter(validUntil)) {
+            return false;
+        }
+        return maxRedemptions == null || timesRedeemed == null || timesRedeemed < maxRedemptions;
+    }
+}
@@ -2,13 +2,24 @@ package com.fluxpay.billing.repository;
 
 import com.fluxpay.billing.entity.Coupon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CouponRepository extends JpaRepository<Coupon, UUID> {
     Optional<Coupon> findByTenantIdAndCode(UUID tenantId, String code);
-}
 
+    @Modifying
+    @Query("UPDATE Coupon c SET c.timesRedeemed = c.timesRedeemed + 1, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.active = true AND c.deletedAt IS NULL " +
+           "AND (c.maxRedemptions IS NULL OR c.timesRedeemed < c.maxRedemptions) " +
+           "AND (c.validFrom IS NULL OR c.validFrom <= :now) " +
+           "AND (c.validUntil IS NULL OR c.validUntil >= :now)")
+    int redeem(@Param("id") UUID id, @Param("now") Instant now);
+}
@@ -3,10 +3,10 @@ package com.fluxpay.billing.service;
 import com.fluxpay.billing.entity.ExchangeRate;
 import com.fluxpay.billing.repository.ExchangeRateRepository;
 import com.fluxpay.common.enums.Currency;
+import com.fluxpay.common.money.Money;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 
@@ -30,10 +30,9 @@ public class CurrencyService {
                         fromCurrency, toCurrency, LocalDate.now())
                 .orElseThrow(() -> new RuntimeException("Exchange rate not found: " + fromCurrency + " to " + toCurrency));
 
-        BigDecimal amountDecimal = BigDecimal.valueOf(amount);
-        BigDecimal convertedAmount = amountDecimal.multiply(rate.getRate()).setScale(0, RoundingMode.HALF_UP);
-
-        return convertedAmount.longValue();
+        return Money.of(amount, fromCurrency)
+                .convert(toCurrency, rate.getRate(), RoundingMode.HALF_UP)
+                .amount();
     }
 
     public ExchangeRate createExchangeRate(ExchangeRate exchangeRate) {
@@ -1,5 +1,6 @@
 package com.fluxpay.billing.service;
 
+import com.fluxpay.billing.dto.CouponView;
 import com.fluxpay.billing.entity.Coupon;
 import com.fluxpay.billing.entity.Discount;
 import com.fluxpay.billing.repository.CouponRepository;
@@ -7,59 +8,67 @@ import com.fluxpay.billing.repository.DiscountRepository;
 import com.fluxpay.common.enums.DiscountType;
 import com.fluxpay.common.exception.ResourceNotFoundException;
 import com.fluxpay.common.exception.ValidationException;
+import com.fluxpay.common.money.Money;
+import com.fluxpay.security.cache.CacheInvalidator;
 import com.fluxpay.security.context.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class DiscountService {
 
+    private static final String INVALIDATION_CHANNEL = "coupon_invalidations";
+    private static final Duration COUPON_CACHE_TTL = Duration.ofSeconds(30);
+    private static final long COUPON_CACHE_MAX_SIZE = 10_000;
+    private static final long MINOR_UNITS_PER_MAJOR = 100L;
+
     private final CouponRepository couponRepository;
     private final DiscountRepository discountRepository;
+    private final Cache<CouponKey, CouponView> couponCache;
+    private final CacheInvalidator invalidator;
 
-    public DiscountService(CouponRepository couponRepository, DiscountRepository discountRepository) {
+    public DiscountService(
+            CouponRepository couponRepository,
+            DiscountRepository discountRepository,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer) {
         this.couponRepository = couponRepository;
         this.discountRepository = discountRepository;
+        this.couponCache = Caffeine.newBuilder()
+                .expireAfterWrite(COUPON_CACHE_TTL)
+                .maximumSize(COUPON_CACHE_MAX_SIZE)
+                .build();
+        this.invalidator = new CacheInvalidator(INVALIDATION_CHANNEL, redisTemplate, listenerContainer,
+                key -> couponCache.invalidate(CouponKey.parse(key)));
     }
 
     public Long calculateDiscount(Long amount, String couponCode) {
-        UUID tenantId = TenantContext.getCurrentTenantId();
-        Coupon coupon = couponRepository.findByTenantIdAndCode(tenantId, couponCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Coupon", couponCode));
-
-        if (!coupon.isValid()) {
-            throw new ValidationException("Coupon is not valid");
-        }
-
-        if (coupon.getDiscountType() == DiscountType.FIXED_AMOUNT) {
-            long discountAmount = coupon.getDiscountValue()
-                    .multiply(BigDecimal.valueOf(100))
-                    .longValue();
-            return Math.min(discountAmount, amount);
-        } else {
-            BigDecimal amountDecimal = BigDecimal.valueOf(amount).divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-            BigDecimal discountDecimal = amountDecimal.multiply(coupon.getDiscountValue()).divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-            return discountDecimal.multiply(BigDecimal.valueOf(100)).longValue();
-        }
+        CouponView coupon = findValidCoupon(TenantContext.getCurrentTenantId(), couponCode);
+        return calculateDiscount(coupon, amount);
     }
 
     public Discount applyDiscount(UUID subscriptionId, UUID invoiceId, String couponCode, Long amount) {
-        Long discountAmount = calculateDiscount(amount, couponCode);
-
         UUID tenantId = TenantContext.getCurrentTenantId();
-        Coupon coupon = couponRepository.findByTenantIdAndCode(tenantId, couponCode)
-                .orElseThrow(() -> new ResourceNotFoundException("Coupon", couponCode));
+        CouponView coupon = findValidCoupon(tenantId, couponCode);
+        Long discountAmount = calculateDiscount(coupon, amount);
 
-        coupon.setTimesRedeemed(coupon.getTimesRedeemed() + 1);
-        couponRepository.save(coupon);
+        if (couponRepository.redeem(coupon.id(), Instant.now()) == 0) {
+            couponCache.invalidate(new CouponKey(tenantId, couponCode));
+            throw new ValidationException("Coupon is not valid");
+        }
 
         Discount discount = new Discount();
-        discount.setCouponId(coupon.getId());
+        discount.setCouponId(coupon.id());
         discount.setSubscriptionId(subscriptionId);
         discount.setInvoiceId(invoiceId);
         discount.setDiscountAmount(discountAmount);
@@ -68,7 +77,62 @@ public class DiscountService {
     }
 
     public Coupon createCoupon(Coupon coupon) {
-        return couponRepository.save(coupon);
+        Coupon savedCoupon = couponRepository.save(coupon);
+        UUID tenantId = savedCoupon.getTenantId() != null
+                ? savedCoupon.getTenantId()
+                : TenantContext.getCurrentTenantId();
+        invalidator.invalidate(new CouponKey(tenantId, savedCoupon.getCode()).toMessage());
+        return savedCoupon;
+    }
+
+    public Coupon deactivateCoupon(UUID id) {
+        UUID tenantId = TenantContext.getCurrentTenantId();
+        Coupon coupon = couponRepository.findById(id)
+                .filter(c -> c.getDeletedAt() == null && tenantId != null && tenantId.equals(c.getTenantId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Coupon", id));
+        coupon.setActive(false);
+
+        Coupon savedCoupon = couponRepository.save(coupon);
+        invalidator.invalidate(new CouponKey(tenantId, savedCoupon.getCode()).toMessage());
+        return savedCoupon;
     }
-}
 
+    private CouponView findValidCoupon(UUID tenantId, String couponCode) {
+        CouponKey key = new CouponKey(tenantId, couponCode);
+        CouponView coupon = couponCache.getIfPresent(key);
+        if (coupon == null) {
+            coupon = couponRepository.findByTenantIdAndCode(tenantId, couponCode)
+                    .map(CouponView::of)
+                    .orElseThrow(() -> new ResourceNotFoundException("Coupon", couponCode));
+            couponCache.put(key, coupon);
+        }
+
+        if (!coupon.isValid(Instant.now())) {
+            throw new ValidationException("Coupon is not valid");
+        }
+        return coupon;
+    }
+
+    private Long calculateDiscount(CouponView coupon, Long amount) {
+        if (coupon.discountType() == DiscountType.FIXED_AMOUNT) {
+            long discountAmount =
+                    Money.multiplyByRate(MINOR_UNITS_PER_MAJOR, coupon.discountValue(), RoundingMode.DOWN);
+            return Math.min(discountAmount, amount);
+        } else {
+            return Money.percentage(amount, coupon.discountValue(), RoundingMode.DOWN);
+        }
+    }
+
+    private record CouponKey(UUID tenantId, String code) {
+
+        // A UUID never contains ':', so everything after the first one is the code.
+        private static CouponKey parse(String message) {
+            int separator = message.indexOf(':');
+            return new CouponKey(UUID.fromString(message.substring(0, separator)), message.substring(separator + 1));
+        }
+
+        private String toMessage() {
+            return tenantId + ":" + code;
+        }
+    }
+}
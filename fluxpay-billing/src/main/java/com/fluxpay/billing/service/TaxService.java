@@ -2,6 +2,7 @@ package com.fluxpay.billing.service;
 
 import com.fluxpay.billing.entity.TaxRate;
 import com.fluxpay.billing.repository.TaxRateRepository;
+import com.fluxpay.common.money.Money;
 import com.fluxpay.security.context.TenantContext;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,9 +38,7 @@ public class TaxService {
             return result;
         }
 
-        BigDecimal subtotalDecimal = BigDecimal.valueOf(subtotal).divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-        BigDecimal taxAmountDecimal = subtotalDecimal.multiply(taxRate.getPercentage()).divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-        Long taxAmount = taxAmountDecimal.multiply(BigDecimal.valueOf(100)).longValue();
+        Long taxAmount = Money.percentage(subtotal, taxRate.getPercentage(), RoundingMode.DOWN);
 
         result.put("taxAmount", taxAmount);
         result.put("taxRate", taxRate.getPercentage());
@@ -5,22 +5,38 @@ import com.fluxpay.billing.entity.Discount;
 import com.fluxpay.billing.repository.CouponRepository;
 import com.fluxpay.billing.repository.DiscountRepository;
 import com.fluxpay.common.enums.DiscountType;
+import com.fluxpay.common.exception.ResourceNotFoundException;
+import com.fluxpay.common.exception.ValidationException;
 import com.fluxpay.security.context.TenantContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +48,12 @@ class DiscountServiceTest {
     @Mock
     private DiscountRepository discountRepository;
 
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
     @InjectMocks
     private DiscountService discountService;
 
@@ -46,6 +68,20 @@ class DiscountServiceTest {
     @AfterEach
     void tearDown() {
         TenantContext.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Coupon activeCoupon(String code) {
+        Coupon coupon = new Coupon();
+        coupon.setId(UUID.randomUUID());
+        coupon.setTenantId(tenantId);
+        coupon.setCode(code);
+        coupon.setDiscountType(DiscountType.PERCENTAGE);
+        coupon.setDiscountValue(BigDecimal.valueOf(20));
+        coupon.setActive(true);
+        return coupon;
     }
 
     @Test
@@ -89,11 +125,16 @@ class DiscountServiceTest {
         coupon.setTimesRedeemed(0);
 
         when(couponRepository.findByTenantIdAndCode(any(), any())).thenReturn(Optional.of(coupon));
+        when(couponRepository.redeem(eq(coupon.getId()), any(Instant.class))).thenReturn(1);
         when(discountRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        discountService.applyDiscount(UUID.randomUUID(), UUID.randomUUID(), "SAVE20", 10000L);
+        Discount discount = discountService.applyDiscount(UUID.randomUUID(), UUID.randomUUID(), "SAVE20", 10000L);
 
-        verify(couponRepository).save(argThat(c -> c.getTimesRedeemed() == 1));
+        assertThat(discount.getDiscountAmount()).isEqualTo(2000L);
+        assertThat(discount.getCouponId()).isEqualTo(coupon.getId());
+        verify(couponRepository).redeem(eq(coupon.getId()), any(Instant.class));
+        verify(couponRepository, never()).save(any());
+        verify(couponRepository, times(1)).findByTenantIdAndCode(tenantId, "SAVE20");
         verify(discountRepository).save(any(Discount.class));
     }
 
@@ -187,7 +228,7 @@ class DiscountServiceTest {
         when(couponRepository.findByTenantIdAndCode(any(), any())).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> discountService.applyDiscount(UUID.randomUUID(), UUID.randomUUID(), "NOTFOUND", 10000L))
-                .isInstanceOf(com.fluxpay.common.exception.ResourceNotFoundException.class)
+                .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Coupon");
     }
 
@@ -222,21 +263,81 @@ class DiscountServiceTest {
     }
 
     @Test
-    void applyDiscount_ShouldIncrementMultipleTimes() {
+    void applyDiscount_ShouldRejectWhenRedemptionLimitReached() {
+        Coupon coupon = new Coupon();
+        coupon.setId(UUID.randomUUID());
+        coupon.setCode("SAVE20");
+        coupon.setDiscountType(DiscountType.PERCENTAGE);
+        coupon.setDiscountValue(BigDecimal.valueOf(20));
+        coupon.setActive(true);
+        coupon.setMaxRedemptions(5);
+        coupon.setTimesRedeemed(4);
+
+        when(couponRepository.findByTenantIdAndCode(any(), any())).thenReturn(Optional.of(coupon));
+        when(couponRepository.redeem(eq(coupon.getId()), any(Instant.class))).thenReturn(0);
+
+        assertThatThrownBy(() -> discountService.applyDiscount(UUID.randomUUID(), UUID.randomUUID(), "SAVE20", 10000L))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("not valid");
+
+        verify(discountRepository, never()).save(any());
+    }
+
+    @Test
+    void applyDiscount_ShouldReloadCouponAfterFailedRedemption() {
+        Coupon coupon = new Coupon();
+        coupon.setId(UUID.randomUUID());
+        coupon.setCode("SAVE20");
+        coupon.setDiscountType(DiscountType.PERCENTAGE);
+        coupon.setDiscountValue(BigDecimal.valueOf(20));
+        coupon.setActive(true);
+
+        when(couponRepository.findByTenantIdAndCode(any(), any())).thenReturn(Optional.of(coupon));
+        when(couponRepository.redeem(eq(coupon.getId()), any(Instant.class))).thenReturn(0);
+
+        assertThatThrownBy(() -> discountService.applyDiscount(UUID.randomUUID(), UUID.randomUUID(), "SAVE20", 10000L))
+                .isInstanceOf(ValidationException.class);
+        discountService.calculateDiscount(10000L, "SAVE20");
+
+        verify(couponRepository, times(2)).findByTenantIdAndCode(tenantId, "SAVE20");
+    }
+
+    @Test
+    void calculateDiscount_ShouldServeRepeatedLookupsFromCache() {
         Coupon coupon = new Coupon();
         coupon.setId(UUID.randomUUID());
         coupon.setCode("SAVE20");
         coupon.setDiscountType(DiscountType.PERCENTAGE);
         coupon.setDiscountValue(BigDecimal.valueOf(20));
         coupon.setActive(true);
-        coupon.setTimesRedeemed(5);
 
         when(couponRepository.findByTenantIdAndCode(any(), any())).thenReturn(Optional.of(coupon));
-        when(discountRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
-        discountService.applyDiscount(UUID.randomUUID(), UUID.randomUUID(), "SAVE20", 10000L);
+        discountService.calculateDiscount(10000L, "SAVE20");
+        Long discount = discountService.calculateDiscount(5000L, "SAVE20");
 
-        verify(couponRepository).save(argThat(c -> c.getTimesRedeemed() == 6));
+        assertThat(discount).isEqualTo(1000L);
+        verify(couponRepository, times(1)).findByTenantIdAndCode(tenantId, "SAVE20");
+    }
+
+    @Test
+    void calculateDiscount_ShouldNotShareCacheAcrossTenants() {
+        Coupon coupon = new Coupon();
+        coupon.setId(UUID.randomUUID());
+        coupon.setCode("SAVE20");
+        coupon.setDiscountType(DiscountType.PERCENTAGE);
+        coupon.setDiscountValue(BigDecimal.valueOf(20));
+        coupon.setActive(true);
+
+        UUID otherTenantId = UUID.randomUUID();
+        when(couponRepository.findByTenantIdAndCode(tenantId, "SAVE20")).thenReturn(Optional.of(coupon));
+        when(couponRepository.findByTenantIdAndCode(otherTenantId, "SAVE20")).thenReturn(Optional.empty());
+
+        discountService.calculateDiscount(10000L, "SAVE20");
+        TenantContext.setCurrentTenant(otherTenantId);
+
+        assertThatThrownBy(() -> discountService.calculateDiscount(10000L, "SAVE20"))
+                .isInstanceOf(ResourceNotFoundException.class);
     }
 
     @Test
@@ -253,5 +354,90 @@ class DiscountServiceTest {
         Long discount = discountService.calculateDiscount(10000L, "SAVE33");
         assertThat(discount).isEqualTo(3333L);
     }
-}
 
+    @Test
+    void calculateDiscount_ShouldNotBeAffectedByLaterEntityChanges() {
+        Coupon coupon = activeCoupon("SAVE20");
+        when(couponRepository.findByTenantIdAndCode(tenantId, "SAVE20")).thenReturn(Optional.of(coupon));
+        discountService.calculateDiscount(10000L, "SAVE20");
+
+        coupon.setDiscountValue(BigDecimal.valueOf(90));
+        coupon.setActive(false);
+
+        assertThat(discountService.calculateDiscount(10000L, "SAVE20")).isEqualTo(2000L);
+    }
+
+    @Test
+    void createCoupon_ShouldPublishInvalidation() {
+        Coupon coupon = activeCoupon("NEWCOUPON");
+        when(couponRepository.save(coupon)).thenReturn(coupon);
+
+        discountService.createCoupon(coupon);
+
+        verify(redisTemplate).convertAndSend("coupon_invalidations", tenantId + ":NEWCOUPON");
+    }
+
+    @Test
+    void deactivateCoupon_ShouldEvictCachedCouponAndPublishInvalidation() {
+        Coupon coupon = activeCoupon("SAVE20");
+        when(couponRepository.findByTenantIdAndCode(tenantId, "SAVE20")).thenReturn(Optional.of(coupon));
+        when(couponRepository.findById(coupon.getId())).thenReturn(Optional.of(coupon));
+        when(couponRepository.save(coupon)).thenReturn(coupon);
+        discountService.calculateDiscount(10000L, "SAVE20");
+
+        discountService.deactivateCoupon(coupon.getId());
+
+        assertThatThrownBy(() -> discountService.calculateDiscount(10000L, "SAVE20"))
+                .isInstanceOf(ValidationException.class);
+        verify(couponRepository, times(2)).findByTenantIdAndCode(tenantId, "SAVE20");
+        verify(redisTemplate).convertAndSend("coupon_invalidations", tenantId + ":SAVE20");
+    }
+
+    @Test
+    void deactivateCoupon_ShouldPublishOnlyAfterCommit() {
+        Coupon coupon = activeCoupon("SAVE20");
+        when(couponRepository.findById(coupon.getId())).thenReturn(Optional.of(coupon));
+        when(couponRepository.save(coupon)).thenReturn(coupon);
+        TransactionSynchronizationManager.initSynchronization();
+
+        discountService.deactivateCoupon(coupon.getId());
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(redisTemplate).convertAndSend("coupon_invalidations", tenantId + ":SAVE20");
+    }
+
+    @Test
+    void deactivateCoupon_ForAnotherTenant_ShouldThrowNotFound() {
+        Coupon coupon = activeCoupon("SAVE20");
+        coupon.setTenantId(UUID.randomUUID());
+        when(couponRepository.findById(coupon.getId())).thenReturn(Optional.of(coupon));
+
+        assertThatThrownBy(() -> discountService.deactivateCoupon(coupon.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(couponRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void invalidationMessage_ShouldEvictLocally() {
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) serializer);
+        byte[] body = (tenantId + ":SAVE20").getBytes(StandardCharsets.UTF_8);
+        when(serializer.deserialize(body)).thenReturn(tenantId + ":SAVE20");
+        Coupon coupon = activeCoupon("SAVE20");
+        when(couponRepository.findByTenantIdAndCode(tenantId, "SAVE20")).thenReturn(Optional.of(coupon));
+        discountService.calculateDiscount(10000L, "SAVE20");
+
+        listener.getValue().onMessage(
+                new DefaultMessage("coupon_invalidations".getBytes(StandardCharsets.UTF_8), body), null);
+        discountService.calculateDiscount(10000L, "SAVE20");
+
+        verify(couponRepository, times(2)).findByTenantIdAndCode(tenantId, "SAVE20");
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+}
@@ -3,6 +3,13 @@ package com.fluxpay.common.enums;
 public enum ApiKeyScope {
     READ_ONLY,
     WRITE,
-    FULL_ACCESS
-}
+    FULL_ACCESS;
 
+    public boolean permits(String httpMethod) {
+        return switch (httpMethod) {
+            case "GET", "HEAD", "OPTIONS" -> true;
+            case "POST", "PUT", "PATCH" -> this != READ_ONLY;
+            default -> this == FULL_ACCESS;
+        };
+    }
+}
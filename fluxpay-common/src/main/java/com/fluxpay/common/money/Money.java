@@ -0,0 +1,141 @@
+package com.fluxpay.common.money;
+
+import com.fluxpay.common.enums.Currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+public record Money(long amount, Currency currency) {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private static final int PERCENT_SCALE = 2;
+
+    public Money {
+        Objects.requireNonNull(currency, "Currency cannot be null");
+    }
+
+    public static Money of(long amount, Currency currency) {
+        return new Money(amount, currency);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0L, currency);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(amount, other.amount), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(amount, other.amount), currency);
+    }
+
+    public Money min(Money other) {
+        requireSameCurrency(other);
+        return amount <= other.amount ? this : other;
+    }
+
+    public boolean isZero() {
+        return amount == 0L;
+    }
+
+    public Money multiplyByRate(BigDecimal rate, RoundingMode roundingMode) {
+        return new Money(multiplyByRate(amount, rate, roundingMode), currency);
+    }
+
+    public Money percentage(BigDecimal percent, RoundingMode roundingMode) {
+        return new Money(percentage(amount, percent, roundingMode), currency);
+    }
+
+    public Money convert(Currency targetCurrency, BigDecimal rate, RoundingMode roundingMode) {
+        return new Money(multiplyByRate(amount, rate, roundingMode), targetCurrency);
+    }
+
+    public static long percentage(long amount, BigDecimal percent, RoundingMode roundingMode) {
+        Objects.requireNonNull(percent, "Percentage cannot be null");
+        return multiplyByRate(amount, unscaledValue(percent), percent.scale() + PERCENT_SCALE, roundingMode);
+    }
+
+    public static long multiplyByRate(long amount, BigDecimal rate, RoundingMode roundingMode) {
+        Objects.requireNonNull(rate, "Rate cannot be null");
+        return multiplyByRate(amount, unscaledValue(rate), rate.scale(), roundingMode);
+    }
+
+    public static long multiplyByRate(long amount, long unscaledRate, int scale, RoundingMode roundingMode) {
+        Objects.requireNonNull(roundingMode, "Rounding mode cannot be null");
+        if (scale < 0) {
+            return multiplyByRate(amount, Math.multiplyExact(unscaledRate, powerOfTen(-scale)), 0, roundingMode);
+        }
+        if (scale >= POWERS_OF_TEN.length) {
+            return multiplyExactly(amount, unscaledRate, scale, roundingMode);
+        }
+
+        long product = amount * unscaledRate;
+        if (Math.multiplyHigh(amount, unscaledRate) != (product >> 63)) {
+            return multiplyExactly(amount, unscaledRate, scale, roundingMode);
+        }
+        return divideRounded(product, POWERS_OF_TEN[scale], roundingMode);
+    }
+
+    private static long multiplyExactly(long amount, long unscaledRate, int scale, RoundingMode roundingMode) {
+        return BigDecimal.valueOf(amount)
+                .multiply(BigDecimal.valueOf(unscaledRate, scale))
+                .setScale(0, roundingMode)
+                .longValueExact();
+    }
+
+    private static long divideRounded(long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        int signum = dividend < 0 ? -1 : 1;
+        boolean increment = switch (roundingMode) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> signum < 0;
+            case CEILING -> signum > 0;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                int comparison = Long.compare(Math.abs(remainder), divisor - Math.abs(remainder));
+                if (comparison != 0) {
+                    yield comparison > 0;
+                }
+                yield roundingMode == RoundingMode.HALF_UP
+                        || (roundingMode == RoundingMode.HALF_EVEN && (quotient & 1) != 0);
+            }
+        };
+        return increment ? quotient + signum : quotient;
+    }
+
+    private static long unscaledValue(BigDecimal value) {
+        if (value.precision() > 18) {
+            throw new ArithmeticException("Rate precision exceeds 18 digits: " + value);
+        }
+        return value.unscaledValue().longValue();
+    }
+
+    private static long powerOfTen(int exponent) {
+        if (exponent >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Scale out of range: " + exponent);
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (other.currency != currency) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+}
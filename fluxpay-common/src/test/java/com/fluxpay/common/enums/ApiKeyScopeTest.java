@@ -0,0 +1,29 @@
+package com.fluxpay.common.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiKeyScopeTest {
+
+    @Test
+    void readOnly_PermitsOnlySafeMethods() {
+        assertThat(ApiKeyScope.READ_ONLY.permits("GET")).isTrue();
+        assertThat(ApiKeyScope.READ_ONLY.permits("HEAD")).isTrue();
+        assertThat(ApiKeyScope.READ_ONLY.permits("POST")).isFalse();
+        assertThat(ApiKeyScope.READ_ONLY.permits("DELETE")).isFalse();
+    }
+
+    @Test
+    void write_PermitsWritesButNotDeletes() {
+        assertThat(ApiKeyScope.WRITE.permits("POST")).isTrue();
+        assertThat(ApiKeyScope.WRITE.permits("PATCH")).isTrue();
+        assertThat(ApiKeyScope.WRITE.permits("DELETE")).isFalse();
+    }
+
+    @Test
+    void fullAccess_PermitsEverything() {
+        assertThat(ApiKeyScope.FULL_ACCESS.permits("DELETE")).isTrue();
+        assertThat(ApiKeyScope.FULL_ACCESS.permits("PUT")).isTrue();
+    }
+}
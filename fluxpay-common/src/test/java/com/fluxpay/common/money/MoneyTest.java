@@ -0,0 +1,129 @@
+package com.fluxpay.common.money;
+
+import com.fluxpay.common.enums.Currency;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void testPercentage_TruncatesTowardsZero() {
+        assertThat(Money.percentage(9999L, new BigDecimal("13.33"), RoundingMode.DOWN)).isEqualTo(1332L);
+        assertThat(Money.percentage(10000L, new BigDecimal("10.00"), RoundingMode.DOWN)).isEqualTo(1000L);
+        assertThat(Money.percentage(-9999L, new BigDecimal("13.33"), RoundingMode.DOWN)).isEqualTo(-1332L);
+    }
+
+    @Test
+    void testPercentage_MatchesBigDecimalForAllRoundingModes() {
+        long[] amounts = {0L, 1L, 5L, 15L, 25L, 9999L, -15L, -25L, 123_456_789L};
+        BigDecimal[] rates = {new BigDecimal("0.5"), new BigDecimal("12.5"), new BigDecimal("7.25"), new BigDecimal("33.3333")};
+
+        for (RoundingMode mode : RoundingMode.values()) {
+            if (mode == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+            for (long amount : amounts) {
+                for (BigDecimal rate : rates) {
+                    long expected = BigDecimal.valueOf(amount)
+                            .multiply(rate)
+                            .movePointLeft(2)
+                            .setScale(0, mode)
+                            .longValueExact();
+                    assertThat(Money.percentage(amount, rate, mode))
+                            .as("%d * %s%% with %s", amount, rate, mode)
+                            .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMultiplyByRate_HalfUp() {
+        assertThat(Money.multiplyByRate(1000L, new BigDecimal("0.85"), RoundingMode.HALF_UP)).isEqualTo(850L);
+        assertThat(Money.multiplyByRate(3L, new BigDecimal("0.5"), RoundingMode.HALF_UP)).isEqualTo(2L);
+        assertThat(Money.multiplyByRate(3L, new BigDecimal("0.5"), RoundingMode.HALF_EVEN)).isEqualTo(2L);
+        assertThat(Money.multiplyByRate(5L, new BigDecimal("0.5"), RoundingMode.HALF_EVEN)).isEqualTo(2L);
+        assertThat(Money.multiplyByRate(5L, new BigDecimal("0.5"), RoundingMode.HALF_DOWN)).isEqualTo(2L);
+    }
+
+    @Test
+    void testMultiplyByRate_NegativeScale() {
+        assertThat(Money.multiplyByRate(3L, new BigDecimal("1E+2"), RoundingMode.DOWN)).isEqualTo(300L);
+    }
+
+    @Test
+    void testMultiplyByRate_FallsBackOnIntermediateOverflow() {
+        long amount = Long.MAX_VALUE / 2;
+
+        assertThat(Money.multiplyByRate(amount, new BigDecimal("1.000000000"), RoundingMode.HALF_UP)).isEqualTo(amount);
+    }
+
+    @Test
+    void testMultiplyByRate_ThrowsWhenResultOverflows() {
+        assertThatThrownBy(() -> Money.multiplyByRate(Long.MAX_VALUE, new BigDecimal("2"), RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void testMultiplyByRate_Unnecessary() {
+        assertThat(Money.multiplyByRate(10L, new BigDecimal("0.5"), RoundingMode.UNNECESSARY)).isEqualTo(5L);
+        assertThatThrownBy(() -> Money.multiplyByRate(3L, new BigDecimal("0.5"), RoundingMode.UNNECESSARY))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void testConvert_ChangesCurrency() {
+        Money converted = Money.of(1000L, Currency.USD).convert(Currency.EUR, new BigDecimal("0.9234"), RoundingMode.HALF_UP);
+
+        assertThat(converted.amount()).isEqualTo(923L);
+        assertThat(converted.currency()).isEqualTo(Currency.EUR);
+    }
+
+    @Test
+    void testArithmetic_SameCurrency() {
+        Money a = Money.of(500L, Currency.USD);
+        Money b = Money.of(200L, Currency.USD);
+
+        assertThat(a.plus(b)).isEqualTo(Money.of(700L, Currency.USD));
+        assertThat(a.minus(b)).isEqualTo(Money.of(300L, Currency.USD));
+        assertThat(a.min(b)).isEqualTo(b);
+        assertThat(Money.zero(Currency.USD).isZero()).isTrue();
+        assertThat(a.percentage(new BigDecimal("10"), RoundingMode.DOWN)).isEqualTo(Money.of(50L, Currency.USD));
+        assertThat(a.multiplyByRate(new BigDecimal("1.5"), RoundingMode.DOWN)).isEqualTo(Money.of(750L, Currency.USD));
+    }
+
+    @Test
+    void testArithmetic_CurrencyMismatch() {
+        Money usd = Money.of(500L, Currency.USD);
+        Money eur = Money.of(200L, Currency.EUR);
+
+        assertThatThrownBy(() -> usd.plus(eur))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Currency mismatch");
+    }
+
+    @Test
+    void testPlus_Overflow() {
+        Money max = Money.of(Long.MAX_VALUE, Currency.USD);
+
+        assertThatThrownBy(() -> max.plus(Money.of(1L, Currency.USD)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void testRateWithTooManyDigits_Rejected() {
+        assertThatThrownBy(() -> Money.multiplyByRate(1L, new BigDecimal("1.0000000000000000001"), RoundingMode.DOWN))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void testNullCurrency_Rejected() {
+        assertThatThrownBy(() -> Money.of(1L, null))
+                .isInstanceOf(NullPointerException.class);
+    }
+}
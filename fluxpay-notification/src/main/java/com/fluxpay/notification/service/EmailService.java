@@ -7,6 +7,7 @@ import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
@@ -40,6 +41,7 @@ public class EmailService {
         }
     }
 
+    @Async
     public void sendTemplatedEmail(String to, String templateName, Map<String, String> variables) {
         UUID tenantId = TenantContext.getCurrentTenantId();
         EmailTemplate template = templateRepository.findByTenantIdAndName(tenantId, templateName)
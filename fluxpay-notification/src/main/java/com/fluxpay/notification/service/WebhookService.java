@@ -10,6 +10,7 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -48,6 +49,7 @@ public class WebhookService {
         this.restTemplate = new RestTemplate(factory);
     }
 
+    @Async
     public void sendWebhook(UUID tenantId, WebhookEventType eventType, Map<String, Object> payload) {
         List<WebhookEndpoint> endpoints = webhookEndpointRepository.findByTenantIdAndActiveTrue(tenantId);
 
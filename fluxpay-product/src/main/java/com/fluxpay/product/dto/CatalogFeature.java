@@ -0,0 +1,31 @@
+package com.fluxpay.product.dto;
+
+import com.fluxpay.product.entity.Feature;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record CatalogFeature(
+        UUID id,
+        UUID tenantId,
+        String name,
+        String featureKey,
+        String description,
+        String type,
+        Integer defaultValue,
+        Instant createdAt,
+        Instant updatedAt) {
+
+    public static CatalogFeature of(Feature feature) {
+        return new CatalogFeature(
+                feature.getId(),
+                feature.getTenantId(),
+                feature.getName(),
+                feature.getFeatureKey(),
+                feature.getDescription(),
+                feature.getType(),
+                feature.getDefaultValue(),
+                feature.getCreatedAt(),
+                feature.getUpdatedAt());
+    }
+}
@@ -0,0 +1,51 @@
+package com.fluxpay.product.dto;
+
+import com.fluxpay.common.enums.BillingInterval;
+import com.fluxpay.common.enums.PricingModel;
+import com.fluxpay.common.enums.UsageAggregationType;
+import com.fluxpay.product.entity.Price;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record CatalogPrice(
+        UUID id,
+        UUID productId,
+        PricingModel pricingModel,
+        BillingInterval billingInterval,
+        BigDecimal unitAmount,
+        String currency,
+        List<Map<String, Object>> tiers,
+        Integer trialPeriodDays,
+        String meterName,
+        UsageAggregationType aggregationType,
+        Boolean active,
+        Instant createdAt,
+        Instant updatedAt) {
+
+    public static CatalogPrice of(Price price) {
+        return new CatalogPrice(
+                price.getId(),
+                price.getProductId(),
+                price.getPricingModel(),
+                price.getBillingInterval(),
+                price.getUnitAmount(),
+                price.getCurrency(),
+                price.getTiers() != null
+                        ? price.getTiers().stream()
+                                .map(tier -> Collections.unmodifiableMap(new LinkedHashMap<>(tier)))
+                                .toList()
+                        : null,
+                price.getTrialPeriodDays(),
+                price.getMeterName(),
+                price.getAggregationType(),
+                price.getActive(),
+                price.getCreatedAt(),
+                price.getUpdatedAt());
+    }
+}
@@ -0,0 +1,34 @@
+package com.fluxpay.product.dto;
+
+import com.fluxpay.product.entity.Product;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public record CatalogProduct(
+        UUID id,
+        UUID tenantId,
+        String name,
+        String description,
+        Boolean active,
+        Map<String, Object> metadata,
+        Instant createdAt,
+        Instant updatedAt) {
+
+    public static CatalogProduct of(Product product) {
+        return new CatalogProduct(
+                product.getId(),
+                product.getTenantId(),
+                product.getName(),
+                product.getDescription(),
+                product.getActive(),
+                product.getMetadata() != null
+                        ? Collections.unmodifiableMap(new LinkedHashMap<>(product.getMetadata()))
+                        : null,
+                product.getCreatedAt(),
+                product.getUpdatedAt());
+    }
+}
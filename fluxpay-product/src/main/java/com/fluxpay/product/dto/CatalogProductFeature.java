@@ -0,0 +1,15 @@
+package com.fluxpay.product.dto;
+
+import com.fluxpay.product.entity.ProductFeature;
+
+import java.util.UUID;
+
+public record CatalogProductFeature(UUID productId, UUID featureId, Integer value) {
+
+    public static CatalogProductFeature of(ProductFeature productFeature) {
+        return new CatalogProductFeature(
+                productFeature.getProductId(),
+                productFeature.getFeatureId(),
+                productFeature.getValue());
+    }
+}
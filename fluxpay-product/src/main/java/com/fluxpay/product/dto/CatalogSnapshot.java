@@ -0,0 +1,29 @@
+package com.fluxpay.product.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record CatalogSnapshot(
+        UUID tenantId,
+        @JsonIgnore long version,
+        String etag,
+        List<CatalogProduct> products,
+        Map<UUID, List<CatalogPrice>> prices,
+        List<CatalogFeature> features,
+        Map<UUID, List<CatalogProductFeature>> productFeatures) {
+
+    public boolean containsProduct(UUID productId) {
+        return prices.containsKey(productId);
+    }
+
+    public List<CatalogPrice> pricesFor(UUID productId) {
+        return prices.getOrDefault(productId, List.of());
+    }
+
+    public List<CatalogProductFeature> featuresFor(UUID productId) {
+        return productFeatures.getOrDefault(productId, List.of());
+    }
+}
@@ -4,6 +4,7 @@ import com.fluxpay.product.entity.Price;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,5 +14,7 @@ public interface PriceRepository extends JpaRepository<Price, UUID> {
     List<Price> findByProductIdAndActive(UUID productId, Boolean active);
 
     List<Price> findByProductId(UUID productId);
+
+    List<Price> findByProductIdInAndActive(Collection<UUID> productIds, Boolean active);
 }
 
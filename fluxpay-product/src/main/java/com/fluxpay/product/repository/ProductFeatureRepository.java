@@ -0,0 +1,16 @@
+package com.fluxpay.product.repository;
+
+import com.fluxpay.product.entity.ProductFeature;
+import com.fluxpay.product.entity.ProductFeatureId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProductFeatureRepository extends JpaRepository<ProductFeature, ProductFeatureId> {
+
+    List<ProductFeature> findByProductIdIn(Collection<UUID> productIds);
+}
@@ -0,0 +1,196 @@
+package com.fluxpay.product.service;
+
+import com.fluxpay.product.dto.CatalogFeature;
+import com.fluxpay.product.dto.CatalogPrice;
+import com.fluxpay.product.dto.CatalogProduct;
+import com.fluxpay.product.dto.CatalogProductFeature;
+import com.fluxpay.product.dto.CatalogSnapshot;
+import com.fluxpay.product.entity.Feature;
+import com.fluxpay.product.entity.Price;
+import com.fluxpay.product.entity.Product;
+import com.fluxpay.product.entity.ProductFeature;
+import com.fluxpay.product.repository.FeatureRepository;
+import com.fluxpay.product.repository.PriceRepository;
+import com.fluxpay.product.repository.ProductFeatureRepository;
+import com.fluxpay.product.repository.ProductRepository;
+import com.fluxpay.security.cache.CacheInvalidator;
+import com.fluxpay.security.concurrent.BlockingLoads;
+import com.fluxpay.security.context.TenantContext;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+public class CatalogService {
+
+    private static final String INVALIDATION_CHANNEL = "catalog_invalidations";
+    private static final String ALL_TENANTS = "*";
+
+    private static final Comparator<Product> PRODUCT_ORDER = Comparator
+            .comparing(Product::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Product::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final Comparator<Price> PRICE_ORDER = Comparator
+            .comparing(Price::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Price::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final ProductRepository productRepository;
+    private final PriceRepository priceRepository;
+    private final FeatureRepository featureRepository;
+    private final ProductFeatureRepository productFeatureRepository;
+    private final AsyncCache<UUID, CatalogSnapshot> snapshots;
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+    private final CacheInvalidator invalidator;
+
+    public CatalogService(
+            ProductRepository productRepository,
+            PriceRepository priceRepository,
+            FeatureRepository featureRepository,
+            ProductFeatureRepository productFeatureRepository,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${CATALOG_CACHE_TTL_SECONDS:300}") long ttlSeconds,
+            @Value("${CATALOG_CACHE_MAX_TENANTS:10000}") long maxTenants) {
+        this.productRepository = productRepository;
+        this.priceRepository = priceRepository;
+        this.featureRepository = featureRepository;
+        this.productFeatureRepository = productFeatureRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxTenants)
+                .executor(BlockingLoads.EXECUTOR)
+                .buildAsync();
+        this.invalidator = new CacheInvalidator(INVALIDATION_CHANNEL, redisTemplate, listenerContainer,
+                tenantId -> evictLocally(ALL_TENANTS.equals(tenantId) ? null : UUID.fromString(tenantId)));
+    }
+
+    public CatalogSnapshot getCatalog() {
+        return getCatalog(TenantContext.getCurrentTenantId());
+    }
+
+    public CatalogSnapshot getCatalog(UUID tenantId) {
+        Objects.requireNonNull(tenantId, "Tenant context is required to read the catalog");
+
+        long version = currentVersion(tenantId);
+        CompletableFuture<CatalogSnapshot> future = snapshots.get(tenantId, id -> load(id, version));
+        CatalogSnapshot snapshot = BlockingLoads.join(future);
+        if (snapshot.version() < version) {
+            snapshots.asMap().remove(tenantId, future);
+            snapshot = BlockingLoads.join(snapshots.get(tenantId, id -> load(id, version)));
+        }
+        return snapshot;
+    }
+
+    public void invalidate(UUID tenantId) {
+        invalidator.invalidate(tenantId != null ? tenantId.toString() : ALL_TENANTS);
+    }
+
+    private void evictLocally(UUID tenantId) {
+        if (tenantId == null) {
+            versions.replaceAll((id, version) -> version + 1);
+            snapshots.synchronous().invalidateAll();
+            return;
+        }
+        versions.merge(tenantId, 1L, Long::sum);
+        snapshots.synchronous().invalidate(tenantId);
+    }
+
+    private long currentVersion(UUID tenantId) {
+        return versions.getOrDefault(tenantId, 0L);
+    }
+
+    private CatalogSnapshot load(UUID tenantId, long version) {
+        List<Product> products = productRepository.findByTenantIdAndActive(tenantId, true).stream()
+                .filter(p -> p.getDeletedAt() == null)
+                .sorted(PRODUCT_ORDER)
+                .toList();
+        List<UUID> productIds = products.stream().map(Product::getId).toList();
+
+        List<Price> activePrices = productIds.isEmpty()
+                ? List.of()
+                : priceRepository.findByProductIdInAndActive(productIds, true);
+        List<ProductFeature> productFeatures = productIds.isEmpty()
+                ? List.of()
+                : productFeatureRepository.findByProductIdIn(productIds);
+        List<Feature> features = featureRepository.findByTenantId(tenantId).stream()
+                .filter(f -> f.getDeletedAt() == null)
+                .sorted(Comparator.comparing(Feature::getFeatureKey))
+                .toList();
+
+        Map<UUID, List<Price>> groupedPrices = activePrices.stream()
+                .filter(p -> p.getDeletedAt() == null)
+                .sorted(PRICE_ORDER)
+                .collect(Collectors.groupingBy(Price::getProductId));
+        Map<UUID, List<ProductFeature>> groupedFeatures = productFeatures.stream()
+                .sorted(Comparator.comparing(ProductFeature::getFeatureId))
+                .collect(Collectors.groupingBy(ProductFeature::getProductId));
+
+        // Snapshots are shared across requests, so they hold immutable views rather than managed entities.
+        Map<UUID, List<CatalogPrice>> pricesByProduct = new LinkedHashMap<>();
+        Map<UUID, List<CatalogProductFeature>> featuresByProduct = new LinkedHashMap<>();
+        for (UUID productId : productIds) {
+            pricesByProduct.put(productId, groupedPrices.getOrDefault(productId, List.of()).stream()
+                    .map(CatalogPrice::of)
+                    .toList());
+            featuresByProduct.put(productId, groupedFeatures.getOrDefault(productId, List.of()).stream()
+                    .map(CatalogProductFeature::of)
+                    .toList());
+        }
+        List<CatalogProduct> productViews = products.stream().map(CatalogProduct::of).toList();
+        List<CatalogFeature> featureViews = features.stream().map(CatalogFeature::of).toList();
+
+        return new CatalogSnapshot(
+                tenantId,
+                version,
+                computeEtag(productViews, pricesByProduct, featureViews, featuresByProduct),
+                productViews,
+                Collections.unmodifiableMap(pricesByProduct),
+                featureViews,
+                Collections.unmodifiableMap(featuresByProduct));
+    }
+
+    private String computeEtag(List<CatalogProduct> products, Map<UUID, List<CatalogPrice>> prices,
+                               List<CatalogFeature> features, Map<UUID, List<CatalogProductFeature>> productFeatures) {
+        StringBuilder canonical = new StringBuilder();
+        for (CatalogProduct product : products) {
+            canonical.append("P|").append(product.id()).append('|').append(product.updatedAt()).append('\n');
+            for (CatalogPrice price : prices.get(product.id())) {
+                canonical.append("R|").append(price.id()).append('|').append(price.updatedAt()).append('\n');
+            }
+            for (CatalogProductFeature productFeature : productFeatures.get(product.id())) {
+                canonical.append("PF|").append(productFeature.featureId())
+                        .append('|').append(productFeature.value()).append('\n');
+            }
+        }
+        canonical.append(features.stream()
+                .map(f -> "F|" + f.id() + '|' + f.updatedAt())
+                .collect(Collectors.joining("\n")));
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
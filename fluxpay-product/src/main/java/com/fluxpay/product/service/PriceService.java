@@ -1,8 +1,11 @@
 package com.fluxpay.product.service;
 
 import com.fluxpay.common.exception.ResourceNotFoundException;
+import com.fluxpay.product.dto.CatalogPrice;
+import com.fluxpay.product.dto.CatalogSnapshot;
 import com.fluxpay.product.entity.Price;
 import com.fluxpay.product.repository.PriceRepository;
+import com.fluxpay.security.context.TenantContext;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,13 +17,17 @@ import java.util.UUID;
 public class PriceService {
 
     private final PriceRepository priceRepository;
+    private final CatalogService catalogService;
 
-    public PriceService(PriceRepository priceRepository) {
+    public PriceService(PriceRepository priceRepository, CatalogService catalogService) {
         this.priceRepository = priceRepository;
+        this.catalogService = catalogService;
     }
 
     public Price createPrice(Price price) {
-        return priceRepository.save(price);
+        Price savedPrice = priceRepository.save(price);
+        catalogService.invalidate(TenantContext.getCurrentTenantId());
+        return savedPrice;
     }
 
     @Transactional(readOnly = true)
@@ -29,8 +36,17 @@ public class PriceService {
     }
 
     @Transactional(readOnly = true)
-    public List<Price> getActivePricesByProduct(UUID productId) {
-        return priceRepository.findByProductIdAndActive(productId, true);
+    public List<CatalogPrice> getActivePricesByProduct(UUID productId) {
+        UUID tenantId = TenantContext.getCurrentTenantId();
+        if (tenantId != null) {
+            CatalogSnapshot catalog = catalogService.getCatalog(tenantId);
+            if (catalog.containsProduct(productId)) {
+                return catalog.pricesFor(productId);
+            }
+        }
+        return priceRepository.findByProductIdAndActive(productId, true).stream()
+                .map(CatalogPrice::of)
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -47,13 +63,16 @@ public class PriceService {
         price.setTrialPeriodDays(updatedPrice.getTrialPeriodDays());
         price.setActive(updatedPrice.getActive());
 
-        return priceRepository.save(price);
+        Price savedPrice = priceRepository.save(price);
+        catalogService.invalidate(TenantContext.getCurrentTenantId());
+        return savedPrice;
     }
 
     public void deactivatePrice(UUID id) {
         Price price = findPriceById(id);
         price.setActive(false);
         priceRepository.save(price);
+        catalogService.invalidate(TenantContext.getCurrentTenantId());
     }
 
     private Price findPriceById(UUID id) {
@@ -2,6 +2,7 @@ package com.fluxpay.product.service;
 
 import com.fluxpay.common.exception.ResourceNotFoundException;
 import com.fluxpay.common.exception.ValidationException;
+import com.fluxpay.product.dto.CatalogProduct;
 import com.fluxpay.product.entity.Product;
 import com.fluxpay.product.repository.ProductRepository;
 import com.fluxpay.security.context.TenantContext;
@@ -16,9 +17,11 @@ import java.util.UUID;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final CatalogService catalogService;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, CatalogService catalogService) {
         this.productRepository = productRepository;
+        this.catalogService = catalogService;
     }
 
     public Product createProduct(Product product) {
@@ -28,7 +31,9 @@ public class ProductService {
             throw new ValidationException("Product with name already exists: " + product.getName());
         }
         
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        catalogService.invalidate(tenantId);
+        return savedProduct;
     }
 
     @Transactional(readOnly = true)
@@ -44,9 +49,8 @@ public class ProductService {
     }
 
     @Transactional(readOnly = true)
-    public List<Product> getActiveProducts() {
-        UUID tenantId = TenantContext.getCurrentTenantId();
-        return productRepository.findByTenantIdAndActive(tenantId, true);
+    public List<CatalogProduct> getActiveProducts() {
+        return catalogService.getCatalog().products();
     }
 
     @Transactional(readOnly = true)
@@ -75,19 +79,23 @@ public class ProductService {
             product.setMetadata(updatedProduct.getMetadata());
         }
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        catalogService.invalidate(tenantId);
+        return savedProduct;
     }
 
     public void deactivateProduct(UUID id) {
         Product product = findProductById(id);
         product.setActive(false);
         productRepository.save(product);
+        catalogService.invalidate(product.getTenantId());
     }
 
     public void deleteProduct(UUID id) {
         Product product = findProductById(id);
         product.softDelete();
         productRepository.save(product);
+        catalogService.invalidate(product.getTenantId());
     }
 }
 
@@ -0,0 +1,287 @@
+package com.fluxpay.product.service;
+
+import com.fluxpay.product.dto.CatalogFeature;
+import com.fluxpay.product.dto.CatalogPrice;
+import com.fluxpay.product.dto.CatalogProduct;
+import com.fluxpay.product.dto.CatalogProductFeature;
+import com.fluxpay.product.dto.CatalogSnapshot;
+import com.fluxpay.product.entity.Feature;
+import com.fluxpay.product.entity.Price;
+import com.fluxpay.product.entity.Product;
+import com.fluxpay.product.entity.ProductFeature;
+import com.fluxpay.product.repository.FeatureRepository;
+import com.fluxpay.product.repository.PriceRepository;
+import com.fluxpay.product.repository.ProductFeatureRepository;
+import com.fluxpay.product.repository.ProductRepository;
+import com.fluxpay.security.context.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PriceRepository priceRepository;
+
+    @Mock
+    private FeatureRepository featureRepository;
+
+    @Mock
+    private ProductFeatureRepository productFeatureRepository;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private CatalogService catalogService;
+    private UUID tenantId;
+    private Product product;
+    private Price price;
+
+    @BeforeEach
+    void setUp() {
+        catalogService = new CatalogService(productRepository, priceRepository, featureRepository,
+                productFeatureRepository, redisTemplate, listenerContainer, 300, 100);
+        tenantId = UUID.randomUUID();
+        TenantContext.setCurrentTenant(tenantId);
+
+        product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setTenantId(tenantId);
+        product.setName("Pro");
+        product.setActive(true);
+        product.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+
+        price = new Price();
+        price.setId(UUID.randomUUID());
+        price.setProductId(product.getId());
+        price.setUnitAmount(new BigDecimal("49.00"));
+        price.setActive(true);
+        price.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void stubCatalog() {
+        when(productRepository.findByTenantIdAndActive(tenantId, true)).thenReturn(List.of(product));
+        when(priceRepository.findByProductIdInAndActive(anyCollection(), eq(true))).thenReturn(List.of(price));
+        when(productFeatureRepository.findByProductIdIn(anyCollection())).thenReturn(List.of());
+        when(featureRepository.findByTenantId(tenantId)).thenReturn(List.of());
+    }
+
+    @Test
+    void getCatalog_BuildsSnapshotFromRepositories() {
+        Feature feature = new Feature();
+        feature.setId(UUID.randomUUID());
+        feature.setFeatureKey("seats");
+        ProductFeature productFeature = new ProductFeature();
+        productFeature.setProductId(product.getId());
+        productFeature.setFeatureId(feature.getId());
+        productFeature.setValue(5);
+
+        when(productRepository.findByTenantIdAndActive(tenantId, true)).thenReturn(List.of(product));
+        when(priceRepository.findByProductIdInAndActive(List.of(product.getId()), true)).thenReturn(List.of(price));
+        when(productFeatureRepository.findByProductIdIn(List.of(product.getId()))).thenReturn(List.of(productFeature));
+        when(featureRepository.findByTenantId(tenantId)).thenReturn(List.of(feature));
+
+        CatalogSnapshot catalog = catalogService.getCatalog();
+
+        assertThat(catalog.tenantId()).isEqualTo(tenantId);
+        assertThat(catalog.products()).containsExactly(CatalogProduct.of(product));
+        assertThat(catalog.containsProduct(product.getId())).isTrue();
+        assertThat(catalog.pricesFor(product.getId())).containsExactly(CatalogPrice.of(price));
+        assertThat(catalog.featuresFor(product.getId())).containsExactly(CatalogProductFeature.of(productFeature));
+        assertThat(catalog.features()).containsExactly(CatalogFeature.of(feature));
+        assertThat(catalog.etag()).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void getCatalog_ServesFromMemoryOnRepeatedReads() {
+        stubCatalog();
+
+        CatalogSnapshot first = catalogService.getCatalog();
+        CatalogSnapshot second = catalogService.getCatalog();
+
+        assertThat(second).isSameAs(first);
+        verify(productRepository, times(1)).findByTenantIdAndActive(tenantId, true);
+        verify(priceRepository, times(1)).findByProductIdInAndActive(anyCollection(), eq(true));
+    }
+
+    @Test
+    void getCatalog_ExcludesDeletedProductsAndSkipsQueriesWhenEmpty() {
+        product.softDelete();
+        when(productRepository.findByTenantIdAndActive(tenantId, true)).thenReturn(List.of(product));
+        when(featureRepository.findByTenantId(tenantId)).thenReturn(List.of());
+
+        CatalogSnapshot catalog = catalogService.getCatalog();
+
+        assertThat(catalog.products()).isEmpty();
+        assertThat(catalog.containsProduct(product.getId())).isFalse();
+        verify(priceRepository, never()).findByProductIdInAndActive(anyCollection(), any());
+        verify(productFeatureRepository, never()).findByProductIdIn(anyCollection());
+    }
+
+    @Test
+    void getCatalog_IsolatesTenants() {
+        stubCatalog();
+        UUID otherTenant = UUID.randomUUID();
+        when(productRepository.findByTenantIdAndActive(otherTenant, true)).thenReturn(List.of());
+        when(featureRepository.findByTenantId(otherTenant)).thenReturn(List.of());
+
+        CatalogSnapshot own = catalogService.getCatalog(tenantId);
+        CatalogSnapshot other = catalogService.getCatalog(otherTenant);
+
+        assertThat(own.products()).hasSize(1);
+        assertThat(other.products()).isEmpty();
+        assertThat(other.etag()).isNotEqualTo(own.etag());
+    }
+
+    @Test
+    void getCatalog_RequiresTenant() {
+        TenantContext.clear();
+
+        assertThatThrownBy(() -> catalogService.getCatalog())
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void invalidate_RebuildsSnapshotOnNextRead() {
+        stubCatalog();
+        CatalogSnapshot first = catalogService.getCatalog();
+
+        catalogService.invalidate(tenantId);
+        CatalogSnapshot second = catalogService.getCatalog();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.version()).isGreaterThan(first.version());
+        assertThat(second.etag()).isEqualTo(first.etag());
+        verify(productRepository, times(2)).findByTenantIdAndActive(tenantId, true);
+    }
+
+    @Test
+    void etag_ChangesWhenCatalogContentChanges() {
+        stubCatalog();
+        String before = catalogService.getCatalog().etag();
+
+        price.setUpdatedAt(Instant.parse("2024-02-01T00:00:00Z"));
+        catalogService.invalidate(tenantId);
+
+        assertThat(catalogService.getCatalog().etag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void invalidate_DefersEvictionUntilCommit() {
+        stubCatalog();
+        CatalogSnapshot first = catalogService.getCatalog();
+
+        TransactionSynchronizationManager.initSynchronization();
+        catalogService.invalidate(tenantId);
+
+        assertThat(catalogService.getCatalog()).isSameAs(first);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(catalogService.getCatalog()).isNotSameAs(first);
+    }
+
+    @Test
+    void invalidate_WithoutTenantEvictsAllCatalogs() {
+        stubCatalog();
+        CatalogSnapshot first = catalogService.getCatalog();
+
+        catalogService.invalidate(null);
+
+        assertThat(catalogService.getCatalog()).isNotSameAs(first);
+    }
+
+    @Test
+    void getCatalog_IsNotAffectedByLaterEntityChanges() {
+        product.setMetadata(new HashMap<>(Map.of("plan", "pro")));
+        stubCatalog();
+        CatalogSnapshot catalog = catalogService.getCatalog();
+
+        product.setName("Renamed");
+        product.getMetadata().put("plan", "free");
+
+        assertThat(catalog.products().get(0).name()).isEqualTo("Pro");
+        assertThat(catalog.products().get(0).metadata()).containsEntry("plan", "pro");
+        assertThatThrownBy(() -> catalog.products().get(0).metadata().put("plan", "free"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void invalidate_PublishesToOtherNodes() {
+        catalogService.invalidate(tenantId);
+        catalogService.invalidate(null);
+
+        verify(redisTemplate).convertAndSend("catalog_invalidations", tenantId.toString());
+        verify(redisTemplate).convertAndSend("catalog_invalidations", "*");
+    }
+
+    @Test
+    void invalidate_DoesNotPublishBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        catalogService.invalidate(tenantId);
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void invalidationMessage_EvictsLocally() {
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) serializer);
+        byte[] body = tenantId.toString().getBytes(StandardCharsets.UTF_8);
+        when(serializer.deserialize(body)).thenReturn(tenantId.toString());
+        stubCatalog();
+        CatalogSnapshot first = catalogService.getCatalog();
+
+        listener.getValue().onMessage(new DefaultMessage("catalog_invalidations".getBytes(StandardCharsets.UTF_8), body), null);
+
+        assertThat(catalogService.getCatalog()).isNotSameAs(first);
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+}
@@ -1,8 +1,11 @@
 package com.fluxpay.product.service;
 
 import com.fluxpay.common.exception.ResourceNotFoundException;
+import com.fluxpay.product.dto.CatalogPrice;
+import com.fluxpay.product.dto.CatalogSnapshot;
 import com.fluxpay.product.entity.Price;
 import com.fluxpay.product.repository.PriceRepository;
+import com.fluxpay.security.context.TenantContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -27,6 +31,9 @@ class PriceServiceTest {
     @Mock
     private PriceRepository priceRepository;
 
+    @Mock
+    private CatalogService catalogService;
+
     @InjectMocks
     private PriceService priceService;
 
@@ -66,6 +73,7 @@ class PriceServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isNotNull();
         verify(priceRepository).save(newPrice);
+        verify(catalogService).invalidate(null);
     }
 
     @Test
@@ -113,20 +121,56 @@ class PriceServiceTest {
 
         when(priceRepository.findByProductIdAndActive(productId, true)).thenReturn(activePrices);
 
-        List<Price> result = priceService.getActivePricesByProduct(productId);
+        List<CatalogPrice> result = priceService.getActivePricesByProduct(productId);
 
         assertThat(result)
                 .isNotNull()
                 .hasSize(2)
-                .allMatch(Price::getActive);
+                .allMatch(CatalogPrice::active);
         verify(priceRepository).findByProductIdAndActive(productId, true);
     }
 
+    @Test
+    void getActivePricesByProduct_ShouldServeFromCatalog() {
+        UUID tenantId = UUID.randomUUID();
+        TenantContext.setCurrentTenant(tenantId);
+        try {
+            CatalogSnapshot catalog = new CatalogSnapshot(tenantId, 0L, "\"etag\"", List.of(),
+                    Map.of(productId, List.of(CatalogPrice.of(price))), List.of(), Map.of());
+            when(catalogService.getCatalog(tenantId)).thenReturn(catalog);
+
+            List<CatalogPrice> result = priceService.getActivePricesByProduct(productId);
+
+            assertThat(result).containsExactly(CatalogPrice.of(price));
+            verify(priceRepository, never()).findByProductIdAndActive(any(), any());
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    @Test
+    void getActivePricesByProduct_FallsBackWhenProductNotInCatalog() {
+        UUID tenantId = UUID.randomUUID();
+        TenantContext.setCurrentTenant(tenantId);
+        try {
+            CatalogSnapshot catalog = new CatalogSnapshot(tenantId, 0L, "\"etag\"", List.of(),
+                    Map.of(), List.of(), Map.of());
+            when(catalogService.getCatalog(tenantId)).thenReturn(catalog);
+            when(priceRepository.findByProductIdAndActive(productId, true)).thenReturn(List.of(price));
+
+            List<CatalogPrice> result = priceService.getActivePricesByProduct(productId);
+
+            assertThat(result).containsExactly(CatalogPrice.of(price));
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
     @Test
     void getActivePricesByProduct_ShouldReturnEmptyList() {
         when(priceRepository.findByProductIdAndActive(productId, true)).thenReturn(List.of());
 
-        List<Price> result = priceService.getActivePricesByProduct(productId);
+        List<CatalogPrice> result = priceService.getActivePricesByProduct(productId);
 
         assertThat(result)
                 .isNotNull()
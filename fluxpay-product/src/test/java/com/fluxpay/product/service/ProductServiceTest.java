@@ -2,6 +2,8 @@ package com.fluxpay.product.service;
 
 import com.fluxpay.common.exception.ResourceNotFoundException;
 import com.fluxpay.common.exception.ValidationException;
+import com.fluxpay.product.dto.CatalogProduct;
+import com.fluxpay.product.dto.CatalogSnapshot;
 import com.fluxpay.product.entity.Product;
 import com.fluxpay.product.repository.ProductRepository;
 import com.fluxpay.security.context.TenantContext;
@@ -15,6 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,6 +33,9 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private CatalogService catalogService;
+
     @InjectMocks
     private ProductService productService;
 
@@ -64,6 +70,7 @@ class ProductServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo("Test Product");
         verify(productRepository).save(product);
+        verify(catalogService).invalidate(tenantId);
     }
 
     @Test
@@ -75,6 +82,7 @@ class ProductServiceTest {
                 .hasMessageContaining("Product with name already exists");
 
         verify(productRepository, never()).save(any());
+        verify(catalogService, never()).invalidate(any());
     }
 
     @Test
@@ -120,24 +128,29 @@ class ProductServiceTest {
 
     @Test
     void getActiveProducts_Success() {
-        List<Product> products = List.of(product);
-        when(productRepository.findByTenantIdAndActive(tenantId, true)).thenReturn(products);
+        when(catalogService.getCatalog()).thenReturn(catalog(List.of(product)));
 
-        List<Product> result = productService.getActiveProducts();
+        List<CatalogProduct> result = productService.getActiveProducts();
 
         assertThat(result).isNotNull().hasSize(1);
-        assertThat(result.get(0).getName()).isEqualTo("Test Product");
+        assertThat(result.get(0).name()).isEqualTo("Test Product");
+        verify(productRepository, never()).findByTenantIdAndActive(any(), any());
     }
 
     @Test
     void getActiveProducts_ReturnsEmptyList() {
-        when(productRepository.findByTenantIdAndActive(tenantId, true)).thenReturn(Collections.emptyList());
+        when(catalogService.getCatalog()).thenReturn(catalog(Collections.emptyList()));
 
-        List<Product> result = productService.getActiveProducts();
+        List<CatalogProduct> result = productService.getActiveProducts();
 
         assertThat(result).isNotNull().isEmpty();
     }
 
+    private CatalogSnapshot catalog(List<Product> products) {
+        return new CatalogSnapshot(tenantId, 0L, "\"etag\"", products.stream().map(CatalogProduct::of).toList(),
+                Map.of(), List.of(), Map.of());
+    }
+
     @Test
     void getAllProducts_Success() {
         List<Product> products = List.of(product);
@@ -166,6 +179,7 @@ class ProductServiceTest {
         assertThat(result.getName()).isEqualTo("Updated Product");
         assertThat(result.getDescription()).isEqualTo("Updated Description");
         verify(productRepository).save(product);
+        verify(catalogService).invalidate(tenantId);
     }
 
     @Test
@@ -240,6 +254,7 @@ class ProductServiceTest {
 
         assertThat(product.getActive()).isFalse();
         verify(productRepository).save(product);
+        verify(catalogService).invalidate(tenantId);
     }
 
     @Test
@@ -252,5 +267,6 @@ class ProductServiceTest {
 
         assertThat(product.getDeletedAt()).isNotNull();
         verify(productRepository).save(product);
+        verify(catalogService).invalidate(tenantId);
     }
 }
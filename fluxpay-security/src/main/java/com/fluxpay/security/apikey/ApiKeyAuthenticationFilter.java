@@ -0,0 +1,103 @@
+package com.fluxpay.security.apikey;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fluxpay.common.dto.ErrorResponse;
+import com.fluxpay.security.context.TenantContext;
+import com.fluxpay.security.session.service.RateLimitService;
+import com.fluxpay.security.tenant.TenantStatusGuard;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final ObjectProvider<ApiKeyResolver> apiKeyResolver;
+    private final RateLimitService rateLimitService;
+    private final TenantStatusGuard tenantStatusGuard;
+    private final ObjectMapper objectMapper;
+
+    public ApiKeyAuthenticationFilter(
+            ObjectProvider<ApiKeyResolver> apiKeyResolver,
+            RateLimitService rateLimitService,
+            TenantStatusGuard tenantStatusGuard,
+            ObjectMapper objectMapper) {
+        this.apiKeyResolver = apiKeyResolver;
+        this.rateLimitService = rateLimitService;
+        this.tenantStatusGuard = tenantStatusGuard;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String rawKey = request.getHeader(API_KEY_HEADER);
+        ApiKeyResolver resolver = apiKeyResolver.getIfAvailable();
+        Authentication existing = SecurityContextHolder.getContext().getAuthentication();
+        if (rawKey == null || rawKey.isBlank() || resolver == null || (existing != null && existing.isAuthenticated())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<ApiKeyPrincipal> resolved = resolver.resolve(rawKey.trim());
+        if (resolved.isEmpty() || resolved.get().isExpired()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ApiKeyPrincipal principal = resolved.get();
+        if (tenantStatusGuard.rejectIfNotAdmitted(principal.tenantId(), request, response)) {
+            return;
+        }
+        if (!principal.scope().permits(request.getMethod())) {
+            writeError(request, response, HttpStatus.FORBIDDEN, "Insufficient Scope",
+                    "API key scope " + principal.scope() + " does not allow " + request.getMethod());
+            return;
+        }
+        if (rateLimitService.isRateLimited(principal.keyId().toString(), "api_key_requests",
+                principal.rateLimitPerMinute(), Duration.ofMinutes(1))) {
+            writeError(request, response, HttpStatus.TOO_MANY_REQUESTS, "Rate Limit Exceeded",
+                    "API key rate limit exceeded");
+            return;
+        }
+
+        resolver.recordUsage(principal);
+        TenantContext.setCurrentTenant(principal.tenantId());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal.keyId(),
+                principal,
+                List.of(new SimpleGrantedAuthority("ROLE_API_KEY"),
+                        new SimpleGrantedAuthority("SCOPE_" + principal.scope()))));
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String error, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ErrorResponse.of(status.value(), error, message, request.getRequestURI()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.fluxpay.security.apikey;
+
+import com.fluxpay.common.enums.ApiKeyScope;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ApiKeyPrincipal(UUID keyId, UUID tenantId, ApiKeyScope scope, int rateLimitPerMinute, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
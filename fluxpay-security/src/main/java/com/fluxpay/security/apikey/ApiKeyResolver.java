@@ -0,0 +1,10 @@
+package com.fluxpay.security.apikey;
+
+import java.util.Optional;
+
+public interface ApiKeyResolver {
+
+    Optional<ApiKeyPrincipal> resolve(String rawKey);
+
+    void recordUsage(ApiKeyPrincipal principal);
+}
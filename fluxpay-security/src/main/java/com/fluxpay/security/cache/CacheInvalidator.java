@@ -0,0 +1,37 @@
+package com.fluxpay.security.cache;
+
+import com.fluxpay.security.transaction.AfterCommit;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.function.Consumer;
+
+// Evicts a key from an in-process cache on this node and, through a Redis channel, on every other node. Keys travel
+// as strings; evictLocally parses them back and runs both for local invalidations and for messages from other nodes.
+public final class CacheInvalidator {
+
+    private final String channel;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Consumer<String> evictLocally;
+
+    public CacheInvalidator(String channel, RedisTemplate<String, Object> redisTemplate,
+                            RedisMessageListenerContainer listenerContainer, Consumer<String> evictLocally) {
+        this.channel = channel;
+        this.redisTemplate = redisTemplate;
+        this.evictLocally = evictLocally;
+        listenerContainer.addMessageListener((message, pattern) -> {
+            Object key = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (key != null) {
+                evictLocally.accept(key.toString());
+            }
+        }, new ChannelTopic(channel));
+    }
+
+    public void invalidate(String key) {
+        AfterCommit.run(() -> {
+            evictLocally.accept(key);
+            redisTemplate.convertAndSend(channel, key);
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package com.fluxpay.security.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+// A synchronous Caffeine loader runs inside ConcurrentHashMap.compute, which holds a monitor; on JDK 21 a virtual
+// thread blocked on Redis or Postgres there pins its carrier. Caches with blocking loaders are built as AsyncCaches
+// on this executor instead, so each load runs on its own virtual thread and callers wait on the future unpinned.
+public final class BlockingLoads {
+
+    public static final Executor EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private BlockingLoads() {
+    }
+
+    public static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.fluxpay.security.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// A pending count that a periodic flush can take exactly once. The flush detaches the counter from its map and then
+// calls retire(), which swaps every stripe for RETIRED with one getAndSet: an add either lands before its stripe is
+// retired and is part of the returned sum, or sees RETIRED and returns false, in which case the writer still holds the
+// detached counter and retries on a fresh one from the map. Like a LongAdder, a striped counter spreads writers over
+// per-thread stripes so a hot key does not serialize on one cell.
+public final class RetiringCounter {
+
+    // a power of two of at least the CPU count, capped at 64
+    public static final int DEFAULT_STRIPES =
+            Math.min(64, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    private static final long RETIRED = -1;
+    // 16 longs keep each stripe on its own 128-byte span, so neighbouring stripes do not share a cache line
+    private static final int STRIPE_SPACING = 16;
+
+    private final int stripes;
+    private final int spacing;
+    private final AtomicLongArray cells;
+
+    public RetiringCounter(int stripes) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripes must be a positive power of two: " + stripes);
+        }
+        this.stripes = stripes;
+        this.spacing = stripes > 1 ? STRIPE_SPACING : 1;
+        this.cells = new AtomicLongArray(stripes * spacing);
+    }
+
+    public static RetiringCounter striped() {
+        return new RetiringCounter(DEFAULT_STRIPES);
+    }
+
+    public boolean add(long delta) {
+        int index = stripe() * spacing;
+        long current = cells.get(index);
+        while (current != RETIRED) {
+            if (cells.compareAndSet(index, current, current + delta)) {
+                return true;
+            }
+            current = cells.get(index);
+        }
+        return false;
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += Math.max(cells.get(i * spacing), 0L);
+        }
+        return sum;
+    }
+
+    public long retire() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += Math.max(cells.getAndSet(i * spacing, RETIRED), 0L);
+        }
+        return sum;
+    }
+
+    private int stripe() {
+        if (stripes == 1) {
+            return 0;
+        }
+        return (int) ((Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L) >>> 32) & (stripes - 1);
+    }
+}
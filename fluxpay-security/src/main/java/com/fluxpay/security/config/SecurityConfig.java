@@ -1,6 +1,9 @@
 package com.fluxpay.security.config;
 
+import com.fluxpay.security.apikey.ApiKeyAuthenticationFilter;
 import com.fluxpay.security.jwt.JwtAuthenticationFilter;
+import com.fluxpay.security.password.BoundedPasswordEncoder;
+import com.fluxpay.security.password.PasswordHashingExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,6 +29,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ApiKeyAuthenticationFilter apiKeyAuthenticationFilter;
 
     @Value("${CORS_ALLOWED_ORIGINS:}")
     private String corsAllowedOrigins;
@@ -42,8 +46,13 @@ public class SecurityConfig {
     @Value("${CORS_ALLOW_CREDENTIALS:true}")
     private boolean corsAllowCredentials;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    @Value("${PASSWORD_BCRYPT_STRENGTH:10}")
+    private int bcryptStrength;
+
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          ApiKeyAuthenticationFilter apiKeyAuthenticationFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.apiKeyAuthenticationFilter = apiKeyAuthenticationFilter;
     }
 
     @Bean
@@ -56,14 +65,15 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**", "/api/tenants/register", "/actuator/health").permitAll()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(apiKeyAuthenticationFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), passwordHashingExecutor);
     }
 
     @Bean
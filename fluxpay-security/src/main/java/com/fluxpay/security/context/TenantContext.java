@@ -1,6 +1,7 @@
 package com.fluxpay.security.context;
 
 import java.util.UUID;
+import java.util.function.Supplier;
 
 public class TenantContext {
 
@@ -20,5 +21,28 @@ public class TenantContext {
     public static void clear() {
         CURRENT_TENANT.remove();
     }
+
+    // Binds the tenant only for the duration of the action and restores the previous binding, so a pooled or
+    // reused thread never carries a tenant past the work it was set for.
+    public static void runWithTenant(UUID tenantId, Runnable action) {
+        callWithTenant(tenantId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T callWithTenant(UUID tenantId, Supplier<T> action) {
+        UUID previous = CURRENT_TENANT.get();
+        CURRENT_TENANT.set(tenantId);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT_TENANT.set(previous);
+            } else {
+                CURRENT_TENANT.remove();
+            }
+        }
+    }
 }
 
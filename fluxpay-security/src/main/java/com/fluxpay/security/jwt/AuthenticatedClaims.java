@@ -0,0 +1,14 @@
+package com.fluxpay.security.jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AuthenticatedClaims(
+        UUID userId,
+        UUID tenantId,
+        String role,
+        String sessionId,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
@@ -5,8 +5,11 @@ import com.fluxpay.security.session.model.DeviceInfo;
 import com.fluxpay.security.session.model.SecurityFlags;
 import com.fluxpay.security.session.model.SessionData;
 import com.fluxpay.security.session.service.DeviceFingerprintService;
+import com.fluxpay.security.session.service.RevocationEpochService;
 import com.fluxpay.security.session.service.SessionSecurityService;
 import com.fluxpay.security.session.service.SessionService;
+import com.fluxpay.security.tenant.TenantStatusGuard;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,76 +32,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final SessionService sessionService;
     private final SessionSecurityService sessionSecurityService;
     private final DeviceFingerprintService deviceFingerprintService;
+    private final RevocationEpochService revocationEpochService;
+    private final TenantStatusGuard tenantStatusGuard;
 
     public JwtAuthenticationFilter(
             JwtTokenProvider jwtTokenProvider,
             SessionService sessionService,
             SessionSecurityService sessionSecurityService,
-            DeviceFingerprintService deviceFingerprintService) {
+            DeviceFingerprintService deviceFingerprintService,
+            RevocationEpochService revocationEpochService,
+            TenantStatusGuard tenantStatusGuard) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.sessionService = sessionService;
         this.sessionSecurityService = sessionSecurityService;
         this.deviceFingerprintService = deviceFingerprintService;
+        this.revocationEpochService = revocationEpochService;
+        this.tenantStatusGuard = tenantStatusGuard;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String token = resolveToken(request);
+        AuthenticatedClaims claims = token != null ? verifyToken(token) : null;
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
+        if (claims != null) {
+            UUID userId = claims.userId();
+            UUID tenantId = claims.tenantId();
+            String role = claims.role();
+
+            if (tenantStatusGuard.rejectIfNotAdmitted(tenantId, request, response)) {
+                return;
+            }
+
+            if (isRevoked(token, claims)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+
+            SessionData session;
             try {
-                if (sessionService.isTokenBlacklisted(token)) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-
-                UUID userId;
-                UUID tenantId;
-                String role;
-                String sessionId;
-                
-                try {
-                    userId = jwtTokenProvider.getUserId(token);
-                    tenantId = jwtTokenProvider.getTenantId(token);
-                    role = jwtTokenProvider.getRole(token);
-                    sessionId = jwtTokenProvider.getSessionId(token);
-                } catch (IllegalArgumentException e) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
-
-                SessionData session = retrieveOrCreateSession(token, userId, tenantId, role, sessionId, request);
-
-                TenantContext.setCurrentTenant(tenantId);
-
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userId,
-                        session,
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                );
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                session = retrieveOrCreateSession(token, userId, tenantId, role, claims.sessionId(), request);
             } catch (Exception e) {
-                try {
-                    UUID userId = jwtTokenProvider.getUserId(token);
-                    UUID tenantId = jwtTokenProvider.getTenantId(token);
-                    String role = jwtTokenProvider.getRole(token);
-                    
-                    TenantContext.setCurrentTenant(tenantId);
-                    
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userId,
-                            null,
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                    );
-                    
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                } catch (IllegalArgumentException ex) {
-                    filterChain.doFilter(request, response);
-                    return;
-                }
+                session = null;
             }
+
+            TenantContext.setCurrentTenant(tenantId);
+
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    userId,
+                    session,
+                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+            );
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
         }
 
         try {
@@ -192,6 +179,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    // A failed lookup counts as revoked, otherwise "log out everywhere" would be ignored whenever Redis is down.
+    private boolean isRevoked(String token, AuthenticatedClaims claims) {
+        try {
+            return revocationEpochService.isRevoked(claims.tenantId(), claims.userId(), claims.sessionId(),
+                    claims.issuedAt()) || sessionService.isTokenBlacklisted(token);
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    private AuthenticatedClaims verifyToken(String token) {
+        try {
+            return jwtTokenProvider.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
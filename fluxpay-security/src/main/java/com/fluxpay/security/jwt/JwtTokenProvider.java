@@ -1,5 +1,8 @@
 package com.fluxpay.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,20 +10,52 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
+    // iat only has second precision; revocation epochs compare against this millisecond issue time instead.
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iatMs";
+
     private final SecretKey key;
     private final long validityInMilliseconds;
+    private final JwtParser parser;
+    private final Cache<String, AuthenticatedClaims> verifiedTokens;
 
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration}") long validityInMilliseconds) {
+            @Value("${jwt.expiration}") long validityInMilliseconds,
+            @Value("${jwt.verified-cache-size:100000}") long verifiedCacheSize) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.validityInMilliseconds = validityInMilliseconds;
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, AuthenticatedClaims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, AuthenticatedClaims claims, long currentTime) {
+                        return Math.max(0L, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, AuthenticatedClaims claims, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(digest, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, AuthenticatedClaims claims, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String createToken(UUID userId, UUID tenantId, String role) {
@@ -36,18 +71,45 @@ public class JwtTokenProvider {
                 .claim("tenantId", tenantId.toString())
                 .claim("role", role)
                 .claim("sessionId", sessionId)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now.getTime())
                 .issuedAt(now)
                 .expiration(validity)
                 .signWith(key, Jwts.SIG.HS512)
                 .compact();
     }
 
+    public AuthenticatedClaims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("Token is missing or empty");
+        }
+
+        String digest = TokenDigest.of(token);
+        AuthenticatedClaims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        Claims claims = getClaims(token);
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            throw new IllegalArgumentException("Token expiration is missing");
+        }
+
+        AuthenticatedClaims verified = new AuthenticatedClaims(
+                parseUserId(claims),
+                parseTenantId(claims),
+                parseRole(claims),
+                claims.get("sessionId", String.class),
+                parseIssuedAt(claims),
+                expiration.toInstant()
+        );
+        verifiedTokens.put(digest, verified);
+        return verified;
+    }
+
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
+            verify(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
@@ -55,7 +117,41 @@ public class JwtTokenProvider {
     }
 
     public UUID getUserId(String token) {
-        String subject = getClaims(token).getSubject();
+        return parseUserId(getClaims(token));
+    }
+
+    public UUID getTenantId(String token) {
+        return parseTenantId(getClaims(token));
+    }
+
+    public String getRole(String token) {
+        return parseRole(getClaims(token));
+    }
+
+    public String getSessionId(String token) {
+        return getClaims(token).get("sessionId", String.class);
+    }
+
+    public Date getExpirationDate(String token) {
+        return getClaims(token).getExpiration();
+    }
+
+    private Claims getClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    // Tokens issued before the millisecond claim existed fall back to iat.
+    private Instant parseIssuedAt(Claims claims) {
+        Number issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM, Number.class);
+        if (issuedAtMillis != null) {
+            return Instant.ofEpochMilli(issuedAtMillis.longValue());
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.toInstant() : null;
+    }
+
+    private UUID parseUserId(Claims claims) {
+        String subject = claims.getSubject();
         if (subject == null || subject.isBlank()) {
             throw new IllegalArgumentException("Token subject is missing or empty");
         }
@@ -66,8 +162,8 @@ public class JwtTokenProvider {
         }
     }
 
-    public UUID getTenantId(String token) {
-        String tenantId = getClaims(token).get("tenantId", String.class);
+    private UUID parseTenantId(Claims claims) {
+        String tenantId = claims.get("tenantId", String.class);
         if (tenantId == null || tenantId.isBlank()) {
             throw new IllegalArgumentException("Token tenantId is missing or empty");
         }
@@ -78,28 +174,11 @@ public class JwtTokenProvider {
         }
     }
 
-    public String getRole(String token) {
-        String role = getClaims(token).get("role", String.class);
+    private String parseRole(Claims claims) {
+        String role = claims.get("role", String.class);
         if (role == null || role.isBlank()) {
             throw new IllegalArgumentException("Token role is missing or empty");
         }
         return role;
     }
-
-    public String getSessionId(String token) {
-        return getClaims(token).get("sessionId", String.class);
-    }
-
-    public Date getExpirationDate(String token) {
-        return getClaims(token).getExpiration();
-    }
-
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
 }
-
@@ -0,0 +1,48 @@
+package com.fluxpay.security.session.codec;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fluxpay.security.session.model.SessionData;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+public class SessionAwareRedisSerializer implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> fallback;
+    private final boolean binarySessions;
+
+    public SessionAwareRedisSerializer(boolean binarySessions) {
+        this(jsonSerializer(), binarySessions);
+    }
+
+    public SessionAwareRedisSerializer(RedisSerializer<Object> fallback, boolean binarySessions) {
+        this.fallback = fallback;
+        this.binarySessions = binarySessions;
+    }
+
+    public static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        serializer.configure(objectMapper -> objectMapper.registerModule(new JavaTimeModule()));
+        return serializer;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (binarySessions && value instanceof SessionData session) {
+            return SessionDataCodec.encode(session);
+        }
+        return fallback.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (SessionDataCodec.isEncoded(bytes)) {
+            try {
+                return SessionDataCodec.decode(bytes);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new SerializationException("Could not decode session", e);
+            }
+        }
+        return fallback.deserialize(bytes);
+    }
+}
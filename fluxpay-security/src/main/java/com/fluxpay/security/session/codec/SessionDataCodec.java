@@ -0,0 +1,465 @@
+package com.fluxpay.security.session.codec;
+
+import com.fluxpay.security.session.model.DeviceInfo;
+import com.fluxpay.security.session.model.LocationInfo;
+import com.fluxpay.security.session.model.SecurityFlags;
+import com.fluxpay.security.session.model.SessionData;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+public final class SessionDataCodec {
+
+    public static final byte MAGIC = (byte) 0xF5;
+    public static final byte VERSION = 1;
+
+    private static final int SESSION_ID = 1;
+    private static final int ACCESS_TOKEN_DIGEST = 2;
+    private static final int REFRESH_TOKEN = 3;
+    private static final int USER_ID = 4;
+    private static final int TENANT_ID = 5;
+    private static final int ROLE = 6;
+    private static final int DEVICE_INFO = 7;
+    private static final int LOCATION_INFO = 8;
+    private static final int TOKEN_FINGERPRINT = 9;
+    private static final int DEVICE_FINGERPRINT = 10;
+    private static final int IP_ADDRESS = 11;
+    private static final int USER_AGENT = 12;
+    private static final int SECURITY_FLAGS = 13;
+    private static final int CREATED_AT = 14;
+    private static final int LAST_ACCESS = 15;
+    private static final int EXPIRES_AT = 16;
+    private static final int REFRESH_TOKEN_EXPIRES_AT = 17;
+    private static final int REQUEST_COUNT = 18;
+    private static final int LAST_REQUEST_TIME = 19;
+
+    private static final byte TEXT = 0;
+    private static final byte BASE64 = 1;
+
+    private static final int DEVICE_ID = 1;
+    private static final int DEVICE_TYPE = 2;
+    private static final int DEVICE_NAME = 3;
+    private static final int OS = 4;
+    private static final int OS_VERSION = 5;
+    private static final int BROWSER = 6;
+    private static final int BROWSER_VERSION = 7;
+
+    private static final int COUNTRY = 1;
+    private static final int REGION = 2;
+    private static final int CITY = 3;
+    private static final int TIMEZONE = 4;
+    private static final int LATITUDE = 5;
+    private static final int LONGITUDE = 6;
+
+    private static final int FLAG_BITS = 1;
+    private static final int FAILED_ATTEMPTS = 2;
+    private static final int LAST_SECURITY_CHECK = 3;
+
+    private SessionDataCodec() {
+    }
+
+    public static boolean isEncoded(byte[] bytes) {
+        return bytes != null && bytes.length >= 2 && bytes[0] == MAGIC;
+    }
+
+    public static byte[] encode(SessionData session) {
+        Writer writer = new Writer(512);
+        writer.rawByte(MAGIC);
+        writer.rawByte(VERSION);
+        writer.string(SESSION_ID, session.getSessionId());
+        writer.digest(ACCESS_TOKEN_DIGEST, session.getAccessTokenDigest());
+        writer.string(REFRESH_TOKEN, session.getRefreshToken());
+        writer.uuid(USER_ID, session.getUserId());
+        writer.uuid(TENANT_ID, session.getTenantId());
+        writer.string(ROLE, session.getRole());
+        if (session.getDeviceInfo() != null) {
+            writer.nested(DEVICE_INFO, encode(session.getDeviceInfo()));
+        }
+        if (session.getLocationInfo() != null) {
+            writer.nested(LOCATION_INFO, encode(session.getLocationInfo()));
+        }
+        writer.packed(TOKEN_FINGERPRINT, session.getTokenFingerprint());
+        writer.packed(DEVICE_FINGERPRINT, session.getDeviceFingerprint());
+        writer.string(IP_ADDRESS, session.getIpAddress());
+        writer.string(USER_AGENT, session.getUserAgent());
+        if (session.getSecurityFlags() != null) {
+            writer.nested(SECURITY_FLAGS, encode(session.getSecurityFlags()));
+        }
+        writer.instant(CREATED_AT, session.getCreatedAt());
+        writer.instant(LAST_ACCESS, session.getLastAccess());
+        writer.instant(EXPIRES_AT, session.getExpiresAt());
+        writer.instant(REFRESH_TOKEN_EXPIRES_AT, session.getRefreshTokenExpiresAt());
+        if (session.getRequestCount() != 0) {
+            writer.varLong(REQUEST_COUNT, session.getRequestCount());
+        }
+        writer.instant(LAST_REQUEST_TIME, session.getLastRequestTime());
+        return writer.toByteArray();
+    }
+
+    public static SessionData decode(byte[] bytes) {
+        if (!isEncoded(bytes)) {
+            throw new IllegalArgumentException("Not an encoded session");
+        }
+        if (bytes[1] > VERSION) {
+            throw new IllegalArgumentException("Unsupported session codec version: " + bytes[1]);
+        }
+
+        SessionData session = new SessionData();
+        Reader reader = new Reader(bytes, 2, bytes.length);
+        while (reader.hasNext()) {
+            int tag = reader.nextTag();
+            switch (tag) {
+                case SESSION_ID -> session.setSessionId(reader.string());
+                case ACCESS_TOKEN_DIGEST -> session.setAccessTokenDigest(reader.digest());
+                case REFRESH_TOKEN -> session.setRefreshToken(reader.string());
+                case USER_ID -> session.setUserId(reader.uuid());
+                case TENANT_ID -> session.setTenantId(reader.uuid());
+                case ROLE -> session.setRole(reader.string());
+                case DEVICE_INFO -> session.setDeviceInfo(decodeDeviceInfo(reader.nested()));
+                case LOCATION_INFO -> session.setLocationInfo(decodeLocationInfo(reader.nested()));
+                case TOKEN_FINGERPRINT -> session.setTokenFingerprint(reader.packed());
+                case DEVICE_FINGERPRINT -> session.setDeviceFingerprint(reader.packed());
+                case IP_ADDRESS -> session.setIpAddress(reader.string());
+                case USER_AGENT -> session.setUserAgent(reader.string());
+                case SECURITY_FLAGS -> session.setSecurityFlags(decodeSecurityFlags(reader.nested()));
+                case CREATED_AT -> session.setCreatedAt(reader.instant());
+                case LAST_ACCESS -> session.setLastAccess(reader.instant());
+                case EXPIRES_AT -> session.setExpiresAt(reader.instant());
+                case REFRESH_TOKEN_EXPIRES_AT -> session.setRefreshTokenExpiresAt(reader.instant());
+                case REQUEST_COUNT -> session.setRequestCount(reader.varLong());
+                case LAST_REQUEST_TIME -> session.setLastRequestTime(reader.instant());
+                default -> reader.skip();
+            }
+        }
+        return session;
+    }
+
+    private static byte[] encode(DeviceInfo deviceInfo) {
+        Writer writer = new Writer(64);
+        writer.packed(DEVICE_ID, deviceInfo.getDeviceId());
+        writer.string(DEVICE_TYPE, deviceInfo.getDeviceType());
+        writer.string(DEVICE_NAME, deviceInfo.getDeviceName());
+        writer.string(OS, deviceInfo.getOs());
+        writer.string(OS_VERSION, deviceInfo.getOsVersion());
+        writer.string(BROWSER, deviceInfo.getBrowser());
+        writer.string(BROWSER_VERSION, deviceInfo.getBrowserVersion());
+        return writer.toByteArray();
+    }
+
+    private static DeviceInfo decodeDeviceInfo(Reader reader) {
+        DeviceInfo deviceInfo = new DeviceInfo();
+        while (reader.hasNext()) {
+            switch (reader.nextTag()) {
+                case DEVICE_ID -> deviceInfo.setDeviceId(reader.packed());
+                case DEVICE_TYPE -> deviceInfo.setDeviceType(reader.string());
+                case DEVICE_NAME -> deviceInfo.setDeviceName(reader.string());
+                case OS -> deviceInfo.setOs(reader.string());
+                case OS_VERSION -> deviceInfo.setOsVersion(reader.string());
+                case BROWSER -> deviceInfo.setBrowser(reader.string());
+                case BROWSER_VERSION -> deviceInfo.setBrowserVersion(reader.string());
+                default -> reader.skip();
+            }
+        }
+        return deviceInfo;
+    }
+
+    private static byte[] encode(LocationInfo locationInfo) {
+        Writer writer = new Writer(64);
+        writer.string(COUNTRY, locationInfo.getCountry());
+        writer.string(REGION, locationInfo.getRegion());
+        writer.string(CITY, locationInfo.getCity());
+        writer.string(TIMEZONE, locationInfo.getTimezone());
+        writer.decimal(LATITUDE, locationInfo.getLatitude());
+        writer.decimal(LONGITUDE, locationInfo.getLongitude());
+        return writer.toByteArray();
+    }
+
+    private static LocationInfo decodeLocationInfo(Reader reader) {
+        LocationInfo locationInfo = new LocationInfo();
+        while (reader.hasNext()) {
+            switch (reader.nextTag()) {
+                case COUNTRY -> locationInfo.setCountry(reader.string());
+                case REGION -> locationInfo.setRegion(reader.string());
+                case CITY -> locationInfo.setCity(reader.string());
+                case TIMEZONE -> locationInfo.setTimezone(reader.string());
+                case LATITUDE -> locationInfo.setLatitude(reader.decimal());
+                case LONGITUDE -> locationInfo.setLongitude(reader.decimal());
+                default -> reader.skip();
+            }
+        }
+        return locationInfo;
+    }
+
+    private static byte[] encode(SecurityFlags securityFlags) {
+        Writer writer = new Writer(16);
+        int bits = (securityFlags.isSuspiciousActivity() ? 1 : 0)
+                | (securityFlags.isRequiresReauth() ? 2 : 0)
+                | (securityFlags.isMfaRequired() ? 4 : 0);
+        writer.varLong(FLAG_BITS, bits);
+        writer.varLong(FAILED_ATTEMPTS, securityFlags.getFailedAttempts());
+        writer.instant(LAST_SECURITY_CHECK, securityFlags.getLastSecurityCheck());
+        return writer.toByteArray();
+    }
+
+    private static SecurityFlags decodeSecurityFlags(Reader reader) {
+        SecurityFlags securityFlags = new SecurityFlags();
+        while (reader.hasNext()) {
+            switch (reader.nextTag()) {
+                case FLAG_BITS -> {
+                    long bits = reader.varLong();
+                    securityFlags.setSuspiciousActivity((bits & 1) != 0);
+                    securityFlags.setRequiresReauth((bits & 2) != 0);
+                    securityFlags.setMfaRequired((bits & 4) != 0);
+                }
+                case FAILED_ATTEMPTS -> securityFlags.setFailedAttempts((int) reader.varLong());
+                case LAST_SECURITY_CHECK -> securityFlags.setLastSecurityCheck(reader.instant());
+                default -> reader.skip();
+            }
+        }
+        return securityFlags;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        void string(int tag, String value) {
+            if (value != null) {
+                bytes(tag, value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        void digest(int tag, String value) {
+            if (value != null) {
+                bytes(tag, Base64.getUrlDecoder().decode(value));
+            }
+        }
+
+        void packed(int tag, String value) {
+            if (value == null) {
+                return;
+            }
+            byte[] decoded = decodeBase64(value);
+            byte[] payload = decoded != null ? decoded : value.getBytes(StandardCharsets.UTF_8);
+            header(tag, payload.length + 1);
+            rawByte(decoded != null ? BASE64 : TEXT);
+            ensure(payload.length);
+            System.arraycopy(payload, 0, buffer, position, payload.length);
+            position += payload.length;
+        }
+
+        void uuid(int tag, UUID value) {
+            if (value != null) {
+                header(tag, 16);
+                fixedLong(value.getMostSignificantBits());
+                fixedLong(value.getLeastSignificantBits());
+            }
+        }
+
+        void instant(int tag, Instant value) {
+            if (value != null) {
+                header(tag, varLongSize(zigZag(value.getEpochSecond())) + varLongSize(value.getNano()));
+                rawVarLong(zigZag(value.getEpochSecond()));
+                rawVarLong(value.getNano());
+            }
+        }
+
+        void varLong(int tag, long value) {
+            header(tag, varLongSize(zigZag(value)));
+            rawVarLong(zigZag(value));
+        }
+
+        void decimal(int tag, Double value) {
+            if (value != null) {
+                header(tag, 8);
+                fixedLong(Double.doubleToRawLongBits(value));
+            }
+        }
+
+        void nested(int tag, byte[] value) {
+            bytes(tag, value);
+        }
+
+        void rawByte(byte value) {
+            ensure(1);
+            buffer[position++] = value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void bytes(int tag, byte[] value) {
+            header(tag, value.length);
+            ensure(value.length);
+            System.arraycopy(value, 0, buffer, position, value.length);
+            position += value.length;
+        }
+
+        private void header(int tag, int length) {
+            rawVarLong(tag);
+            rawVarLong(length);
+        }
+
+        private void fixedLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void rawVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void ensure(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+
+        private static byte[] decodeBase64(String value) {
+            if (value.length() < 4 || value.length() % 4 != 0) {
+                return null;
+            }
+            try {
+                byte[] decoded = Base64.getDecoder().decode(value);
+                return Base64.getEncoder().encodeToString(decoded).equals(value) ? decoded : null;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private static int varLongSize(long value) {
+            int size = 1;
+            while ((value & ~0x7FL) != 0) {
+                size++;
+                value >>>= 7;
+            }
+            return size;
+        }
+
+        private static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private final int limit;
+        private int position;
+        private int fieldLength;
+
+        private Reader(byte[] buffer, int offset, int limit) {
+            this.buffer = buffer;
+            this.position = offset;
+            this.limit = limit;
+        }
+
+        boolean hasNext() {
+            return position < limit;
+        }
+
+        int nextTag() {
+            int tag = (int) rawVarLong();
+            fieldLength = (int) rawVarLong();
+            if (fieldLength < 0 || position + fieldLength > limit) {
+                throw new IllegalArgumentException("Truncated session field " + tag);
+            }
+            return tag;
+        }
+
+        String string() {
+            String value = new String(buffer, position, fieldLength, StandardCharsets.UTF_8);
+            position += fieldLength;
+            return value;
+        }
+
+        String digest() {
+            String value = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOfRange(buffer, position, position + fieldLength));
+            position += fieldLength;
+            return value;
+        }
+
+        String packed() {
+            if (fieldLength < 1) {
+                throw new IllegalArgumentException("Empty packed session field");
+            }
+            byte encoding = buffer[position];
+            int start = position + 1;
+            int length = fieldLength - 1;
+            position += fieldLength;
+            if (encoding == BASE64) {
+                return Base64.getEncoder().encodeToString(Arrays.copyOfRange(buffer, start, start + length));
+            }
+            return new String(buffer, start, length, StandardCharsets.UTF_8);
+        }
+
+        UUID uuid() {
+            return new UUID(fixedLong(), fixedLong());
+        }
+
+        Instant instant() {
+            long seconds = unZigZag(rawVarLong());
+            return Instant.ofEpochSecond(seconds, rawVarLong());
+        }
+
+        long varLong() {
+            return unZigZag(rawVarLong());
+        }
+
+        Double decimal() {
+            return Double.longBitsToDouble(fixedLong());
+        }
+
+        Reader nested() {
+            Reader nested = new Reader(buffer, position, position + fieldLength);
+            position += fieldLength;
+            return nested;
+        }
+
+        void skip() {
+            position += fieldLength;
+        }
+
+        private long fixedLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFFL);
+            }
+            return value;
+        }
+
+        private long rawVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= limit) {
+                    throw new IllegalArgumentException("Truncated session varint");
+                }
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed session varint");
+        }
+
+        private static long unZigZag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.fluxpay.security.session.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private Duration window = Duration.ofMinutes(1);
+    private int defaultLimit = 100;
+    private Map<String, Integer> operations = new HashMap<>(Map.of(
+            "session_creation", 5,
+            "session_requests", 1000));
+    private Map<String, Integer> tiers = new HashMap<>(Map.of(
+            "starter", 600,
+            "professional", 3000,
+            "enterprise", 12000));
+    private Lease lease = new Lease();
+
+    public int limitFor(String operation) {
+        return operations.getOrDefault(operation, defaultLimit);
+    }
+
+    public int limitForTier(String tier) {
+        return tier != null ? tiers.getOrDefault(tier, defaultLimit) : defaultLimit;
+    }
+
+    @Data
+    public static class Lease {
+        private int divisor = 20;
+        private int maxSize = 100;
+        private Duration ttl = Duration.ofSeconds(1);
+    }
+}
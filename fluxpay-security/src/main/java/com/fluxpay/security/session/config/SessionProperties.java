@@ -14,6 +14,7 @@ public class SessionProperties {
     private Concurrent concurrent = new Concurrent();
     private Security security = new Security();
     private Audit audit = new Audit();
+    private Login login = new Login();
 
     @Data
     public static class Ttl {
@@ -35,6 +36,13 @@ public class SessionProperties {
     @Data
     public static class Audit {
         private int retentionDays = 365;
+        private int partitionsAhead = 3;
     }
-}
 
+    @Data
+    public static class Login {
+        private int maxAccountFailures = 5;
+        private int maxIpFailures = 50;
+        private Duration lockout = Duration.ofMinutes(15);
+    }
+}
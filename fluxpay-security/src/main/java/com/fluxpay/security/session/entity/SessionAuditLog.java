@@ -36,6 +36,9 @@ public class SessionAuditLog extends BaseEntity {
     @Column(name = "ip_address", length = 45)
     private String ipAddress;
     
+    @Column(name = "device_id")
+    private UUID deviceId;
+    
     @Column(name = "device_info", columnDefinition = "TEXT")
     private String deviceInfo;
     
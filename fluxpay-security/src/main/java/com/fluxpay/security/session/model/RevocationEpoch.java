@@ -0,0 +1,15 @@
+package com.fluxpay.security.session.model;
+
+import java.time.Instant;
+
+public record RevocationEpoch(Instant revokedBefore, String exemptSessionId) {
+
+    public static final RevocationEpoch NONE = new RevocationEpoch(Instant.EPOCH, null);
+
+    public boolean revokes(Instant issuedAt, String sessionId) {
+        if (this == NONE || (exemptSessionId != null && exemptSessionId.equals(sessionId))) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.isBefore(revokedBefore);
+    }
+}
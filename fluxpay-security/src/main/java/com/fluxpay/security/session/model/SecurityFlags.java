@@ -9,7 +9,7 @@ import java.io.Serializable;
 import java.time.Instant;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SecurityFlags implements Serializable {
@@ -0,0 +1,14 @@
+package com.fluxpay.security.session.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record SessionAccess(
+        UUID tenantId,
+        UUID userId,
+        String sessionId,
+        long requestCount,
+        Instant lastAccess,
+        Instant expiresAt
+) {
+}
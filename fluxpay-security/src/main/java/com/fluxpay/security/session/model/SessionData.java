@@ -1,5 +1,6 @@
 package com.fluxpay.security.session.model;
 
+import com.fluxpay.security.jwt.TokenDigest;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,16 +8,18 @@ import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SessionData implements Serializable {
     private String sessionId;
     private String accessToken;
+    private String accessTokenDigest;
     private String refreshToken;
     private UUID userId;
     private UUID tenantId;
@@ -39,5 +42,26 @@ public class SessionData implements Serializable {
     private long requestCount;
     private Instant lastRequestTime;
     private transient Map<String, Object> metadata;
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+        this.accessTokenDigest = accessToken != null ? TokenDigest.of(accessToken) : null;
+    }
+
+    public String getAccessTokenDigest() {
+        if (accessTokenDigest == null && accessToken != null) {
+            return TokenDigest.of(accessToken);
+        }
+        return accessTokenDigest;
+    }
+
+    public SessionData copy() {
+        return toBuilder()
+                .deviceInfo(deviceInfo != null ? deviceInfo.toBuilder().build() : null)
+                .locationInfo(locationInfo != null ? locationInfo.toBuilder().build() : null)
+                .securityFlags(securityFlags != null ? securityFlags.toBuilder().build() : null)
+                .metadata(metadata != null ? new HashMap<>(metadata) : null)
+                .build();
+    }
 }
 
@@ -1,20 +1,32 @@
 package com.fluxpay.security.session.repository;
 
+import com.fluxpay.security.jwt.TokenDigest;
+import com.fluxpay.security.session.model.RevocationEpoch;
+import com.fluxpay.security.session.model.SessionAccess;
 import com.fluxpay.security.session.model.SessionData;
-import java.util.Objects;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Repository
 public class SessionRedisRepository {
@@ -22,9 +34,104 @@ public class SessionRedisRepository {
     private static final Logger LOGGER = LoggerFactory.getLogger(SessionRedisRepository.class);
 
     private static final String SESSION_PREFIX = "session:";
-    private static final String BLACKLIST_PREFIX = "blacklist:";
-    private static final String USER_SESSIONS_PREFIX = "user_sessions:";
+    private static final String LEGACY_BLACKLIST_PREFIX = "blacklist:";
+    private static final String REVOKED_PREFIX = "revoked:";
+    private static final String REVOCATION_CHANNEL = "token_revocations";
+    private static final String SESSION_INVALIDATION_CHANNEL = "session_invalidations";
+    private static final String REVOCATION_EPOCH_PREFIX = "revocation_epoch:";
+    private static final String REVOCATION_EPOCH_CHANNEL = "revocation_epochs";
+    // Epochs were once stored in epoch seconds; no epoch in milliseconds since 1973 is below this.
+    private static final long LEGACY_EPOCH_SECONDS_LIMIT = 100_000_000_000L;
+    private static final int SCAN_BATCH_SIZE = 1000;
+    private static final String LEGACY_USER_SESSIONS_PREFIX = "user_sessions:";
+    private static final String USER_SESSION_INDEX_PREFIX = "user_session_index:";
     private static final String REFRESH_TOKEN_PREFIX = "refresh:";
+    private static final String SESSION_ACCESS_PREFIX = "session_access:";
+    private static final byte[] REQUEST_COUNT_FIELD = "requestCount".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LAST_ACCESS_FIELD = "lastAccess".getBytes(StandardCharsets.UTF_8);
+
+    // Shared by the index scripts. KEYS[1] is the user's session index (ZSET of session ids scored by expiry in
+    // epoch millis), KEYS[2] the legacy user_sessions SET. ARGV[1] is now in epoch millis and ARGV[2] the user's
+    // session key prefix. String arguments and members arrive JSON-encoded through the value serializer.
+    private static final String INDEX_FUNCTIONS = """
+            local function unquote(value)
+                return string.sub(value, 2, -2)
+            end
+            local function migrate()
+                if redis.call('EXISTS', KEYS[2]) == 0 then
+                    return
+                end
+                local prefix = unquote(ARGV[2])
+                for _, member in ipairs(redis.call('SMEMBERS', KEYS[2])) do
+                    local ttl = redis.call('PTTL', prefix .. unquote(member))
+                    if ttl > 0 then
+                        redis.call('ZADD', KEYS[1], tonumber(ARGV[1]) + ttl, member)
+                    end
+                end
+                redis.call('DEL', KEYS[2])
+            end
+            local function touch()
+                local last = redis.call('ZRANGE', KEYS[1], -1, -1, 'WITHSCORES')
+                if last[2] then
+                    redis.call('PEXPIREAT', KEYS[1], last[2])
+                end
+            end
+            local function prune()
+                migrate()
+                redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])
+                touch()
+            end
+            """;
+
+    // KEYS[3]: session, KEYS[4]: optional refresh mapping
+    // ARGV[3..8]: session, session id, ttl seconds, refresh ttl seconds, session key, expiry millis
+    private static final RedisScript<Long> SAVE_SCRIPT = RedisScript.of(INDEX_FUNCTIONS + """
+            redis.call('SET', KEYS[3], ARGV[3], 'EX', ARGV[5])
+            prune()
+            redis.call('ZADD', KEYS[1], ARGV[8], ARGV[4])
+            touch()
+            if KEYS[4] then
+                redis.call('SET', KEYS[4], ARGV[7], 'EX', ARGV[6])
+            end
+            return 1
+            """, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ACTIVE_SESSIONS_SCRIPT = RedisScript.of(INDEX_FUNCTIONS + """
+            prune()
+            return redis.call('ZRANGE', KEYS[1], 0, -1)
+            """, List.class);
+
+    // ARGV[3]: maximum sessions to keep after the caller adds one; returns the evicted session ids
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> EVICT_SCRIPT = RedisScript.of(INDEX_FUNCTIONS + """
+            prune()
+            local excess = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[3]) + 1
+            if excess <= 0 then
+                return {}
+            end
+            local popped = redis.call('ZPOPMIN', KEYS[1], excess)
+            local evicted = {}
+            for i = 1, #popped, 2 do
+                evicted[#evicted + 1] = popped[i]
+            end
+            return evicted
+            """, List.class);
+
+    // KEYS: session, session access, user session index, legacy user sessions, [refresh]
+    // ARGV: session id, session key
+    private static final RedisScript<Long> DELETE_SCRIPT = RedisScript.of("""
+            local deleted = redis.call('DEL', KEYS[1], KEYS[2])
+            redis.call('ZREM', KEYS[3], ARGV[1])
+            redis.call('SREM', KEYS[4], ARGV[1])
+            if KEYS[5] then
+                local target = redis.call('GET', KEYS[5])
+                if target == ARGV[2] or target == ARGV[1] then
+                    redis.call('DEL', KEYS[5])
+                end
+            end
+            return deleted
+            """, Long.class);
     
     private final RedisTemplate<String, Object> redisTemplate;
 
@@ -40,25 +147,27 @@ public class SessionRedisRepository {
         }
         
         String key = buildSessionKey(session.getTenantId(), session.getUserId(), session.getSessionId());
-        Duration ttl = Duration.between(java.time.Instant.now(), session.getExpiresAt());
+        Duration ttl = Duration.between(Instant.now(), session.getExpiresAt());
         
         if (ttl.isNegative() || ttl.isZero()) {
             LOGGER.warn("Session TTL is negative or zero, using minimum TTL of 1 minute");
             ttl = Duration.ofMinutes(1);
         }
         
-        redisTemplate.opsForValue().set(key, session, ttl.toMinutes(), TimeUnit.MINUTES);
-        
-        String userSessionsKey = buildUserSessionsKey(session.getTenantId(), session.getUserId());
-        redisTemplate.opsForSet().add(userSessionsKey, session.getSessionId());
-        redisTemplate.expire(userSessionsKey, ttl.toMinutes(), TimeUnit.MINUTES);
-        
+        List<String> keys = indexKeys(session.getTenantId(), session.getUserId());
+        keys.add(key);
+        long refreshTtlSeconds = 0;
         if (session.getRefreshToken() != null && session.getRefreshTokenExpiresAt() != null) {
-            String refreshKey = REFRESH_TOKEN_PREFIX + session.getRefreshToken();
-            Duration refreshTtl = Duration.between(java.time.Instant.now(), session.getRefreshTokenExpiresAt());
-            long refreshTtlMinutes = refreshTtl.isNegative() || refreshTtl.isZero() ? 1 : refreshTtl.toMinutes();
-            redisTemplate.opsForValue().set(refreshKey, session.getSessionId(), refreshTtlMinutes, TimeUnit.MINUTES);
+            keys.add(REFRESH_TOKEN_PREFIX + session.getRefreshToken());
+            Duration refreshTtl = Duration.between(Instant.now(), session.getRefreshTokenExpiresAt());
+            refreshTtlSeconds = refreshTtl.isNegative() || refreshTtl.isZero() ? 60L : refreshTtl.toSeconds();
         }
+        
+        long now = System.currentTimeMillis();
+        long ttlSeconds = Math.max(1L, ttl.toSeconds());
+        redisTemplate.execute(SAVE_SCRIPT, keys, now, buildSessionKeyPrefix(session.getTenantId(), session.getUserId()),
+                session, session.getSessionId(), ttlSeconds, Math.max(1L, refreshTtlSeconds), key,
+                now + ttlSeconds * 1000);
     }
 
     @CircuitBreaker(name = "sessionRepository", fallbackMethod = "findBySessionIdFallback")
@@ -68,55 +177,151 @@ public class SessionRedisRepository {
     }
 
     public List<SessionData> findAllByUser(UUID tenantId, UUID userId) {
-        String userSessionsKey = buildUserSessionsKey(tenantId, userId);
-        Set<Object> sessionIds = redisTemplate.opsForSet().members(userSessionsKey);
+        List<?> sessionIds = redisTemplate.execute(ACTIVE_SESSIONS_SCRIPT, indexKeys(tenantId, userId),
+                System.currentTimeMillis(), buildSessionKeyPrefix(tenantId, userId));
         
-        if (sessionIds == null) {
+        if (sessionIds == null || sessionIds.isEmpty()) {
             return new ArrayList<>();
         }
         
-        return sessionIds.stream()
-                .map(id -> findBySessionId(tenantId, userId, id.toString()))
-                .filter(Objects::nonNull)
-                .toList();
+        return loadSessions(tenantId, userId, sessionIds.stream().map(Object::toString).toList());
+    }
+
+    public void recordAccess(Collection<SessionAccess> accesses) {
+        if (accesses.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (SessionAccess access : accesses) {
+                byte[] key = serialize(buildSessionAccessKey(access.tenantId(), access.userId(), access.sessionId()));
+                long ttlSeconds = access.expiresAt() != null
+                        ? Math.max(60L, (access.expiresAt().toEpochMilli() - now) / 1000)
+                        : Duration.ofHours(1).toSeconds();
+                connection.hashCommands().hIncrBy(key, REQUEST_COUNT_FIELD, access.requestCount());
+                connection.hashCommands().hSet(key, LAST_ACCESS_FIELD, serialize(Long.toString(access.lastAccess().toEpochMilli())));
+                connection.keyCommands().expire(key, ttlSeconds);
+            }
+            return null;
+        });
     }
 
     public long countActiveSessions(UUID tenantId, UUID userId) {
-        String userSessionsKey = buildUserSessionsKey(tenantId, userId);
-        Long count = redisTemplate.opsForSet().size(userSessionsKey);
+        Long count = redisTemplate.opsForZSet().count(buildUserSessionIndexKey(tenantId, userId),
+                System.currentTimeMillis(), Double.POSITIVE_INFINITY);
         return count != null ? count : 0;
     }
 
-    public SessionData findOldestSession(UUID tenantId, UUID userId) {
-        List<SessionData> sessions = findAllByUser(tenantId, userId);
-        return sessions.stream()
-                .min((s1, s2) -> s1.getCreatedAt().compareTo(s2.getCreatedAt()))
-                .orElse(null);
+    public List<String> evictExcessSessions(UUID tenantId, UUID userId, int maxSessions) {
+        List<?> evicted = redisTemplate.execute(EVICT_SCRIPT, indexKeys(tenantId, userId),
+                System.currentTimeMillis(), buildSessionKeyPrefix(tenantId, userId), maxSessions);
+        return evicted != null ? evicted.stream().map(Object::toString).toList() : List.of();
     }
 
     public void delete(UUID tenantId, UUID userId, String sessionId) {
-        String key = buildSessionKey(tenantId, userId, sessionId);
-        SessionData session = (SessionData) redisTemplate.opsForValue().get(key);
-        
-        redisTemplate.delete(key);
-        
-        String userSessionsKey = buildUserSessionsKey(tenantId, userId);
-        redisTemplate.opsForSet().remove(userSessionsKey, sessionId);
-        
-        if (session != null && session.getRefreshToken() != null) {
-            String refreshKey = REFRESH_TOKEN_PREFIX + session.getRefreshToken();
-            redisTemplate.delete(refreshKey);
+        SessionData session = (SessionData) redisTemplate.opsForValue().get(buildSessionKey(tenantId, userId, sessionId));
+        delete(tenantId, userId, sessionId, session != null ? session.getRefreshToken() : null);
+    }
+
+    public void delete(SessionData session) {
+        delete(session.getTenantId(), session.getUserId(), session.getSessionId(), session.getRefreshToken());
+    }
+
+    private void delete(UUID tenantId, UUID userId, String sessionId, String refreshToken) {
+        String sessionKey = buildSessionKey(tenantId, userId, sessionId);
+        List<String> keys = new ArrayList<>(5);
+        keys.add(sessionKey);
+        keys.add(buildSessionAccessKey(tenantId, userId, sessionId));
+        keys.add(buildUserSessionIndexKey(tenantId, userId));
+        keys.add(buildLegacyUserSessionsKey(tenantId, userId));
+        if (refreshToken != null) {
+            keys.add(REFRESH_TOKEN_PREFIX + refreshToken);
+        }
+        redisTemplate.execute(DELETE_SCRIPT, keys, sessionId, sessionKey);
+    }
+
+    public void revokeToken(String tokenDigest, Duration ttl) {
+        long ttlSeconds = Math.max(1L, ttl.toSeconds());
+        redisTemplate.opsForValue().set(REVOKED_PREFIX + tokenDigest, 1, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public boolean isTokenRevoked(String tokenDigest) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(REVOKED_PREFIX + tokenDigest));
+    }
+
+    public void publishRevocation(String tokenDigest) {
+        redisTemplate.convertAndSend(REVOCATION_CHANNEL, tokenDigest);
+    }
+
+    public void saveRevocationEpoch(String scope, RevocationEpoch epoch, Duration ttl) {
+        String value = epoch.revokedBefore().toEpochMilli()
+                + (epoch.exemptSessionId() != null ? ":" + epoch.exemptSessionId() : "");
+        redisTemplate.opsForValue().set(REVOCATION_EPOCH_PREFIX + scope, value, Math.max(1L, ttl.toSeconds()), TimeUnit.SECONDS);
+    }
+
+    public RevocationEpoch findRevocationEpoch(String scope) {
+        Object value = redisTemplate.opsForValue().get(REVOCATION_EPOCH_PREFIX + scope);
+        if (value == null) {
+            return RevocationEpoch.NONE;
         }
+        String[] parts = value.toString().split(":", 2);
+        long revokedBefore = Long.parseLong(parts[0]);
+        return new RevocationEpoch(
+                revokedBefore < LEGACY_EPOCH_SECONDS_LIMIT
+                        ? Instant.ofEpochSecond(revokedBefore)
+                        : Instant.ofEpochMilli(revokedBefore),
+                parts.length > 1 ? parts[1] : null);
     }
 
-    public void blacklistToken(String token, Duration ttl) {
-        String key = BLACKLIST_PREFIX + token;
-        redisTemplate.opsForValue().set(key, "blacklisted", ttl.toMinutes(), TimeUnit.MINUTES);
+    public void publishRevocationEpoch(String scope) {
+        redisTemplate.convertAndSend(REVOCATION_EPOCH_CHANNEL, scope);
     }
 
-    public boolean isTokenBlacklisted(String token) {
-        String key = BLACKLIST_PREFIX + token;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+    public void publishSessionInvalidation(String sessionKey) {
+        redisTemplate.convertAndSend(SESSION_INVALIDATION_CHANNEL, sessionKey);
+    }
+
+    public String readMessage(Message message) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        return body != null ? body.toString() : null;
+    }
+
+    public ChannelTopic revocationTopic() {
+        return new ChannelTopic(REVOCATION_CHANNEL);
+    }
+
+    public ChannelTopic sessionInvalidationTopic() {
+        return new ChannelTopic(SESSION_INVALIDATION_CHANNEL);
+    }
+
+    public ChannelTopic revocationEpochTopic() {
+        return new ChannelTopic(REVOCATION_EPOCH_CHANNEL);
+    }
+
+    public void scanRevokedTokens(Consumer<String> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().match(REVOKED_PREFIX + "*").count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(key -> consumer.accept(key.substring(REVOKED_PREFIX.length())));
+        }
+    }
+
+    public int migrateLegacyBlacklist() {
+        ScanOptions options = ScanOptions.scanOptions().match(LEGACY_BLACKLIST_PREFIX + "*").count(SCAN_BATCH_SIZE).build();
+        int migrated = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                Long ttlSeconds = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+                if (ttlSeconds != null && ttlSeconds > 0) {
+                    String tokenDigest = TokenDigest.of(key.substring(LEGACY_BLACKLIST_PREFIX.length()));
+                    revokeToken(tokenDigest, Duration.ofSeconds(ttlSeconds));
+                    migrated++;
+                }
+                redisTemplate.delete(key);
+            }
+        }
+        return migrated;
     }
 
     public SessionData findByRefreshToken(String refreshToken) {
@@ -125,24 +330,22 @@ public class SessionRedisRepository {
         }
         
         String refreshKey = REFRESH_TOKEN_PREFIX + refreshToken;
-        String sessionId = (String) redisTemplate.opsForValue().get(refreshKey);
+        String target = (String) redisTemplate.opsForValue().get(refreshKey);
         
-        if (sessionId == null || sessionId.isEmpty()) {
+        if (target == null || target.isEmpty()) {
             return null;
         }
         
-        // Use SCAN instead of KEYS for better performance in production
-        Set<String> keys = redisTemplate.keys(SESSION_PREFIX + "*:" + sessionId);
-        if (keys == null || keys.isEmpty()) {
+        String sessionKey = target.startsWith(SESSION_PREFIX) ? target : findLegacySessionKey(target);
+        if (sessionKey == null) {
             return null;
         }
         
-        String firstKey = keys.iterator().next();
-        if (firstKey == null) {
+        SessionData session = (SessionData) redisTemplate.opsForValue().get(sessionKey);
+        if (session == null || !refreshToken.equals(session.getRefreshToken())) {
             return null;
         }
-        
-        return (SessionData) redisTemplate.opsForValue().get(firstKey);
+        return session;
     }
 
     public void update(SessionData session) {
@@ -161,12 +364,89 @@ public class SessionRedisRepository {
         return null;
     }
 
+    private String findLegacySessionKey(String sessionId) {
+        ScanOptions options = ScanOptions.scanOptions().match(SESSION_PREFIX + "*:" + sessionId).count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            return cursor.hasNext() ? cursor.next() : null;
+        }
+    }
+
     private String buildSessionKey(UUID tenantId, UUID userId, String sessionId) {
-        return SESSION_PREFIX + tenantId + ":" + userId + ":" + sessionId;
+        return buildSessionKeyPrefix(tenantId, userId) + sessionId;
+    }
+
+    private List<SessionData> loadSessions(UUID tenantId, UUID userId, List<String> sessionIds) {
+        RedisSerializer<?> valueSerializer = redisTemplate.getValueSerializer();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[][] sessionKeys = new byte[sessionIds.size()][];
+            for (int i = 0; i < sessionIds.size(); i++) {
+                sessionKeys[i] = serialize(buildSessionKey(tenantId, userId, sessionIds.get(i)));
+            }
+            connection.stringCommands().mGet(sessionKeys);
+            for (String sessionId : sessionIds) {
+                connection.hashCommands().hMGet(serialize(buildSessionAccessKey(tenantId, userId, sessionId)),
+                        REQUEST_COUNT_FIELD, LAST_ACCESS_FIELD);
+            }
+            return null;
+        }, null);
+        if (results == null || results.isEmpty() || !(results.get(0) instanceof List<?> values)) {
+            return new ArrayList<>();
+        }
+
+        List<SessionData> sessions = new ArrayList<>(sessionIds.size());
+        for (int i = 0; i < values.size(); i++) {
+            if (!(values.get(i) instanceof byte[] raw)
+                    || !(valueSerializer.deserialize(raw) instanceof SessionData session)) {
+                continue;
+            }
+            if (results.size() > i + 1 && results.get(i + 1) instanceof List<?> fields) {
+                applyAccessStats(session, fields);
+            }
+            sessions.add(session);
+        }
+        return sessions;
     }
 
-    private String buildUserSessionsKey(UUID tenantId, UUID userId) {
-        return USER_SESSIONS_PREFIX + tenantId + ":" + userId;
+    private void applyAccessStats(SessionData session, List<?> fields) {
+        if (fields.size() < 2) {
+            return;
+        }
+        if (fields.get(0) instanceof byte[] requestCount) {
+            session.setRequestCount(session.getRequestCount() + Long.parseLong(new String(requestCount, StandardCharsets.UTF_8)));
+        }
+        if (fields.get(1) instanceof byte[] lastAccessMillis) {
+            Instant lastAccess = Instant.ofEpochMilli(Long.parseLong(new String(lastAccessMillis, StandardCharsets.UTF_8)));
+            if (session.getLastAccess() == null || lastAccess.isAfter(session.getLastAccess())) {
+                session.setLastAccess(lastAccess);
+                session.setLastRequestTime(lastAccess);
+            }
+        }
+    }
+
+    private static byte[] serialize(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String buildSessionAccessKey(UUID tenantId, UUID userId, String sessionId) {
+        return SESSION_ACCESS_PREFIX + tenantId + ":" + userId + ":" + sessionId;
+    }
+
+    private List<String> indexKeys(UUID tenantId, UUID userId) {
+        List<String> keys = new ArrayList<>(4);
+        keys.add(buildUserSessionIndexKey(tenantId, userId));
+        keys.add(buildLegacyUserSessionsKey(tenantId, userId));
+        return keys;
+    }
+
+    private String buildSessionKeyPrefix(UUID tenantId, UUID userId) {
+        return SESSION_PREFIX + tenantId + ":" + userId + ":";
     }
-}
 
+    private String buildUserSessionIndexKey(UUID tenantId, UUID userId) {
+        return USER_SESSION_INDEX_PREFIX + tenantId + ":" + userId;
+    }
+
+    private String buildLegacyUserSessionsKey(UUID tenantId, UUID userId) {
+        return LEGACY_USER_SESSIONS_PREFIX + tenantId + ":" + userId;
+    }
+}
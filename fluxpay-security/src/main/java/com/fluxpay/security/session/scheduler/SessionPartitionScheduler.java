@@ -0,0 +1,65 @@
+package com.fluxpay.security.session.scheduler;
+
+import com.fluxpay.security.session.config.SessionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Component
+public class SessionPartitionScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionPartitionScheduler.class);
+
+    static final List<String> PARTITIONED_TABLES = List.of("session_audit_logs", "session_events");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionProperties sessionProperties;
+    private final MeterRegistry meterRegistry;
+
+    public SessionPartitionScheduler(JdbcTemplate jdbcTemplate, SessionProperties sessionProperties,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionProperties = sessionProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(
+            initialDelayString = "${SESSION_PARTITION_MAINTENANCE_DELAY_MS:0}",
+            fixedDelayString = "${SESSION_PARTITION_MAINTENANCE_INTERVAL_MS:3600000}")
+    public void maintainPartitions() {
+        maintainPartitions(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    void maintainPartitions(LocalDate today) {
+        SessionProperties.Audit audit = sessionProperties.getAudit();
+        LocalDate firstMonth = today.withDayOfMonth(1);
+        LocalDate cutoff = today.minusDays(audit.getRetentionDays());
+
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                for (int i = 0; i <= audit.getPartitionsAhead(); i++) {
+                    jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?)", Object.class,
+                            table, Date.valueOf(firstMonth.plusMonths(i)));
+                }
+                Integer dropped = jdbcTemplate.queryForObject("SELECT drop_monthly_partitions_before(?, ?)", Integer.class,
+                        table, Date.valueOf(cutoff));
+                if (dropped != null && dropped > 0) {
+                    LOGGER.info("Dropped {} {} partitions older than {}", dropped, table, cutoff);
+                }
+            } catch (Exception e) {
+                // Rows for a missing month still land in the default partition, but they pile up there until this
+                // succeeds, so a failure has to be visible.
+                meterRegistry.counter("session.partition.maintenance.failed", "table", table).increment();
+                LOGGER.error("Partition maintenance failed for {}", table, e);
+            }
+        }
+    }
+}
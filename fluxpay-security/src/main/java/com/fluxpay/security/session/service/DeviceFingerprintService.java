@@ -1,7 +1,11 @@
 package com.fluxpay.security.session.service;
 
 import com.fluxpay.security.session.model.DeviceInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import ua_parser.Client;
 import ua_parser.Parser;
@@ -14,30 +18,51 @@ import java.util.Base64;
 @Service
 public class DeviceFingerprintService {
 
+    public static final String FINGERPRINT_ATTRIBUTE = DeviceFingerprintService.class.getName() + ".fingerprint";
+
+    private static final byte[] SEPARATOR = {'|'};
+    // Cloned per call: request threads may be virtual and never reused, so a thread-local digest would not be either.
+    private static final MessageDigest SHA_256;
+
+    static {
+        try {
+            SHA_256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     private final Parser uaParser;
+    private final Cache<String, ParsedAgent> parsedAgents;
 
     public DeviceFingerprintService() {
+        this(10_000L);
+    }
+
+    @Autowired
+    public DeviceFingerprintService(@Value("${USER_AGENT_CACHE_MAX_SIZE:10000}") long cacheMaxSize) {
         this.uaParser = new Parser();
+        this.parsedAgents = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .build();
     }
 
     public String generateFingerprint(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        String acceptLanguage = request.getHeader("Accept-Language");
-        String acceptEncoding = request.getHeader("Accept-Encoding");
-        
-        String rawFingerprint = String.join("|", 
-                userAgent != null ? userAgent : "",
-                acceptLanguage != null ? acceptLanguage : "",
-                acceptEncoding != null ? acceptEncoding : ""
-        );
-        
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(rawFingerprint.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            return rawFingerprint;
+        Object cached = request.getAttribute(FINGERPRINT_ATTRIBUTE);
+        if (cached instanceof String fingerprint) {
+            return fingerprint;
         }
+
+        MessageDigest digest = newDigest();
+        updateHeader(digest, request.getHeader("User-Agent"));
+        digest.update(SEPARATOR);
+        updateHeader(digest, request.getHeader("Accept-Language"));
+        digest.update(SEPARATOR);
+        updateHeader(digest, request.getHeader("Accept-Encoding"));
+        String fingerprint = Base64.getEncoder().encodeToString(digest.digest());
+
+        request.setAttribute(FINGERPRINT_ATTRIBUTE, fingerprint);
+        return fingerprint;
     }
 
     public DeviceInfo extractDeviceInfo(HttpServletRequest request) {
@@ -47,18 +72,42 @@ public class DeviceFingerprintService {
             return DeviceInfo.builder().build();
         }
         
-        Client client = uaParser.parse(userAgent);
+        ParsedAgent agent = parsedAgents.get(userAgent, this::parse);
         
         return DeviceInfo.builder()
                 .deviceId(generateFingerprint(request))
-                .deviceType(determineDeviceType(userAgent))
-                .os(client.os.family)
-                .osVersion(client.os.major != null ? client.os.major : "")
-                .browser(client.userAgent.family)
-                .browserVersion(client.userAgent.major != null ? client.userAgent.major : "")
+                .deviceType(agent.deviceType())
+                .os(agent.os())
+                .osVersion(agent.osVersion())
+                .browser(agent.browser())
+                .browserVersion(agent.browserVersion())
                 .build();
     }
 
+    private ParsedAgent parse(String userAgent) {
+        Client client = uaParser.parse(userAgent);
+        return new ParsedAgent(
+                determineDeviceType(userAgent),
+                client.os.family,
+                client.os.major != null ? client.os.major : "",
+                client.userAgent.family,
+                client.userAgent.major != null ? client.userAgent.major : "");
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return (MessageDigest) SHA_256.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest is not cloneable", e);
+        }
+    }
+
+    private static void updateHeader(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
     private String determineDeviceType(String userAgent) {
         String ua = userAgent.toLowerCase();
         if (ua.contains("mobile") || ua.contains("android") || ua.contains("iphone")) {
@@ -98,5 +147,7 @@ public class DeviceFingerprintService {
         
         return request.getRemoteAddr();
     }
-}
 
+    private record ParsedAgent(String deviceType, String os, String osVersion, String browser, String browserVersion) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.security.concurrent.BlockingLoads;
+import com.fluxpay.security.session.model.DeviceInfo;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+@Service
+public class DeviceRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceRegistry.class);
+
+    // The no-op update makes RETURNING yield the existing id when another node registered the device first.
+    private static final String UPSERT_SQL = """
+            INSERT INTO devices (fingerprint, device_type, device_name, os, os_version, browser, browser_version)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (fingerprint) DO UPDATE SET fingerprint = EXCLUDED.fingerprint
+            RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AsyncCache<String, UUID> devices;
+
+    public DeviceRegistry(
+            JdbcTemplate jdbcTemplate,
+            @Value("${DEVICE_REGISTRY_CACHE_MAX_SIZE:100000}") long maxSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.devices = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .executor(BlockingLoads.EXECUTOR)
+                .buildAsync();
+    }
+
+    public UUID resolve(DeviceInfo deviceInfo) {
+        if (deviceInfo == null || deviceInfo.getDeviceId() == null) {
+            return null;
+        }
+        try {
+            return BlockingLoads.join(devices.get(deviceInfo.getDeviceId(), fingerprint -> register(fingerprint, deviceInfo)));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to register device {}: {}", deviceInfo.getDeviceId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private UUID register(String fingerprint, DeviceInfo deviceInfo) {
+        return jdbcTemplate.queryForObject(UPSERT_SQL, UUID.class,
+                fingerprint,
+                deviceInfo.getDeviceType(),
+                deviceInfo.getDeviceName(),
+                deviceInfo.getOs(),
+                deviceInfo.getOsVersion(),
+                deviceInfo.getBrowser(),
+                deviceInfo.getBrowserVersion());
+    }
+}
@@ -0,0 +1,86 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.common.exception.RateLimitExceededException;
+import com.fluxpay.security.session.config.SessionProperties;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Counts failed sign-ins per account and per client IP. Once either reaches its limit, further attempts are refused
+// before any password is hashed, until the counter expires one lockout period after the first failure it counted.
+@Service
+public class LoginThrottleService {
+
+    private static final String ACCOUNT_PREFIX = "login_failures:account:";
+    private static final String IP_PREFIX = "login_failures:ip:";
+
+    // The TTL is set in the same script as the INCR, so a counter can never be left without one, and only when the
+    // counter starts, so later failures do not push the lockout further out.
+    private static final RedisScript<Long> INCREMENT_SCRIPT = RedisScript.of("""
+            local count = redis.call('INCR', KEYS[1])
+            if count == 1 or redis.call('PTTL', KEYS[1]) < 0 then
+              redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            end
+            return count
+            """, Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SessionProperties sessionProperties;
+
+    public LoginThrottleService(RedisTemplate<String, Object> redisTemplate, SessionProperties sessionProperties) {
+        this.redisTemplate = redisTemplate;
+        this.sessionProperties = sessionProperties;
+    }
+
+    public void checkAllowed(String email, String ipAddress) {
+        SessionProperties.Login login = sessionProperties.getLogin();
+        List<String> keys = new ArrayList<>(2);
+        keys.add(accountKey(email));
+        if (ipAddress != null) {
+            keys.add(IP_PREFIX + ipAddress);
+        }
+
+        List<Object> counts = redisTemplate.opsForValue().multiGet(keys);
+        if (counts == null) {
+            return;
+        }
+        if (toInt(counts.get(0)) >= login.getMaxAccountFailures()
+                || (counts.size() > 1 && toInt(counts.get(1)) >= login.getMaxIpFailures())) {
+            throw new RateLimitExceededException("Too many failed sign-in attempts, try again later");
+        }
+    }
+
+    public int recordFailure(String email, String ipAddress) {
+        int failures = increment(accountKey(email));
+        if (ipAddress != null) {
+            increment(IP_PREFIX + ipAddress);
+        }
+        return failures;
+    }
+
+    // Clears the account's counter and returns how many attempts failed before this success.
+    public int recordSuccess(String email) {
+        return toInt(redisTemplate.opsForValue().getAndDelete(accountKey(email)));
+    }
+
+    private int increment(String key) {
+        Long count = redisTemplate.execute(INCREMENT_SCRIPT, List.of(key),
+                sessionProperties.getLogin().getLockout().toMillis());
+        return count != null ? count.intValue() : 0;
+    }
+
+    private static String accountKey(String email) {
+        return ACCOUNT_PREFIX + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int toInt(Object value) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        return value != null ? Integer.parseInt(value.toString()) : 0;
+    }
+}
@@ -1,42 +1,144 @@
 package com.fluxpay.security.session.service;
 
+import com.fluxpay.security.session.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class RateLimitService {
 
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // GCRA: the key holds the theoretical arrival time (TAT) in microseconds. Grants up to ARGV[3] permits
+    // that fit within the window and returns how many were granted.
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local interval = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local tat = tonumber(redis.call('GET', KEYS[1])) or now
+            if tat < now then
+              tat = now
+            end
+            local granted = math.min(tonumber(ARGV[3]), math.floor((now + window - tat) / interval))
+            if granted <= 0 then
+              return 0
+            end
+            tat = tat + granted * interval
+            redis.call('SET', KEYS[1], string.format('%d', tat), 'PX', math.ceil((tat - now) / 1000))
+            return granted
+            """, Long.class);
+
+    private static final RedisScript<Long> REFUND_SCRIPT = RedisScript.of("""
+            local tat = tonumber(redis.call('GET', KEYS[1]))
+            if not tat then
+              return 0
+            end
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            tat = tat - tonumber(ARGV[1]) * tonumber(ARGV[2])
+            if tat <= now then
+              redis.call('DEL', KEYS[1])
+            else
+              redis.call('SET', KEYS[1], string.format('%d', tat), 'PX', math.ceil((tat - now) / 1000))
+            end
+            return 1
+            """, Long.class);
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RateLimitProperties properties;
+    private final Cache<String, Lease> leases;
 
-    public RateLimitService(RedisTemplate<String, Object> redisTemplate) {
+    public RateLimitService(
+            RedisTemplate<String, Object> redisTemplate,
+            RateLimitProperties properties,
+            @Value("${RATE_LIMIT_LEASE_CACHE_MAX_SIZE:100000}") long leaseCacheMaxSize) {
         this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.leases = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getLease().getTtl())
+                .maximumSize(leaseCacheMaxSize)
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String key, Lease lease, RemovalCause cause) -> {
+                    if (key != null && lease != null) {
+                        refund(key, lease);
+                    }
+                })
+                .build();
     }
 
     public boolean isRateLimited(String identifier, String operation) {
-        String key = "ratelimit:" + operation + ":" + identifier;
-        Long count = redisTemplate.opsForValue().increment(key);
-        long countValue = (count != null ? count : 0L);
-        
-        if (countValue == 1L) {
-            redisTemplate.expire(key, getRateLimitWindow(), TimeUnit.SECONDS);
-        }
-        
-        return countValue > getRateLimit(operation);
+        return isRateLimited(identifier, operation, properties.limitFor(operation));
     }
 
-    private int getRateLimit(String operation) {
-        return switch (operation) {
-            case "session_creation" -> 5;
-            case "session_requests" -> 1000;
-            default -> 100;
-        };
+    public boolean isTenantRateLimited(UUID tenantId, String tier) {
+        return isRateLimited(tenantId.toString(), "tenant_requests", properties.limitForTier(tier));
     }
 
-    private long getRateLimitWindow() {
-        return Duration.ofMinutes(1).getSeconds();
+    public boolean isRateLimited(String identifier, String operation, int limit) {
+        return isRateLimited(identifier, operation, limit, properties.getWindow());
     }
-}
 
+    public boolean isRateLimited(String identifier, String operation, int limit, Duration window) {
+        if (limit <= 0) {
+            return true;
+        }
+
+        String key = KEY_PREFIX + operation + ":" + identifier;
+        Lease lease = leases.getIfPresent(key);
+        if (lease != null && lease.tryAcquire()) {
+            return false;
+        }
+
+        long windowMicros = window.toNanos() / 1000;
+        long intervalMicros = Math.max(1L, windowMicros / limit);
+        int leaseSize = Math.max(1, Math.min(limit / properties.getLease().getDivisor(), properties.getLease().getMaxSize()));
+
+        Long granted = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(key), intervalMicros, intervalMicros * limit, leaseSize);
+        if (granted == null || granted <= 0) {
+            return true;
+        }
+        if (granted > 1) {
+            leases.put(key, new Lease(intervalMicros, granted.intValue() - 1));
+        }
+        return false;
+    }
+
+    // Permits left in an expired or replaced lease go back to the shared window, so leasing never
+    // makes a client look busier than it is.
+    private void refund(String key, Lease lease) {
+        int unused = lease.drain();
+        if (unused > 0) {
+            redisTemplate.execute(REFUND_SCRIPT, List.of(key), lease.intervalMicros, unused);
+        }
+    }
+
+    private static final class Lease {
+        private final long intervalMicros;
+        private final AtomicInteger remaining;
+
+        private Lease(long intervalMicros, int permits) {
+            this.intervalMicros = intervalMicros;
+            this.remaining = new AtomicInteger(permits);
+        }
+
+        private boolean tryAcquire() {
+            return remaining.getAndUpdate(r -> r > 0 ? r - 1 : 0) > 0;
+        }
+
+        private int drain() {
+            return remaining.getAndSet(0);
+        }
+    }
+}
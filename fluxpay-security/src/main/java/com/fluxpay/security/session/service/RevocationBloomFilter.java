@@ -0,0 +1,57 @@
+package com.fluxpay.security.session.service;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class RevocationBloomFilter {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    RevocationBloomFilter(int expectedEntries) {
+        long bits = (long) Math.ceil(-Math.max(expectedEntries, 1) * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.max(1L, (bits + 63) >>> 6));
+        this.bitCount = (long) words.length() << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / Math.max(expectedEntries, 1) * Math.log(2)));
+    }
+
+    void add(String digest) {
+        ByteBuffer hash = hash(digest);
+        long h1 = hash.getLong(0);
+        long h2 = hash.getLong(8) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(String digest) {
+        ByteBuffer hash = hash(digest);
+        long h1 = hash.getLong(0);
+        long h2 = hash.getLong(8) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ByteBuffer hash(String digest) {
+        byte[] bytes = Base64.getUrlDecoder().decode(digest);
+        if (bytes.length < 16) {
+            throw new IllegalArgumentException("Digest must be at least 16 bytes");
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+}
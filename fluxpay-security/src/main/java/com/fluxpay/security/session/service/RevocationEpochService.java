@@ -0,0 +1,88 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.security.concurrent.BlockingLoads;
+import com.fluxpay.security.session.config.SessionProperties;
+import com.fluxpay.security.session.model.RevocationEpoch;
+import com.fluxpay.security.session.model.SessionData;
+import com.fluxpay.security.session.repository.SessionRedisRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+@Service
+public class RevocationEpochService {
+
+    private final SessionRedisRepository sessionRepository;
+    private final SessionProperties sessionProperties;
+    private final AsyncCache<String, RevocationEpoch> epochs;
+
+    public RevocationEpochService(
+            SessionRedisRepository sessionRepository,
+            SessionProperties sessionProperties,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${REVOCATION_EPOCH_CACHE_TTL_SECONDS:30}") long ttlSeconds,
+            @Value("${REVOCATION_EPOCH_CACHE_MAX_SIZE:100000}") long maxSize) {
+        this.sessionRepository = sessionRepository;
+        this.sessionProperties = sessionProperties;
+        this.epochs = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .executor(BlockingLoads.EXECUTOR)
+                .buildAsync();
+        listenerContainer.addMessageListener(
+                (message, pattern) -> evictLocally(sessionRepository.readMessage(message)),
+                sessionRepository.revocationEpochTopic());
+    }
+
+    public void revokeUserSessions(UUID tenantId, UUID userId, String exemptSessionId) {
+        revoke(userScope(tenantId, userId), exemptSessionId);
+    }
+
+    public void revokeTenantSessions(UUID tenantId) {
+        revoke(tenantScope(tenantId), null);
+    }
+
+    public boolean isRevoked(UUID tenantId, UUID userId, String sessionId, Instant issuedAt) {
+        return epoch(tenantScope(tenantId)).revokes(issuedAt, sessionId)
+                || epoch(userScope(tenantId, userId)).revokes(issuedAt, sessionId);
+    }
+
+    public boolean isRevoked(SessionData session) {
+        return isRevoked(session.getTenantId(), session.getUserId(), session.getSessionId(), session.getCreatedAt());
+    }
+
+    private void revoke(String scope, String exemptSessionId) {
+        // Tokens carry a millisecond issue time, so the epoch only has to cover the current millisecond; a session
+        // signed in right after a revoke-all stays valid.
+        Instant revokedBefore = Instant.now().truncatedTo(ChronoUnit.MILLIS).plusMillis(1);
+        RevocationEpoch epoch = new RevocationEpoch(revokedBefore, exemptSessionId);
+        sessionRepository.saveRevocationEpoch(scope, epoch, sessionProperties.getTtl().getRefreshToken());
+        epochs.synchronous().put(scope, epoch);
+        sessionRepository.publishRevocationEpoch(scope);
+    }
+
+    private RevocationEpoch epoch(String scope) {
+        return BlockingLoads.join(epochs.get(scope, sessionRepository::findRevocationEpoch));
+    }
+
+    private void evictLocally(String scope) {
+        if (scope != null) {
+            epochs.synchronous().invalidate(scope);
+        }
+    }
+
+    private static String tenantScope(UUID tenantId) {
+        return "tenant:" + tenantId;
+    }
+
+    private static String userScope(UUID tenantId, UUID userId) {
+        return "user:" + tenantId + ":" + userId;
+    }
+}
@@ -0,0 +1,103 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.security.concurrent.RetiringCounter;
+import com.fluxpay.security.session.model.SessionAccess;
+import com.fluxpay.security.session.model.SessionData;
+import com.fluxpay.security.session.repository.SessionRedisRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class SessionAccessTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionAccessTracker.class);
+
+    private final SessionRedisRepository sessionRepository;
+    private final Map<String, PendingAccess> pending = new ConcurrentHashMap<>();
+
+    public SessionAccessTracker(SessionRedisRepository sessionRepository) {
+        this.sessionRepository = sessionRepository;
+    }
+
+    public void record(SessionData session, Instant accessedAt) {
+        add(session.getTenantId(), session.getUserId(), session.getSessionId(), 1, accessedAt.toEpochMilli(),
+                session.getExpiresAt(), true);
+    }
+
+    @Scheduled(fixedDelayString = "${SESSION_ACCESS_FLUSH_INTERVAL_MS:5000}")
+    public void flush() {
+        List<SessionAccess> batch = new ArrayList<>();
+        for (String key : pending.keySet()) {
+            PendingAccess access = pending.remove(key);
+            if (access == null) {
+                continue;
+            }
+            long requests = access.requests.retire();
+            if (requests > 0) {
+                batch.add(new SessionAccess(access.tenantId, access.userId, access.sessionId, requests,
+                        Instant.ofEpochMilli(access.lastAccess.get()), access.expiresAt));
+            }
+        }
+
+        try {
+            sessionRepository.recordAccess(batch);
+        } catch (Exception e) {
+            for (SessionAccess access : batch) {
+                add(access.tenantId(), access.userId(), access.sessionId(), access.requestCount(),
+                        access.lastAccess().toEpochMilli(), access.expiresAt(), false);
+            }
+            LOGGER.warn("Failed to flush access stats for {} sessions: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void add(UUID tenantId, UUID userId, String sessionId, long requests, long lastAccess, Instant expiresAt,
+                     boolean latest) {
+        String key = tenantId + ":" + userId + ":" + sessionId;
+        while (true) {
+            PendingAccess access = pending.computeIfAbsent(key, k -> new PendingAccess(tenantId, userId, sessionId));
+            access.lastAccess.accumulateAndGet(lastAccess, Math::max);
+            if (latest || access.expiresAt == null) {
+                access.expiresAt = expiresAt;
+            }
+            if (access.requests.add(requests)) {
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    int pendingSessions() {
+        return pending.size();
+    }
+
+    private static final class PendingAccess {
+        private final UUID tenantId;
+        private final UUID userId;
+        private final String sessionId;
+        // one stripe: a single session is rarely hit from many threads at once
+        private final RetiringCounter requests = new RetiringCounter(1);
+        private final AtomicLong lastAccess = new AtomicLong();
+        private volatile Instant expiresAt;
+
+        private PendingAccess(UUID tenantId, UUID userId, String sessionId) {
+            this.tenantId = tenantId;
+            this.userId = userId;
+            this.sessionId = sessionId;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.fluxpay.security.session.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fluxpay.security.session.entity.SessionAuditLog;
+import com.fluxpay.security.session.model.DeviceInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class SessionAuditWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionAuditWriter.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO session_audit_logs
+                (id, session_id, user_id, tenant_id, event_type, ip_address, device_id, device_info, details, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK,
+        CALLER_RUNS
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DeviceRegistry deviceRegistry;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<PendingLog> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutMs;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter callerRuns;
+    private final Timer batchTimer;
+    private volatile boolean running;
+    private Thread worker;
+
+    public SessionAuditWriter(
+            JdbcTemplate jdbcTemplate,
+            DeviceRegistry deviceRegistry,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${SESSION_AUDIT_QUEUE_CAPACITY:10000}") int capacity,
+            @Value("${SESSION_AUDIT_OVERFLOW_POLICY:BLOCK}") OverflowPolicy overflowPolicy,
+            @Value("${SESSION_AUDIT_OFFER_TIMEOUT_MS:50}") long offerTimeoutMs,
+            @Value("${SESSION_AUDIT_BATCH_SIZE:500}") int batchSize,
+            @Value("${SESSION_AUDIT_FLUSH_INTERVAL_MS:200}") long flushIntervalMs,
+            @Value("${SESSION_AUDIT_MAX_RETRIES:3}") int maxRetries,
+            @Value("${SESSION_AUDIT_RETRY_BACKOFF_MS:500}") long retryBackoffMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.deviceRegistry = deviceRegistry;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+        this.written = meterRegistry.counter("session.audit.written");
+        this.dropped = meterRegistry.counter("session.audit.dropped");
+        this.failed = meterRegistry.counter("session.audit.failed");
+        this.retried = meterRegistry.counter("session.audit.retried");
+        this.callerRuns = meterRegistry.counter("session.audit.caller_runs");
+        this.batchTimer = meterRegistry.timer("session.audit.batch");
+        meterRegistry.gaugeCollectionSize("session.audit.queue.size", List.of(), queue);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "session-audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void enqueue(SessionAuditLog log, DeviceInfo deviceInfo) {
+        if (log.getCreatedAt() == null) {
+            log.setCreatedAt(Instant.now());
+        }
+        PendingLog pending = new PendingLog(log, deviceInfo);
+        if (queue.offer(pending)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case DROP -> dropped.increment();
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        dropped.increment();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.increment();
+                }
+            }
+            case CALLER_RUNS -> {
+                callerRuns.increment();
+                write(List.of(pending));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        drain();
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    void drain() {
+        List<PendingLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.warn("Session audit writer failed: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Backs off between attempts; an interrupt (shutdown) hands the batch back so the final drain can try it once more
+    private void writeWithRetry(List<PendingLog> batch) {
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 0; !tryWrite(batch); attempt++) {
+            if (attempt >= maxRetries) {
+                failed.increment(batch.size());
+                return;
+            }
+            retried.increment();
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (PendingLog pending : batch) {
+                    if (!queue.offer(pending)) {
+                        failed.increment();
+                    }
+                }
+                return;
+            }
+            backoffMs *= 2;
+        }
+    }
+
+    private void write(List<PendingLog> batch) {
+        if (!tryWrite(batch)) {
+            failed.increment(batch.size());
+        }
+    }
+
+    private boolean tryWrite(List<PendingLog> batch) {
+        try {
+            List<SessionAuditLog> logs = batch.stream().map(this::withDevice).toList();
+            batchTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, logs, logs.size(), (ps, log) -> {
+                Timestamp createdAt = Timestamp.from(log.getCreatedAt());
+                ps.setObject(1, log.getId() != null ? log.getId() : UUID.randomUUID());
+                ps.setString(2, log.getSessionId());
+                ps.setObject(3, log.getUserId());
+                ps.setObject(4, log.getTenantId());
+                ps.setString(5, log.getEventType());
+                ps.setString(6, log.getIpAddress());
+                ps.setObject(7, log.getDeviceId());
+                ps.setString(8, log.getDeviceInfo());
+                ps.setString(9, log.getDetails());
+                ps.setTimestamp(10, createdAt);
+                ps.setTimestamp(11, createdAt);
+            }));
+            written.increment(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to write {} session audit logs: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    // Devices are registered here rather than on the request thread; a device that cannot be registered is stored inline
+    private SessionAuditLog withDevice(PendingLog pending) {
+        SessionAuditLog log = pending.log();
+        DeviceInfo deviceInfo = pending.deviceInfo();
+        if (deviceInfo == null || log.getDeviceId() != null || log.getDeviceInfo() != null) {
+            return log;
+        }
+        UUID deviceId = deviceRegistry.resolve(deviceInfo);
+        if (deviceId != null) {
+            log.setDeviceId(deviceId);
+        } else {
+            log.setDeviceInfo(serialize(deviceInfo));
+        }
+        return log;
+    }
+
+    private String serialize(DeviceInfo deviceInfo) {
+        try {
+            return objectMapper.writeValueAsString(deviceInfo);
+        } catch (JsonProcessingException e) {
+            return deviceInfo.toString();
+        }
+    }
+
+    private record PendingLog(SessionAuditLog log, DeviceInfo deviceInfo) {
+    }
+}
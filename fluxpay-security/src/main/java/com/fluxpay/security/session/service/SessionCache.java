@@ -0,0 +1,68 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.security.session.model.SessionData;
+import com.fluxpay.security.session.repository.SessionRedisRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Component
+public class SessionCache {
+
+    private final SessionRedisRepository sessionRepository;
+    private final Cache<String, SessionData> sessions;
+
+    public SessionCache(
+            SessionRedisRepository sessionRepository,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${SESSION_CACHE_TTL_SECONDS:30}") long ttlSeconds,
+            @Value("${SESSION_CACHE_MAX_SIZE:50000}") long maxSize) {
+        this.sessionRepository = sessionRepository;
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+        listenerContainer.addMessageListener(
+                (message, pattern) -> evictLocally(sessionRepository.readMessage(message)),
+                sessionRepository.sessionInvalidationTopic());
+    }
+
+    // Callers mutate the sessions they get back, so each one receives its own copy
+    public SessionData get(UUID tenantId, UUID userId, String sessionId) {
+        SessionData session = sessions.getIfPresent(key(tenantId, userId, sessionId));
+        return session != null ? session.copy() : null;
+    }
+
+    public void put(SessionData session) {
+        if (session != null && session.getSessionId() != null) {
+            sessions.put(key(session.getTenantId(), session.getUserId(), session.getSessionId()), session.copy());
+        }
+    }
+
+    public void invalidate(UUID tenantId, UUID userId, String sessionId) {
+        String key = key(tenantId, userId, sessionId);
+        sessions.invalidate(key);
+        sessionRepository.publishSessionInvalidation(key);
+    }
+
+    public void invalidate(SessionData session) {
+        if (session != null && session.getSessionId() != null) {
+            invalidate(session.getTenantId(), session.getUserId(), session.getSessionId());
+        }
+    }
+
+    private void evictLocally(String key) {
+        if (key != null) {
+            sessions.invalidate(key);
+        }
+    }
+
+    private static String key(UUID tenantId, UUID userId, String sessionId) {
+        return tenantId + ":" + userId + ":" + sessionId;
+    }
+}
@@ -15,16 +15,22 @@ public class SessionSecurityService {
     private final RateLimitService rateLimitService;
     private final SessionProperties sessionProperties;
     private final SessionAuditService auditService;
+    private final TokenRevocationService tokenRevocationService;
+    private final SessionCache sessionCache;
 
     public SessionSecurityService(
             SessionRedisRepository sessionRepository,
             RateLimitService rateLimitService,
             SessionProperties sessionProperties,
-            SessionAuditService auditService) {
+            SessionAuditService auditService,
+            TokenRevocationService tokenRevocationService,
+            SessionCache sessionCache) {
         this.sessionRepository = sessionRepository;
         this.rateLimitService = rateLimitService;
         this.sessionProperties = sessionProperties;
         this.auditService = auditService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.sessionCache = sessionCache;
     }
 
     public void validateSessionCreation(SessionData session) {
@@ -46,7 +52,8 @@ public class SessionSecurityService {
             return false;
         }
         
-        if (session.getAccessToken() != null && sessionRepository.isTokenBlacklisted(session.getAccessToken())) {
+        if (session.getAccessTokenDigest() != null
+                && tokenRevocationService.isDigestRevoked(session.getAccessTokenDigest())) {
             return false;
         }
         
@@ -75,6 +82,7 @@ public class SessionSecurityService {
         }
         
         sessionRepository.update(session);
+        sessionCache.invalidate(session);
         auditService.logSecurityEvent(session, "SUSPICIOUS_ACTIVITY", reason);
     }
 
@@ -98,6 +106,7 @@ public class SessionSecurityService {
         if (session != null && session.getSecurityFlags() != null) {
             session.getSecurityFlags().setSuspiciousActivity(true);
             sessionRepository.update(session);
+            sessionCache.invalidate(session);
         }
     }
 }
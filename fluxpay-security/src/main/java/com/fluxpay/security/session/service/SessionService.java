@@ -6,7 +6,6 @@ import com.fluxpay.security.jwt.JwtTokenProvider;
 import com.fluxpay.security.session.config.SessionProperties;
 import com.fluxpay.security.session.model.SessionData;
 import com.fluxpay.security.session.repository.SessionRedisRepository;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,18 +24,30 @@ public class SessionService {
     private final SessionAuditService auditService;
     private final SessionProperties sessionProperties;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final SessionCache sessionCache;
+    private final SessionAccessTracker accessTracker;
+    private final RevocationEpochService revocationEpochService;
 
     public SessionService(
             SessionRedisRepository sessionRepository,
             SessionSecurityService securityService,
             SessionAuditService auditService,
             SessionProperties sessionProperties,
-            JwtTokenProvider jwtTokenProvider) {
+            JwtTokenProvider jwtTokenProvider,
+            TokenRevocationService tokenRevocationService,
+            SessionCache sessionCache,
+            SessionAccessTracker accessTracker,
+            RevocationEpochService revocationEpochService) {
         this.sessionRepository = sessionRepository;
         this.securityService = securityService;
         this.auditService = auditService;
         this.sessionProperties = sessionProperties;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationService = tokenRevocationService;
+        this.sessionCache = sessionCache;
+        this.accessTracker = accessTracker;
+        this.revocationEpochService = revocationEpochService;
     }
 
     public SessionData createSession(SessionData sessionData) {
@@ -48,19 +59,23 @@ public class SessionService {
         sessionData.setRefreshTokenExpiresAt(Instant.now().plus(sessionProperties.getTtl().getRefreshToken()));
         
         sessionRepository.save(sessionData);
+        sessionCache.put(sessionData);
         auditService.logSessionCreated(sessionData);
         
         return sessionData;
     }
 
     public SessionData getSession(UUID tenantId, UUID userId, String sessionId) {
-        SessionData session = sessionRepository.findBySessionId(tenantId, userId, sessionId);
-        
+        SessionData session = sessionCache.get(tenantId, userId, sessionId);
         if (session == null) {
-            return null;
+            session = sessionRepository.findBySessionId(tenantId, userId, sessionId);
+            if (session == null) {
+                return null;
+            }
+            sessionCache.put(session);
         }
         
-        if (!securityService.validateSession(session)) {
+        if (!securityService.validateSession(session) || revocationEpochService.isRevoked(session)) {
             invalidateSession(tenantId, userId, sessionId);
             return null;
         }
@@ -68,13 +83,12 @@ public class SessionService {
         return session;
     }
 
-    @Async
     public CompletableFuture<Void> updateLastAccess(SessionData session) {
-        session.setLastAccess(Instant.now());
-        session.setRequestCount(session.getRequestCount() + 1);
-        session.setLastRequestTime(Instant.now());
+        Instant now = Instant.now();
+        session.setLastAccess(now);
+        session.setLastRequestTime(now);
         
-        sessionRepository.update(session);
+        accessTracker.record(session, now);
         
         return CompletableFuture.completedFuture(null);
     }
@@ -83,24 +97,30 @@ public class SessionService {
         SessionData session = sessionRepository.findBySessionId(tenantId, userId, sessionId);
         
         if (session != null) {
-            sessionRepository.delete(tenantId, userId, sessionId);
+            sessionRepository.delete(session);
+            sessionCache.invalidate(tenantId, userId, sessionId);
             blacklistTokens(session);
             auditService.logSessionTerminated(session, "Manual invalidation");
         }
     }
 
     public void invalidateAllUserSessions(UUID tenantId, UUID userId, String excludeSessionId) {
-        List<SessionData> sessions = sessionRepository.findAllByUser(tenantId, userId);
-        
-        sessions.stream()
-                .filter(s -> excludeSessionId == null || !s.getSessionId().equals(excludeSessionId))
-                .forEach(s -> invalidateSession(tenantId, userId, s.getSessionId()));
+        revocationEpochService.revokeUserSessions(tenantId, userId, excludeSessionId);
+        auditService.logSecurityEvent(
+                SessionData.builder()
+                        .tenantId(tenantId)
+                        .userId(userId)
+                        .sessionId(excludeSessionId != null ? excludeSessionId : "*")
+                        .build(),
+                "ALL_SESSIONS_REVOKED",
+                excludeSessionId != null ? "Revoked all sessions except the current one" : "Revoked all sessions");
     }
 
     public SessionData refreshSession(String refreshToken, String deviceFingerprint) {
         SessionData session = sessionRepository.findByRefreshToken(refreshToken);
         
-        if (session == null || session.getRefreshTokenExpiresAt() == null || session.getRefreshTokenExpiresAt().isBefore(Instant.now())) {
+        if (session == null || session.getRefreshTokenExpiresAt() == null || session.getRefreshTokenExpiresAt().isBefore(Instant.now())
+                || revocationEpochService.isRevoked(session)) {
             throw new SessionExpiredException("Refresh token expired or invalid");
         }
         
@@ -110,6 +130,9 @@ public class SessionService {
             throw new SessionInvalidException("Device verification failed");
         }
         
+        String previousAccessTokenDigest = session.getAccessTokenDigest();
+        Instant previousAccessTokenExpiresAt = session.getExpiresAt();
+        
         String newRefreshToken = generateRefreshToken();
         session.setRefreshToken(newRefreshToken);
         session.setRefreshTokenExpiresAt(Instant.now().plus(sessionProperties.getTtl().getRefreshToken()));
@@ -124,28 +147,28 @@ public class SessionService {
         session.setExpiresAt(Instant.now().plus(sessionProperties.getTtl().getAccessToken()));
         
         sessionRepository.update(session);
+        sessionCache.invalidate(session);
+        revokeAccessTokenDigest(previousAccessTokenDigest, previousAccessTokenExpiresAt);
         auditService.logTokenRefreshed(session);
         
         return session;
     }
 
     public List<SessionData> getUserSessions(UUID tenantId, UUID userId) {
-        return sessionRepository.findAllByUser(tenantId, userId);
+        return sessionRepository.findAllByUser(tenantId, userId).stream()
+                .filter(session -> !revocationEpochService.isRevoked(session))
+                .toList();
     }
 
     public boolean isTokenBlacklisted(String token) {
-        return sessionRepository.isTokenBlacklisted(token);
+        return tokenRevocationService.isRevoked(token);
     }
 
     private void enforceConcurrentSessionLimit(UUID tenantId, UUID userId) {
-        long activeSessions = sessionRepository.countActiveSessions(tenantId, userId);
         int maxSessions = sessionProperties.getConcurrent().getMaxSessions();
         
-        if (activeSessions >= maxSessions) {
-            SessionData oldestSession = sessionRepository.findOldestSession(tenantId, userId);
-            if (oldestSession != null) {
-                invalidateSession(tenantId, userId, oldestSession.getSessionId());
-            }
+        for (String sessionId : sessionRepository.evictExcessSessions(tenantId, userId, maxSessions)) {
+            invalidateSession(tenantId, userId, sessionId);
         }
     }
 
@@ -154,17 +177,21 @@ public class SessionService {
             return;
         }
         
-        if (session.getAccessToken() != null && session.getExpiresAt() != null) {
-            Duration accessTokenTtl = Duration.between(Instant.now(), session.getExpiresAt());
-            if (accessTokenTtl.isPositive()) {
-                sessionRepository.blacklistToken(session.getAccessToken(), accessTokenTtl);
-            }
-        }
+        revokeAccessTokenDigest(session.getAccessTokenDigest(), session.getExpiresAt());
         
         if (session.getRefreshToken() != null && session.getRefreshTokenExpiresAt() != null) {
             Duration refreshTokenTtl = Duration.between(Instant.now(), session.getRefreshTokenExpiresAt());
             if (refreshTokenTtl.isPositive()) {
-                sessionRepository.blacklistToken(session.getRefreshToken(), refreshTokenTtl);
+                tokenRevocationService.revoke(session.getRefreshToken(), refreshTokenTtl);
+            }
+        }
+    }
+
+    private void revokeAccessTokenDigest(String accessTokenDigest, Instant expiresAt) {
+        if (accessTokenDigest != null && expiresAt != null) {
+            Duration accessTokenTtl = Duration.between(Instant.now(), expiresAt);
+            if (accessTokenTtl.isPositive()) {
+                tokenRevocationService.revokeDigest(accessTokenDigest, accessTokenTtl);
             }
         }
     }
@@ -0,0 +1,111 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.security.concurrent.BlockingLoads;
+import com.fluxpay.security.jwt.TokenDigest;
+import com.fluxpay.security.session.repository.SessionRedisRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Service
+public class TokenRevocationService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final SessionRedisRepository sessionRepository;
+    private final int expectedRevocations;
+    private final AsyncCache<String, Boolean> revocationStatus;
+    private final AtomicBoolean legacyMigrated = new AtomicBoolean();
+    private volatile RevocationBloomFilter filter;
+    private volatile RevocationBloomFilter rebuilding;
+    private volatile boolean warmed;
+
+    public TokenRevocationService(
+            SessionRedisRepository sessionRepository,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${TOKEN_REVOCATION_EXPECTED_ENTRIES:1000000}") int expectedRevocations,
+            @Value("${TOKEN_REVOCATION_CACHE_MAX_SIZE:10000}") long cacheMaxSize,
+            @Value("${TOKEN_REVOCATION_CACHE_TTL_SECONDS:60}") long cacheTtlSeconds) {
+        this.sessionRepository = sessionRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.filter = new RevocationBloomFilter(expectedRevocations);
+        this.revocationStatus = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .executor(BlockingLoads.EXECUTOR)
+                .buildAsync();
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onRevocation(sessionRepository.readMessage(message)),
+                sessionRepository.revocationTopic());
+    }
+
+    public void revoke(String token, Duration ttl) {
+        revokeDigest(TokenDigest.of(token), ttl);
+    }
+
+    public void revokeDigest(String tokenDigest, Duration ttl) {
+        sessionRepository.revokeToken(tokenDigest, ttl);
+        onRevocation(tokenDigest);
+        sessionRepository.publishRevocation(tokenDigest);
+    }
+
+    public boolean isRevoked(String token) {
+        return isDigestRevoked(TokenDigest.of(token));
+    }
+
+    public boolean isDigestRevoked(String tokenDigest) {
+        if (warmed && !filter.mightContain(tokenDigest)) {
+            return false;
+        }
+        return BlockingLoads.join(revocationStatus.get(tokenDigest, sessionRepository::isTokenRevoked));
+    }
+
+    @Scheduled(
+            initialDelayString = "${TOKEN_REVOCATION_WARMUP_DELAY_MS:0}",
+            fixedDelayString = "${TOKEN_REVOCATION_REBUILD_INTERVAL_MS:300000}")
+    public void rebuild() {
+        try {
+            if (!legacyMigrated.get()) {
+                int migrated = sessionRepository.migrateLegacyBlacklist();
+                legacyMigrated.set(true);
+                if (migrated > 0) {
+                    LOGGER.info("Migrated {} legacy blacklist entries to revocation digests", migrated);
+                }
+            }
+
+            RevocationBloomFilter next = new RevocationBloomFilter(expectedRevocations);
+            rebuilding = next;
+            sessionRepository.scanRevokedTokens(next::add);
+            filter = next;
+            warmed = true;
+        } catch (Exception e) {
+            LOGGER.warn("Token revocation filter rebuild failed, checks fall back to Redis: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    void onRevocation(String tokenDigest) {
+        if (tokenDigest == null) {
+            return;
+        }
+        RevocationBloomFilter current = filter;
+        current.add(tokenDigest);
+        RevocationBloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(tokenDigest);
+        }
+        if (filter != current) {
+            filter.add(tokenDigest);
+        }
+        revocationStatus.synchronous().put(tokenDigest, Boolean.TRUE);
+    }
+}
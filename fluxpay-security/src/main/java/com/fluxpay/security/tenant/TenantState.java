@@ -0,0 +1,13 @@
+package com.fluxpay.security.tenant;
+
+import com.fluxpay.common.enums.TenantStatus;
+
+import java.util.UUID;
+
+public record TenantState(UUID tenantId, TenantStatus status, String subscriptionTier, Integer maxUsers,
+                          Integer maxApiCallsPerMonth) {
+
+    public boolean isActive() {
+        return status == TenantStatus.ACTIVE;
+    }
+}
@@ -0,0 +1,9 @@
+package com.fluxpay.security.tenant;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TenantStateResolver {
+
+    Optional<TenantState> resolve(UUID tenantId);
+}
@@ -0,0 +1,85 @@
+package com.fluxpay.security.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fluxpay.common.dto.ErrorResponse;
+import com.fluxpay.security.session.service.RateLimitService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+public class TenantStatusGuard {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantStatusGuard.class);
+
+    private final ObjectProvider<TenantStateResolver> tenantStateResolver;
+    private final RateLimitService rateLimitService;
+    private final ObjectMapper objectMapper;
+
+    public TenantStatusGuard(
+            ObjectProvider<TenantStateResolver> tenantStateResolver,
+            RateLimitService rateLimitService,
+            ObjectMapper objectMapper) {
+        this.tenantStateResolver = tenantStateResolver;
+        this.rateLimitService = rateLimitService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Writes a 403 and returns true when the tenant is known and not active, or a 429 when it is over its tier's
+    // request limit. Unknown tenants and lookup failures are let through so an outage of the tenant store or of
+    // Redis does not lock everyone out.
+    public boolean rejectIfNotAdmitted(UUID tenantId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        TenantStateResolver resolver = tenantStateResolver.getIfAvailable();
+        if (tenantId == null || resolver == null) {
+            return false;
+        }
+
+        Optional<TenantState> state;
+        try {
+            state = resolver.resolve(tenantId);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to resolve state of tenant {}: {}", tenantId, e.getMessage());
+            return false;
+        }
+        if (state.isEmpty()) {
+            return false;
+        }
+        if (!state.get().isActive()) {
+            writeError(request, response, HttpStatus.FORBIDDEN, "Tenant Suspended", "Tenant is suspended: " + tenantId);
+            return true;
+        }
+        if (isOverTierLimit(state.get())) {
+            writeError(request, response, HttpStatus.TOO_MANY_REQUESTS, "Rate Limit Exceeded",
+                    "Tenant rate limit exceeded for tier " + state.get().subscriptionTier());
+            return true;
+        }
+        return false;
+    }
+
+    private boolean isOverTierLimit(TenantState state) {
+        try {
+            return rateLimitService.isTenantRateLimited(state.tenantId(), state.subscriptionTier());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to check rate limit of tenant {}: {}", state.tenantId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                            String error, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ErrorResponse.of(status.value(), error, message, request.getRequestURI()));
+    }
+}
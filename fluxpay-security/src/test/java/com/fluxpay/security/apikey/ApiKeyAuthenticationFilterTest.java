@@ -0,0 +1,168 @@
+package com.fluxpay.security.apikey;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fluxpay.common.enums.ApiKeyScope;
+import com.fluxpay.security.context.TenantContext;
+import com.fluxpay.security.session.service.RateLimitService;
+import com.fluxpay.security.tenant.TenantStatusGuard;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyAuthenticationFilterTest {
+
+    @Mock
+    private ObjectProvider<ApiKeyResolver> resolverProvider;
+
+    @Mock
+    private ApiKeyResolver resolver;
+
+    @Mock
+    private RateLimitService rateLimitService;
+
+    @Mock
+    private TenantStatusGuard tenantStatusGuard;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private ApiKeyAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private ApiKeyPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ApiKeyAuthenticationFilter(resolverProvider, rateLimitService, tenantStatusGuard,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        request = new MockHttpServletRequest("GET", "/api/invoices");
+        response = new MockHttpServletResponse();
+        principal = new ApiKeyPrincipal(UUID.randomUUID(), UUID.randomUUID(), ApiKeyScope.READ_ONLY, 60, null);
+        lenient().when(resolverProvider.getIfAvailable()).thenReturn(resolver);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        TenantContext.clear();
+    }
+
+    @Test
+    void doFilter_WithoutHeader_ShouldPassThrough() throws Exception {
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(resolver);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void doFilter_WithValidKey_ShouldAuthenticateAndSetTenant() throws Exception {
+        request.addHeader(ApiKeyAuthenticationFilter.API_KEY_HEADER, "fpk_live_abc");
+        when(resolver.resolve("fpk_live_abc")).thenReturn(Optional.of(principal));
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        AtomicReference<UUID> tenant = new AtomicReference<>();
+        doAnswer(invocation -> {
+            seen.set(SecurityContextHolder.getContext().getAuthentication());
+            tenant.set(TenantContext.getCurrentTenantId());
+            return null;
+        }).when(filterChain).doFilter(request, response);
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(seen.get().getPrincipal()).isEqualTo(principal.keyId());
+        assertThat(seen.get().getAuthorities()).extracting("authority")
+                .containsExactlyInAnyOrder("ROLE_API_KEY", "SCOPE_READ_ONLY");
+        assertThat(tenant.get()).isEqualTo(principal.tenantId());
+        assertThat(TenantContext.getCurrentTenantId()).isNull();
+        verify(rateLimitService).isRateLimited(principal.keyId().toString(), "api_key_requests", 60, Duration.ofMinutes(1));
+        verify(resolver).recordUsage(principal);
+    }
+
+    @Test
+    void doFilter_WithUnknownKey_ShouldPassThroughUnauthenticated() throws Exception {
+        request.addHeader(ApiKeyAuthenticationFilter.API_KEY_HEADER, "fpk_live_unknown");
+        when(resolver.resolve("fpk_live_unknown")).thenReturn(Optional.empty());
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void doFilter_WithExpiredKey_ShouldPassThroughUnauthenticated() throws Exception {
+        request.addHeader(ApiKeyAuthenticationFilter.API_KEY_HEADER, "fpk_live_abc");
+        when(resolver.resolve("fpk_live_abc")).thenReturn(Optional.of(new ApiKeyPrincipal(
+                principal.keyId(), principal.tenantId(), ApiKeyScope.FULL_ACCESS, 60, Instant.now().minusSeconds(1))));
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void doFilter_WithReadOnlyKeyOnWrite_ShouldReturnForbidden() throws Exception {
+        request.setMethod("POST");
+        request.addHeader(ApiKeyAuthenticationFilter.API_KEY_HEADER, "fpk_live_abc");
+        when(resolver.resolve("fpk_live_abc")).thenReturn(Optional.of(principal));
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        verify(filterChain, never()).doFilter(any(), any());
+        verifyNoInteractions(rateLimitService);
+    }
+
+    @Test
+    void doFilter_WhenRateLimited_ShouldReturnTooManyRequests() throws Exception {
+        request.addHeader(ApiKeyAuthenticationFilter.API_KEY_HEADER, "fpk_live_abc");
+        when(resolver.resolve("fpk_live_abc")).thenReturn(Optional.of(principal));
+        when(rateLimitService.isRateLimited(anyString(), anyString(), anyInt(), any(Duration.class))).thenReturn(true);
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getContentAsString()).contains("Rate Limit Exceeded");
+        verify(filterChain, never()).doFilter(any(), any());
+        verify(resolver, never()).recordUsage(any());
+    }
+
+    @Test
+    void doFilter_WhenTenantSuspended_ShouldStopBeforeRateLimiting() throws Exception {
+        request.addHeader(ApiKeyAuthenticationFilter.API_KEY_HEADER, "fpk_live_abc");
+        when(resolver.resolve("fpk_live_abc")).thenReturn(Optional.of(principal));
+        when(tenantStatusGuard.rejectIfNotAdmitted(principal.tenantId(), request, response)).thenReturn(true);
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain, never()).doFilter(any(), any());
+        verifyNoInteractions(rateLimitService);
+        verify(resolver, never()).recordUsage(any());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+}
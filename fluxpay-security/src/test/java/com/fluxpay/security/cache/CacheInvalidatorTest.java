@@ -0,0 +1,100 @@
+package com.fluxpay.security.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidatorTest {
+
+    private static final String CHANNEL = "test_invalidations";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private final List<String> evicted = new ArrayList<>();
+    private CacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        invalidator = new CacheInvalidator(CHANNEL, redisTemplate, listenerContainer, evicted::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void constructor_ShouldSubscribeToChannel() {
+        verify(listenerContainer).addMessageListener(any(MessageListener.class), eq(new ChannelTopic(CHANNEL)));
+    }
+
+    @Test
+    void invalidate_ShouldEvictLocallyAndPublish() {
+        invalidator.invalidate("key-1");
+
+        assertThat(evicted).containsExactly("key-1");
+        verify(redisTemplate).convertAndSend(CHANNEL, "key-1");
+    }
+
+    @Test
+    void invalidate_InTransaction_ShouldWaitForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        invalidator.invalidate("key-1");
+
+        assertThat(evicted).isEmpty();
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(evicted).containsExactly("key-1");
+        verify(redisTemplate).convertAndSend(CHANNEL, "key-1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void message_ShouldEvictLocallyWithoutPublishing() {
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) serializer);
+        byte[] body = "key-1".getBytes(StandardCharsets.UTF_8);
+        when(serializer.deserialize(body)).thenReturn("key-1");
+
+        listener.getValue().onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+        assertThat(evicted).containsExactly("key-1");
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+}
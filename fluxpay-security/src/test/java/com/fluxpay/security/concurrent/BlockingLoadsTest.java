@@ -0,0 +1,48 @@
+package com.fluxpay.security.concurrent;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlockingLoadsTest {
+
+    @Test
+    void join_ShouldReturnValue() {
+        assertThat(BlockingLoads.join(CompletableFuture.completedFuture("value"))).isEqualTo("value");
+    }
+
+    @Test
+    void join_ShouldRethrowLoaderException() {
+        AsyncCache<String, String> cache = Caffeine.newBuilder().executor(BlockingLoads.EXECUTOR).buildAsync();
+
+        assertThatThrownBy(() -> BlockingLoads.join(cache.get("key", key -> {
+            throw new IllegalStateException("redis down");
+        }))).isInstanceOf(IllegalStateException.class).hasMessage("redis down");
+        // Caffeine drops the failed future from a completion callback that may run after join returns
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getIfPresent("key") != null && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(cache.getIfPresent("key")).isNull();
+    }
+
+    @Test
+    void executor_ShouldLoadOnVirtualThread() {
+        AsyncCache<String, String> cache = Caffeine.newBuilder().executor(BlockingLoads.EXECUTOR).buildAsync();
+        AtomicReference<Boolean> virtual = new AtomicReference<>();
+
+        BlockingLoads.join(cache.get("key", key -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return "value";
+        }));
+
+        assertThat(virtual.get()).isTrue();
+    }
+}
@@ -0,0 +1,71 @@
+package com.fluxpay.security.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetiringCounterTest {
+
+    @Test
+    void add_ShouldAccumulateAcrossStripes() {
+        RetiringCounter counter = RetiringCounter.striped();
+
+        assertThat(counter.add(3)).isTrue();
+        assertThat(counter.add(4)).isTrue();
+
+        assertThat(counter.sum()).isEqualTo(7);
+    }
+
+    @Test
+    void retire_ShouldReturnSumAndRejectLaterAdds() {
+        RetiringCounter counter = new RetiringCounter(1);
+        counter.add(5);
+
+        assertThat(counter.retire()).isEqualTo(5);
+        assertThat(counter.add(1)).isFalse();
+        assertThat(counter.sum()).isZero();
+        assertThat(counter.retire()).isZero();
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPowerOfTwoStripes() {
+        assertThatThrownBy(() -> new RetiringCounter(3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RetiringCounter(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void retire_ShouldNotLoseConcurrentAdds() throws InterruptedException {
+        AtomicReference<RetiringCounter> current = new AtomicReference<>(RetiringCounter.striped());
+        AtomicLong flushed = new AtomicLong();
+        int writers = 4;
+        int addsPerWriter = 100_000;
+        CountDownLatch done = new CountDownLatch(writers);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int n = 0; n < addsPerWriter; n++) {
+                    while (!current.get().add(1)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            }));
+        }
+        while (done.getCount() > 0) {
+            flushed.addAndGet(current.getAndSet(RetiringCounter.striped()).retire());
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        flushed.addAndGet(current.get().retire());
+
+        assertThat(flushed.get()).isEqualTo((long) writers * addsPerWriter);
+    }
+}
@@ -1,6 +1,10 @@
 package com.fluxpay.security.config;
 
+import com.fluxpay.security.apikey.ApiKeyAuthenticationFilter;
 import com.fluxpay.security.jwt.JwtAuthenticationFilter;
+import com.fluxpay.security.password.BoundedPasswordEncoder;
+import com.fluxpay.security.password.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,16 +28,23 @@ class SecurityConfigTest {
     @Mock
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Mock
+    private ApiKeyAuthenticationFilter apiKeyAuthenticationFilter;
+
     private SecurityConfig securityConfig;
     private MockHttpServletRequest request;
 
     @BeforeEach
     void setUp() {
-        securityConfig = new SecurityConfig(jwtAuthenticationFilter);
+        securityConfig = new SecurityConfig(jwtAuthenticationFilter, apiKeyAuthenticationFilter);
         request = new MockHttpServletRequest();
         request.setRequestURI("/api/test");
     }
 
+    private PasswordHashingExecutor hashingExecutor() {
+        return new PasswordHashingExecutor(new SimpleMeterRegistry(), 1, 4);
+    }
+
     private void setField(String fieldName, Object value) throws Exception {
         Field field = SecurityConfig.class.getDeclaredField(fieldName);
         field.setAccessible(true);
@@ -41,11 +52,13 @@ class SecurityConfigTest {
     }
 
     @Test
-    void passwordEncoder_ReturnsBCryptPasswordEncoder() {
-        PasswordEncoder encoder = securityConfig.passwordEncoder();
+    void passwordEncoder_ReturnsBoundedPasswordEncoder() throws Exception {
+        setField("bcryptStrength", 4);
+
+        PasswordEncoder encoder = securityConfig.passwordEncoder(hashingExecutor());
 
-        assertThat(encoder).isNotNull()
-                .isInstanceOf(org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder.class);
+        assertThat(encoder).isNotNull().isInstanceOf(BoundedPasswordEncoder.class);
+        assertThat(encoder.encode("secret")).startsWith("$2a$04$");
     }
 
     @Test
@@ -152,8 +165,9 @@ class SecurityConfigTest {
     }
 
     @Test
-    void passwordEncoder_ShouldEncryptPasswordsCorrectly() {
-        PasswordEncoder encoder = securityConfig.passwordEncoder();
+    void passwordEncoder_ShouldEncryptPasswordsCorrectly() throws Exception {
+        setField("bcryptStrength", 4);
+        PasswordEncoder encoder = securityConfig.passwordEncoder(hashingExecutor());
         String rawPassword = "mySecurePassword123";
         
         String encodedPassword = encoder.encode(rawPassword);
@@ -0,0 +1,67 @@
+package com.fluxpay.security.context;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextPropagatingTaskDecoratorTest {
+
+    private final ContextPropagatingTaskDecorator decorator = new ContextPropagatingTaskDecorator();
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+    }
+
+    @Test
+    void decorate_ShouldPropagateContextsToAnotherThread() throws Exception {
+        UUID tenantId = UUID.randomUUID();
+        Authentication authentication = new UsernamePasswordAuthenticationToken("user", null, List.of());
+        TenantContext.setCurrentTenant(tenantId);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        MDC.put("requestId", "abc");
+
+        AtomicReference<UUID> seenTenant = new AtomicReference<>();
+        AtomicReference<Authentication> seenAuthentication = new AtomicReference<>();
+        AtomicReference<String> seenRequestId = new AtomicReference<>();
+        Runnable task = decorator.decorate(() -> {
+            seenTenant.set(TenantContext.getCurrentTenantId());
+            seenAuthentication.set(SecurityContextHolder.getContext().getAuthentication());
+            seenRequestId.set(MDC.get("requestId"));
+        });
+
+        Thread thread = Thread.ofVirtual().start(task);
+        thread.join();
+
+        assertThat(seenTenant.get()).isEqualTo(tenantId);
+        assertThat(seenAuthentication.get()).isSameAs(authentication);
+        assertThat(seenRequestId.get()).isEqualTo("abc");
+    }
+
+    @Test
+    void decorate_ShouldRestoreWorkerContextAfterRun() {
+        UUID callerTenant = UUID.randomUUID();
+        TenantContext.setCurrentTenant(callerTenant);
+        Runnable task = decorator.decorate(() -> { });
+
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+        task.run();
+
+        assertThat(TenantContext.getCurrentTenantId()).isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(MDC.getCopyOfContextMap()).isNullOrEmpty();
+    }
+}
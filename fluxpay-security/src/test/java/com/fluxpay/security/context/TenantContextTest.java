@@ -57,5 +57,26 @@ class TenantContextTest {
         TenantContext.clear();
         assertNull(TenantContext.getCurrentTenantId());
     }
-}
 
+    @Test
+    void testRunWithTenantRestoresPreviousTenant() {
+        UUID outer = UUID.randomUUID();
+        UUID inner = UUID.randomUUID();
+        TenantContext.setCurrentTenant(outer);
+
+        TenantContext.runWithTenant(inner, () -> assertEquals(inner, TenantContext.getCurrentTenantId()));
+
+        assertEquals(outer, TenantContext.getCurrentTenantId());
+    }
+
+    @Test
+    void testCallWithTenantClearsWhenNothingWasBound() {
+        UUID tenantId = UUID.randomUUID();
+
+        assertThrows(IllegalStateException.class, () -> TenantContext.callWithTenant(tenantId, () -> {
+            throw new IllegalStateException("failed");
+        }));
+
+        assertNull(TenantContext.getCurrentTenantId());
+    }
+}
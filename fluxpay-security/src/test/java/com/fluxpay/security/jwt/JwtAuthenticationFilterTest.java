@@ -4,8 +4,11 @@ import com.fluxpay.security.context.TenantContext;
 import com.fluxpay.security.session.model.DeviceInfo;
 import com.fluxpay.security.session.model.SessionData;
 import com.fluxpay.security.session.service.DeviceFingerprintService;
+import com.fluxpay.security.session.service.RevocationEpochService;
 import com.fluxpay.security.session.service.SessionSecurityService;
 import com.fluxpay.security.session.service.SessionService;
+import com.fluxpay.security.tenant.TenantStatusGuard;
+import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +25,7 @@ import org.mockito.quality.Strictness;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -45,6 +49,12 @@ class JwtAuthenticationFilterTest {
     @Mock
     private DeviceFingerprintService deviceFingerprintService;
 
+    @Mock
+    private RevocationEpochService revocationEpochService;
+
+    @Mock
+    private TenantStatusGuard tenantStatusGuard;
+
     @Mock
     private HttpServletRequest request;
 
@@ -81,12 +91,8 @@ class JwtAuthenticationFilterTest {
     @Test
     void testDoFilterInternalWithValidToken() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
+        when(jwtTokenProvider.verify(token)).thenReturn(claims("session-123"));
         when(sessionService.isTokenBlacklisted(token)).thenReturn(false);
-        when(jwtTokenProvider.getUserId(token)).thenReturn(userId);
-        when(jwtTokenProvider.getTenantId(token)).thenReturn(tenantId);
-        when(jwtTokenProvider.getRole(token)).thenReturn(role);
-        when(jwtTokenProvider.getSessionId(token)).thenReturn("session-123");
         
         SessionData mockSession = SessionData.builder()
                 .sessionId("session-123")
@@ -115,6 +121,8 @@ class JwtAuthenticationFilterTest {
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
         assertNotNull(capturedTenantId[0]);
         assertEquals(tenantId, capturedTenantId[0]);
+        verify(jwtTokenProvider, times(1)).verify(token);
+        verifyNoMoreInteractions(jwtTokenProvider);
     }
 
     @org.junit.jupiter.params.ParameterizedTest
@@ -123,7 +131,7 @@ class JwtAuthenticationFilterTest {
     void testDoFilterInternal_WithNoTokenOrInvalidToken_ShouldNotAuthenticate(String authHeader) throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn(authHeader);
         if (authHeader != null) {
-            when(jwtTokenProvider.validateToken("invalid.token")).thenReturn(false);
+            when(jwtTokenProvider.verify("invalid.token")).thenThrow(new MalformedJwtException("Invalid token"));
         }
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -135,7 +143,7 @@ class JwtAuthenticationFilterTest {
     @Test
     void testDoFilterInternalWithBlacklistedToken() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
+        when(jwtTokenProvider.verify(token)).thenReturn(claims("session-123"));
         when(sessionService.isTokenBlacklisted(token)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -144,6 +152,32 @@ class JwtAuthenticationFilterTest {
         verify(sessionService, never()).getSession(any(), any(), any());
     }
 
+    @Test
+    void testDoFilterInternalWithRevokedEpoch() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.verify(token)).thenReturn(claims("session-123"));
+        when(revocationEpochService.isRevoked(eq(tenantId), eq(userId), eq("session-123"), any())).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(sessionService, never()).isTokenBlacklisted(any());
+        verify(sessionService, never()).getSession(any(), any(), any());
+    }
+
+    @Test
+    void testDoFilterInternalWithSuspendedTenant() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.verify(token)).thenReturn(claims("session-123"));
+        when(tenantStatusGuard.rejectIfNotAdmitted(tenantId, request, response)).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain, never()).doFilter(any(), any());
+        verifyNoInteractions(revocationEpochService);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
     @Test
     void testDoFilterInternalWithExistingSession() throws ServletException, IOException {
         String sessionId = UUID.randomUUID().toString();
@@ -155,12 +189,8 @@ class JwtAuthenticationFilterTest {
                 .build();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
+        when(jwtTokenProvider.verify(token)).thenReturn(claims(sessionId));
         when(sessionService.isTokenBlacklisted(token)).thenReturn(false);
-        when(jwtTokenProvider.getUserId(token)).thenReturn(userId);
-        when(jwtTokenProvider.getTenantId(token)).thenReturn(tenantId);
-        when(jwtTokenProvider.getRole(token)).thenReturn(role);
-        when(jwtTokenProvider.getSessionId(token)).thenReturn(sessionId);
         when(sessionService.getSession(tenantId, userId, sessionId)).thenReturn(existingSession);
         when(deviceFingerprintService.generateFingerprint(request)).thenReturn("fingerprint");
         when(sessionSecurityService.verifyDeviceFingerprint(existingSession, "fingerprint")).thenReturn(true);
@@ -174,9 +204,7 @@ class JwtAuthenticationFilterTest {
     @Test
     void testDoFilterInternalWithInvalidTokenClaims() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(sessionService.isTokenBlacklisted(token)).thenReturn(false);
-        when(jwtTokenProvider.getUserId(token)).thenThrow(new IllegalArgumentException("Invalid token"));
+        when(jwtTokenProvider.verify(token)).thenThrow(new IllegalArgumentException("Invalid token"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -185,19 +213,31 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    @MockitoSettings(strictness = Strictness.LENIENT)
-    void testDoFilterInternalWithExceptionDuringProcessing() throws ServletException, IOException {
+    void testDoFilterInternalWithBlacklistLookupFailure_ShouldNotAuthenticate() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(sessionService.isTokenBlacklisted(token)).thenReturn(false);
-        when(jwtTokenProvider.getUserId(token)).thenReturn(userId);
-        when(jwtTokenProvider.getTenantId(token)).thenReturn(tenantId);
-        when(jwtTokenProvider.getRole(token)).thenReturn(role);
-        when(jwtTokenProvider.getSessionId(token)).thenThrow(new IllegalArgumentException("Invalid session ID"));
+        when(jwtTokenProvider.verify(token)).thenReturn(claims("session-123"));
+        when(sessionService.isTokenBlacklisted(token)).thenThrow(new RuntimeException("Redis unavailable"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNull(TenantContext.getCurrentTenantId());
+    }
+
+    @Test
+    void testDoFilterInternalWithRevocationLookupFailure_ShouldNotAuthenticate() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtTokenProvider.verify(token)).thenReturn(claims("session-123"));
+        when(revocationEpochService.isRevoked(eq(tenantId), eq(userId), eq("session-123"), any()))
+                .thenThrow(new RuntimeException("Redis unavailable"));
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(sessionService, never()).getSession(any(), any(), any());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNull(TenantContext.getCurrentTenantId());
     }
 
     @Test
@@ -212,11 +252,11 @@ class JwtAuthenticationFilterTest {
     @Test
     void testDoFilterInternalWithBearerPrefix() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(false);
+        when(jwtTokenProvider.verify(token)).thenThrow(new MalformedJwtException("Invalid token"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtTokenProvider).validateToken(token);
+        verify(jwtTokenProvider).verify(token);
     }
 
     @Test
@@ -230,12 +270,8 @@ class JwtAuthenticationFilterTest {
                 .build();
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
+        when(jwtTokenProvider.verify(token)).thenReturn(claims(sessionId));
         when(sessionService.isTokenBlacklisted(token)).thenReturn(false);
-        when(jwtTokenProvider.getUserId(token)).thenReturn(userId);
-        when(jwtTokenProvider.getTenantId(token)).thenReturn(tenantId);
-        when(jwtTokenProvider.getRole(token)).thenReturn(role);
-        when(jwtTokenProvider.getSessionId(token)).thenReturn(sessionId);
         when(sessionService.getSession(tenantId, userId, sessionId)).thenReturn(existingSession);
         when(deviceFingerprintService.generateFingerprint(request)).thenReturn("different-fingerprint");
         when(sessionSecurityService.verifyDeviceFingerprint(existingSession, "different-fingerprint")).thenReturn(false);
@@ -254,16 +290,13 @@ class JwtAuthenticationFilterTest {
 
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtTokenProvider, never()).validateToken(anyString());
+        verify(jwtTokenProvider, never()).verify(anyString());
     }
 
     @Test
     void testDoFilterInternalWithMissingTenantIdClaim() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(sessionService.isTokenBlacklisted(token)).thenReturn(false);
-        when(jwtTokenProvider.getUserId(token)).thenReturn(userId);
-        when(jwtTokenProvider.getTenantId(token)).thenThrow(new IllegalArgumentException("Missing tenantId"));
+        when(jwtTokenProvider.verify(token)).thenThrow(new IllegalArgumentException("Missing tenantId"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -274,11 +307,7 @@ class JwtAuthenticationFilterTest {
     @Test
     void testDoFilterInternalWithMissingRoleClaim() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
-        when(sessionService.isTokenBlacklisted(token)).thenReturn(false);
-        when(jwtTokenProvider.getUserId(token)).thenReturn(userId);
-        when(jwtTokenProvider.getTenantId(token)).thenReturn(tenantId);
-        when(jwtTokenProvider.getRole(token)).thenThrow(new IllegalArgumentException("Missing role"));
+        when(jwtTokenProvider.verify(token)).thenThrow(new IllegalArgumentException("Missing role"));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -289,12 +318,8 @@ class JwtAuthenticationFilterTest {
     @Test
     void testDoFilterInternalWithSessionCreationFailure() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
+        when(jwtTokenProvider.verify(token)).thenReturn(claims(null));
         when(sessionService.isTokenBlacklisted(token)).thenReturn(false);
-        when(jwtTokenProvider.getUserId(token)).thenReturn(userId);
-        when(jwtTokenProvider.getTenantId(token)).thenReturn(tenantId);
-        when(jwtTokenProvider.getRole(token)).thenReturn(role);
-        when(jwtTokenProvider.getSessionId(token)).thenReturn(null);
         when(deviceFingerprintService.generateFingerprint(request)).thenReturn("fingerprint");
         when(deviceFingerprintService.extractDeviceInfo(request)).thenReturn(DeviceInfo.builder().build());
         when(deviceFingerprintService.getClientIpAddress(request)).thenReturn("127.0.0.1");
@@ -320,12 +345,8 @@ class JwtAuthenticationFilterTest {
     @Test
     void testDoFilterInternalWithNullSessionId() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtTokenProvider.validateToken(token)).thenReturn(true);
+        when(jwtTokenProvider.verify(token)).thenReturn(claims(null));
         when(sessionService.isTokenBlacklisted(token)).thenReturn(false);
-        when(jwtTokenProvider.getUserId(token)).thenReturn(userId);
-        when(jwtTokenProvider.getTenantId(token)).thenReturn(tenantId);
-        when(jwtTokenProvider.getRole(token)).thenReturn(role);
-        when(jwtTokenProvider.getSessionId(token)).thenReturn(null);
         when(deviceFingerprintService.generateFingerprint(request)).thenReturn("fingerprint");
         when(deviceFingerprintService.extractDeviceInfo(request)).thenReturn(DeviceInfo.builder().build());
         when(deviceFingerprintService.getClientIpAddress(request)).thenReturn("127.0.0.1");
@@ -356,6 +377,9 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
-}
-
 
+    private AuthenticatedClaims claims(String sessionId) {
+        Instant now = Instant.now();
+        return new AuthenticatedClaims(userId, tenantId, role, sessionId, now, now.plusSeconds(3600));
+    }
+}
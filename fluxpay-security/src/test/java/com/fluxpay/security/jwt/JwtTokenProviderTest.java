@@ -26,7 +26,7 @@ class JwtTokenProviderTest {
     void setUp() {
         secret = "test-secret-key-that-is-at-least-64-characters-long-for-hmac-sha-512-algorithm";
         expiration = 3600000L;
-        jwtTokenProvider = new JwtTokenProvider(secret, expiration);
+        jwtTokenProvider = new JwtTokenProvider(secret, expiration, 1000L);
         userId = UUID.randomUUID();
         tenantId = UUID.randomUUID();
         role = "USER";
@@ -71,7 +71,7 @@ class JwtTokenProviderTest {
 
     @Test
     void testValidateTokenWithExpiredToken() {
-        JwtTokenProvider shortExpirationProvider = new JwtTokenProvider(secret, -1000L);
+        JwtTokenProvider shortExpirationProvider = new JwtTokenProvider(secret, -1000L, 1000L);
         String token = shortExpirationProvider.createToken(userId, tenantId, role);
         assertFalse(jwtTokenProvider.validateToken(token));
     }
@@ -280,7 +280,7 @@ class JwtTokenProviderTest {
     @Test
     void testValidateTokenWithWrongSecret() {
         String token = jwtTokenProvider.createToken(userId, tenantId, role);
-        JwtTokenProvider differentProvider = new JwtTokenProvider("different-secret-key-that-is-at-least-64-characters-long-for-hmac-sha-512-algorithm", expiration);
+        JwtTokenProvider differentProvider = new JwtTokenProvider("different-secret-key-that-is-at-least-64-characters-long-for-hmac-sha-512-algorithm", expiration, 1000L);
         assertFalse(differentProvider.validateToken(token));
     }
 
@@ -305,7 +305,7 @@ class JwtTokenProviderTest {
 
     @Test
     void testTokenExpirationBoundary() {
-        JwtTokenProvider veryShortProvider = new JwtTokenProvider(secret, 1000L);
+        JwtTokenProvider veryShortProvider = new JwtTokenProvider(secret, 1000L, 1000L);
         String token = veryShortProvider.createToken(userId, tenantId, role);
         
         Date expirationDate = veryShortProvider.getExpirationDate(token);
@@ -334,5 +334,77 @@ class JwtTokenProviderTest {
             jwtTokenProvider.getSessionId("invalid.token");
         });
     }
-}
 
+    @Test
+    void testVerifyReturnsAllClaims() {
+        String sessionId = UUID.randomUUID().toString();
+        String token = jwtTokenProvider.createToken(userId, tenantId, role, sessionId);
+
+        AuthenticatedClaims claims = jwtTokenProvider.verify(token);
+
+        assertEquals(userId, claims.userId());
+        assertEquals(tenantId, claims.tenantId());
+        assertEquals(role, claims.role());
+        assertEquals(sessionId, claims.sessionId());
+        assertNotNull(claims.issuedAt());
+        assertTrue(claims.expiresAt().isAfter(claims.issuedAt()));
+    }
+
+    @Test
+    void testVerifyKeepsMillisecondIssueTime() {
+        long before = System.currentTimeMillis();
+        String token = jwtTokenProvider.createToken(userId, tenantId, role);
+        long after = System.currentTimeMillis();
+
+        long issuedAt = jwtTokenProvider.verify(token).issuedAt().toEpochMilli();
+
+        assertTrue(issuedAt >= before && issuedAt <= after);
+    }
+
+    @Test
+    void testVerifyServesRepeatedTokenFromCache() {
+        String token = jwtTokenProvider.createToken(userId, tenantId, role);
+
+        AuthenticatedClaims first = jwtTokenProvider.verify(token);
+        AuthenticatedClaims second = jwtTokenProvider.verify(token);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void testVerifyRejectsTamperedTokenAfterOriginalIsCached() {
+        String token = jwtTokenProvider.createToken(userId, tenantId, role);
+        jwtTokenProvider.verify(token);
+        String corruptedToken = token.substring(0, token.length() - 5) + "XXXXX";
+
+        assertThrows(JwtException.class, () -> jwtTokenProvider.verify(corruptedToken));
+    }
+
+    @Test
+    void testVerifyRejectsExpiredToken() {
+        JwtTokenProvider shortExpirationProvider = new JwtTokenProvider(secret, -1000L, 1000L);
+        String token = shortExpirationProvider.createToken(userId, tenantId, role);
+
+        assertThrows(JwtException.class, () -> jwtTokenProvider.verify(token));
+    }
+
+    @Test
+    void testVerifyRejectsTokenWithMissingRole() {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        String tokenWithNullRole = Jwts.builder()
+                .subject(userId.toString())
+                .claim("tenantId", tenantId.toString())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(key, Jwts.SIG.HS512)
+                .compact();
+
+        assertThrows(IllegalArgumentException.class, () -> jwtTokenProvider.verify(tokenWithNullRole));
+        assertFalse(jwtTokenProvider.validateToken(tokenWithNullRole));
+    }
+
+    @Test
+    void testVerifyWithNullToken() {
+        assertThrows(IllegalArgumentException.class, () -> jwtTokenProvider.verify(null));
+    }
+}
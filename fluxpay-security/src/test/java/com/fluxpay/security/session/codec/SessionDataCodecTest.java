@@ -0,0 +1,158 @@
+package com.fluxpay.security.session.codec;
+
+import com.fluxpay.security.jwt.JwtTokenProvider;
+import com.fluxpay.security.jwt.TokenDigest;
+import com.fluxpay.security.session.model.SessionData;
+import com.fluxpay.security.session.util.SessionTestDataFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionDataCodecTest {
+
+    private static final String SECRET = "test-secret-key-that-is-at-least-64-characters-long-for-hmac-sha-512-algorithm";
+
+    @Test
+    void encode_RoundTripsAllFields() {
+        SessionData session = SessionTestDataFactory.createSessionData();
+        session.setRequestCount(42);
+        session.getSecurityFlags().setMfaRequired(true);
+        session.getSecurityFlags().setFailedAttempts(3);
+
+        SessionData decoded = SessionDataCodec.decode(SessionDataCodec.encode(session));
+
+        assertThat(decoded).usingRecursiveComparison().ignoringFields("metadata", "accessToken").isEqualTo(session);
+    }
+
+    @Test
+    void encode_StoresAccessTokenDigestOnly() {
+        SessionData session = SessionTestDataFactory.createSessionData();
+
+        SessionData decoded = SessionDataCodec.decode(SessionDataCodec.encode(session));
+
+        assertThat(decoded.getAccessToken()).isNull();
+        assertThat(decoded.getAccessTokenDigest()).isEqualTo(TokenDigest.of(session.getAccessToken()));
+    }
+
+    @Test
+    void encode_PacksBase64FingerprintsLosslessly() {
+        SessionData session = SessionTestDataFactory.createSessionData();
+        session.setDeviceFingerprint(sha256("device"));
+        session.setTokenFingerprint("not=base64");
+        session.getDeviceInfo().setDeviceId(sha256("device"));
+
+        SessionData decoded = SessionDataCodec.decode(SessionDataCodec.encode(session));
+
+        assertThat(decoded.getDeviceFingerprint()).isEqualTo(session.getDeviceFingerprint());
+        assertThat(decoded.getTokenFingerprint()).isEqualTo("not=base64");
+        assertThat(decoded.getDeviceInfo().getDeviceId()).isEqualTo(session.getDeviceFingerprint());
+    }
+
+    @Test
+    void encode_OmitsNullFields() {
+        SessionData session = SessionData.builder()
+                .sessionId("session-1")
+                .userId(UUID.randomUUID())
+                .tenantId(UUID.randomUUID())
+                .build();
+
+        SessionData decoded = SessionDataCodec.decode(SessionDataCodec.encode(session));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(session);
+        assertThat(decoded.getDeviceInfo()).isNull();
+        assertThat(decoded.getSecurityFlags()).isNull();
+    }
+
+    @Test
+    void decode_SkipsFieldsFromNewerWriters() {
+        SessionData session = SessionTestDataFactory.createSessionData();
+        byte[] encoded = SessionDataCodec.encode(session);
+        byte[] withUnknownField = Arrays.copyOf(encoded, encoded.length + 5);
+        System.arraycopy(new byte[]{99, 3, 1, 2, 3}, 0, withUnknownField, encoded.length, 5);
+
+        SessionData decoded = SessionDataCodec.decode(withUnknownField);
+
+        assertThat(decoded.getSessionId()).isEqualTo(session.getSessionId());
+        assertThat(decoded.getUserAgent()).isEqualTo(session.getUserAgent());
+    }
+
+    @Test
+    void decode_RejectsTruncatedPayload() {
+        byte[] encoded = SessionDataCodec.encode(SessionTestDataFactory.createSessionData());
+
+        assertThatThrownBy(() -> SessionDataCodec.decode(Arrays.copyOf(encoded, encoded.length - 4)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void serializer_ReadsLegacyJsonSessions() {
+        SessionData session = SessionTestDataFactory.createSessionData();
+        session.setMetadata(null);
+        byte[] legacy = SessionAwareRedisSerializer.jsonSerializer().serialize(session);
+
+        Object decoded = new SessionAwareRedisSerializer(true).deserialize(legacy);
+
+        assertThat(decoded).isInstanceOf(SessionData.class);
+        assertThat(((SessionData) decoded).getSessionId()).isEqualTo(session.getSessionId());
+    }
+
+    @Test
+    void serializer_WritesJsonWhenBinaryDisabled() {
+        SessionData session = SessionTestDataFactory.createSessionData();
+
+        byte[] bytes = new SessionAwareRedisSerializer(false).serialize(session);
+
+        assertThat(SessionDataCodec.isEncoded(bytes)).isFalse();
+    }
+
+    @Test
+    void serializer_LeavesOtherValuesAsJson() {
+        SessionAwareRedisSerializer serializer = new SessionAwareRedisSerializer(true);
+
+        assertThat(serializer.deserialize(serializer.serialize("session-1"))).isEqualTo("session-1");
+    }
+
+    @Test
+    void serializer_WrapsCorruptSessions() {
+        byte[] corrupt = {SessionDataCodec.MAGIC, SessionDataCodec.VERSION, 1, 50};
+
+        assertThatThrownBy(() -> new SessionAwareRedisSerializer(true).deserialize(corrupt))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void encode_IsAtLeastThreeTimesSmallerThanJson() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(SECRET, 3_600_000L, 10L);
+        SessionData session = SessionTestDataFactory.createSessionData();
+        session.setAccessToken(tokenProvider.createToken(session.getUserId(), session.getTenantId(), "USER", session.getSessionId()));
+        session.setRefreshToken(UUID.randomUUID() + "-" + System.currentTimeMillis());
+        session.setTokenFingerprint(sha256("token"));
+        session.setDeviceFingerprint(sha256("device"));
+        session.getDeviceInfo().setDeviceId(sha256("device"));
+        session.setMetadata(null);
+
+        int json = SessionAwareRedisSerializer.jsonSerializer().serialize(session).length;
+        int binary = SessionDataCodec.encode(session).length;
+
+        System.out.printf("session json=%d bytes, binary=%d bytes%n", json, binary);
+        assertThat(binary * 3).isLessThanOrEqualTo(json);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -17,6 +17,7 @@ class SessionPropertiesTest {
         assertThat(properties.getConcurrent().getMaxSessions()).isEqualTo(5);
         assertThat(properties.getSecurity().isFingerprintVerification()).isTrue();
         assertThat(properties.getAudit().getRetentionDays()).isEqualTo(365);
+        assertThat(properties.getAudit().getPartitionsAhead()).isEqualTo(3);
     }
 
     @Test
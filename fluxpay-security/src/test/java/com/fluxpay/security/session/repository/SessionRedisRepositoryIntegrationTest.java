@@ -71,33 +71,32 @@ class SessionRedisRepositoryIntegrationTest {
     }
 
     @Test
-    void shouldBlacklistToken() {
-        String token = "test-token";
+    void shouldRevokeToken() {
+        String tokenDigest = "dGVzdC10b2tlbi1kaWdlc3Q";
 
-        sessionRedisRepository.blacklistToken(token, Duration.ofMinutes(5));
+        sessionRedisRepository.revokeToken(tokenDigest, Duration.ofMinutes(5));
 
-        boolean isBlacklisted = sessionRedisRepository.isTokenBlacklisted(token);
+        boolean isRevoked = sessionRedisRepository.isTokenRevoked(tokenDigest);
 
-        assertThat(isBlacklisted).isTrue();
+        assertThat(isRevoked).isTrue();
     }
 
     @Test
-    void shouldFindOldestSession() {
+    void shouldEvictSessionClosestToExpiry() {
         UUID tenantId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
         SessionData session1 = SessionTestDataFactory.createSessionData(tenantId, userId);
         SessionData session2 = SessionTestDataFactory.createSessionData(tenantId, userId);
         
-        session1.setCreatedAt(java.time.Instant.now().minusSeconds(3600));
-        session2.setCreatedAt(java.time.Instant.now());
+        session1.setExpiresAt(java.time.Instant.now().plusSeconds(600));
+        session2.setExpiresAt(java.time.Instant.now().plusSeconds(3600));
 
         sessionRedisRepository.save(session1);
         sessionRedisRepository.save(session2);
 
-        SessionData oldest = sessionRedisRepository.findOldestSession(tenantId, userId);
-
-        assertThat(oldest).isNotNull();
-        assertThat(oldest.getSessionId()).isEqualTo(session1.getSessionId());
+        assertThat(sessionRedisRepository.evictExcessSessions(tenantId, userId, 2))
+                .containsExactly(session1.getSessionId());
+        assertThat(sessionRedisRepository.countActiveSessions(tenantId, userId)).isEqualTo(1);
     }
 
     @Test
@@ -1,5 +1,10 @@
 package com.fluxpay.security.session.repository;
 
+import com.fluxpay.security.jwt.TokenDigest;
+import com.fluxpay.security.session.codec.SessionAwareRedisSerializer;
+import com.fluxpay.security.session.codec.SessionDataCodec;
+import com.fluxpay.security.session.model.RevocationEpoch;
+import com.fluxpay.security.session.model.SessionAccess;
 import com.fluxpay.security.session.model.SessionData;
 import com.fluxpay.security.session.util.SessionTestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,13 +15,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -35,7 +46,7 @@ class SessionRedisRepositoryTest {
     private ValueOperations<String, Object> valueOperations;
 
     @Mock
-    private SetOperations<String, Object> setOperations;
+    private ZSetOperations<String, Object> zSetOperations;
 
     @InjectMocks
     private SessionRedisRepository sessionRedisRepository;
@@ -51,16 +62,36 @@ class SessionRedisRepositoryTest {
         testSession = SessionTestDataFactory.createSessionData(tenantId, userId);
         
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        doReturn(new SessionAwareRedisSerializer(true)).when(redisTemplate).getValueSerializer();
     }
 
     @Test
-    void save_ShouldSaveSessionToRedis() {
+    void save_ShouldWriteAllKeysInOneScript() {
         sessionRedisRepository.save(testSession);
 
-        verify(valueOperations, times(2)).set(anyString(), any(), anyLong(), eq(TimeUnit.MINUTES));
-        verify(setOperations).add(anyString(), eq(testSession.getSessionId()));
-        verify(redisTemplate).expire(anyString(), anyLong(), eq(TimeUnit.MINUTES));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(
+                        "user_session_index:" + tenantId + ":" + userId,
+                        "user_sessions:" + tenantId + ":" + userId,
+                        "session:" + tenantId + ":" + userId + ":" + testSession.getSessionId(),
+                        "refresh:" + testSession.getRefreshToken())),
+                anyLong(), eq("session:" + tenantId + ":" + userId + ":"),
+                eq(testSession), eq(testSession.getSessionId()), anyLong(), anyLong(), anyString(), anyLong());
+        verifyNoInteractions(valueOperations, zSetOperations);
+    }
+
+    @Test
+    void save_ShouldSkipRefreshKey_WhenNoRefreshToken() {
+        testSession.setRefreshToken(null);
+
+        sessionRedisRepository.save(testSession);
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(
+                        "user_session_index:" + tenantId + ":" + userId,
+                        "user_sessions:" + tenantId + ":" + userId,
+                        "session:" + tenantId + ":" + userId + ":" + testSession.getSessionId())),
+                anyLong(), anyString(),
+                eq(testSession), eq(testSession.getSessionId()), anyLong(), anyLong(), anyString(), anyLong());
     }
 
     @Test
@@ -83,19 +114,33 @@ class SessionRedisRepositoryTest {
     }
 
     @Test
-    void findAllByUser_ShouldReturnAllSessions() {
-        Set<Object> sessionIds = Set.of(testSession.getSessionId());
-        when(setOperations.members(anyString())).thenReturn(sessionIds);
-        when(valueOperations.get(anyString())).thenReturn(testSession);
+    void findAllByUser_ShouldLoadIndexedSessionsInOnePipeline() {
+        SessionData expired = SessionTestDataFactory.createSessionData(tenantId, userId);
+        doReturn(List.of(testSession.getSessionId(), expired.getSessionId()))
+                .when(redisTemplate).execute(any(RedisScript.class), anyList(), anyLong(), anyString());
+        when(redisTemplate.executePipelined(any(RedisCallback.class), isNull())).thenReturn(List.of(
+                Arrays.asList(SessionDataCodec.encode(testSession), null),
+                Arrays.asList(null, null),
+                Arrays.asList(null, null)));
+
+        List<SessionData> sessions = sessionRedisRepository.findAllByUser(tenantId, userId);
+
+        assertThat(sessions).extracting(SessionData::getSessionId).containsExactly(testSession.getSessionId());
+        verify(valueOperations, never()).get(anyString());
+    }
 
-        var sessions = sessionRedisRepository.findAllByUser(tenantId, userId);
+    @Test
+    void findAllByUser_ShouldSkipPipeline_WhenIndexEmpty() {
+        doReturn(List.of()).when(redisTemplate).execute(any(RedisScript.class), anyList(), anyLong(), anyString());
 
-        assertThat(sessions).hasSize(1);
+        assertThat(sessionRedisRepository.findAllByUser(tenantId, userId)).isEmpty();
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class), any());
     }
 
     @Test
-    void countActiveSessions_ShouldReturnCount() {
-        when(setOperations.size(anyString())).thenReturn(3L);
+    void countActiveSessions_ShouldCountUnexpiredIndexEntries() {
+        when(zSetOperations.count(eq("user_session_index:" + tenantId + ":" + userId), anyDouble(),
+                eq(Double.POSITIVE_INFINITY))).thenReturn(3L);
 
         long count = sessionRedisRepository.countActiveSessions(tenantId, userId);
 
@@ -103,38 +148,155 @@ class SessionRedisRepositoryTest {
     }
 
     @Test
-    void delete_ShouldRemoveSession() {
-        sessionRedisRepository.delete(tenantId, userId, testSession.getSessionId());
+    void evictExcessSessions_ShouldReturnPoppedSessionIds() {
+        doReturn(List.of("oldest")).when(redisTemplate)
+                .execute(any(RedisScript.class), anyList(), anyLong(), anyString(), eq(5));
 
-        verify(redisTemplate).delete(anyString());
-        verify(setOperations).remove(anyString(), eq(testSession.getSessionId()));
+        assertThat(sessionRedisRepository.evictExcessSessions(tenantId, userId, 5)).containsExactly("oldest");
+    }
+
+    @Test
+    void delete_ShouldRemoveSessionInOneScript() {
+        sessionRedisRepository.delete(testSession);
+
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(
+                        "session:" + tenantId + ":" + userId + ":" + testSession.getSessionId(),
+                        "session_access:" + tenantId + ":" + userId + ":" + testSession.getSessionId(),
+                        "user_session_index:" + tenantId + ":" + userId,
+                        "user_sessions:" + tenantId + ":" + userId,
+                        "refresh:" + testSession.getRefreshToken())),
+                eq(testSession.getSessionId()), anyString());
+        verifyNoInteractions(valueOperations);
     }
 
     @Test
-    void blacklistToken_ShouldAddToBlacklist() {
-        Duration ttl = Duration.ofHours(1);
+    void delete_ShouldLoadRefreshToken_WhenOnlyIdsKnown() {
+        when(valueOperations.get(anyString())).thenReturn(testSession);
 
-        sessionRedisRepository.blacklistToken("test-token", ttl);
+        sessionRedisRepository.delete(tenantId, userId, testSession.getSessionId());
 
-        verify(valueOperations).set(anyString(), eq("blacklisted"), anyLong(), eq(TimeUnit.MINUTES));
+        verify(redisTemplate).execute(any(RedisScript.class), argThat((List<String> keys) ->
+                keys.size() == 5 && keys.get(4).equals("refresh:" + testSession.getRefreshToken())),
+                eq(testSession.getSessionId()), anyString());
     }
 
     @Test
-    void isTokenBlacklisted_ShouldReturnTrue_WhenBlacklisted() {
-        when(redisTemplate.hasKey(anyString())).thenReturn(true);
+    void revokeToken_ShouldStoreDigestKeyWithTtl() {
+        sessionRedisRepository.revokeToken("digest", Duration.ofMinutes(5));
 
-        boolean result = sessionRedisRepository.isTokenBlacklisted("test-token");
+        verify(valueOperations).set("revoked:digest", 1, 300L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void revokeToken_ShouldKeepSubMinuteTtl() {
+        sessionRedisRepository.revokeToken("digest", Duration.ofSeconds(20));
 
-        assertThat(result).isTrue();
+        verify(valueOperations).set("revoked:digest", 1, 20L, TimeUnit.SECONDS);
     }
 
     @Test
-    void isTokenBlacklisted_ShouldReturnFalse_WhenNotBlacklisted() {
+    void isTokenRevoked_ShouldReturnTrue_WhenRevoked() {
+        when(redisTemplate.hasKey("revoked:digest")).thenReturn(true);
+
+        assertThat(sessionRedisRepository.isTokenRevoked("digest")).isTrue();
+    }
+
+    @Test
+    void isTokenRevoked_ShouldReturnFalse_WhenNotRevoked() {
         when(redisTemplate.hasKey(anyString())).thenReturn(false);
 
-        boolean result = sessionRedisRepository.isTokenBlacklisted("test-token");
+        assertThat(sessionRedisRepository.isTokenRevoked("digest")).isFalse();
+    }
+
+    @Test
+    void publishRevocation_ShouldSendDigestOnChannel() {
+        sessionRedisRepository.publishRevocation("digest");
+
+        verify(redisTemplate).convertAndSend("token_revocations", "digest");
+    }
+
+    @Test
+    void saveRevocationEpoch_ShouldStoreEpochMilliAndExemptSession() {
+        sessionRedisRepository.saveRevocationEpoch("user:t:u",
+                new RevocationEpoch(Instant.ofEpochMilli(1_700_000_000_123L), "current"), Duration.ofDays(7));
+
+        verify(valueOperations).set("revocation_epoch:user:t:u", "1700000000123:current", 604_800L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void findRevocationEpoch_ShouldParseStoredEpoch() {
+        when(valueOperations.get("revocation_epoch:user:t:u")).thenReturn("1700000000123:current");
+
+        assertThat(sessionRedisRepository.findRevocationEpoch("user:t:u"))
+                .isEqualTo(new RevocationEpoch(Instant.ofEpochMilli(1_700_000_000_123L), "current"));
+    }
+
+    @Test
+    void findRevocationEpoch_ShouldParseLegacyEpochSeconds() {
+        when(valueOperations.get("revocation_epoch:user:t:u")).thenReturn("1700000000:current");
 
-        assertThat(result).isFalse();
+        assertThat(sessionRedisRepository.findRevocationEpoch("user:t:u"))
+                .isEqualTo(new RevocationEpoch(Instant.ofEpochSecond(1_700_000_000L), "current"));
+    }
+
+    @Test
+    void findRevocationEpoch_ShouldReturnNone_WhenAbsent() {
+        when(valueOperations.get(anyString())).thenReturn(null);
+
+        assertThat(sessionRedisRepository.findRevocationEpoch("tenant:t")).isSameAs(RevocationEpoch.NONE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void migrateLegacyBlacklist_ShouldRewriteLiveEntriesAsDigests() {
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn("blacklist:live-token", "blacklist:expired-token");
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(redisTemplate.getExpire("blacklist:live-token", TimeUnit.SECONDS)).thenReturn(120L);
+        when(redisTemplate.getExpire("blacklist:expired-token", TimeUnit.SECONDS)).thenReturn(-2L);
+
+        int migrated = sessionRedisRepository.migrateLegacyBlacklist();
+
+        assertThat(migrated).isEqualTo(1);
+        verify(valueOperations).set("revoked:" + TokenDigest.of("live-token"), 1, 120L, TimeUnit.SECONDS);
+        verify(redisTemplate).delete("blacklist:live-token");
+        verify(redisTemplate).delete("blacklist:expired-token");
+    }
+
+    @Test
+    void recordAccess_ShouldPipelineHashUpdates() {
+        SessionAccess access = new SessionAccess(tenantId, userId, "session-1", 3, Instant.now(), Instant.now().plusSeconds(600));
+
+        sessionRedisRepository.recordAccess(List.of(access));
+
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void recordAccess_ShouldSkipEmptyBatch() {
+        sessionRedisRepository.recordAccess(List.of());
+
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void findAllByUser_ShouldMergeAccessStats() {
+        testSession.setRequestCount(2);
+        testSession.setLastAccess(Instant.now().minusSeconds(600));
+        Instant flushedAccess = Instant.now().minusSeconds(5);
+        doReturn(List.of(testSession.getSessionId()))
+                .when(redisTemplate).execute(any(RedisScript.class), anyList(), anyLong(), anyString());
+        when(redisTemplate.executePipelined(any(RedisCallback.class), isNull())).thenReturn(List.of(
+                List.of(SessionDataCodec.encode(testSession)),
+                List.of("5".getBytes(StandardCharsets.UTF_8),
+                        Long.toString(flushedAccess.toEpochMilli()).getBytes(StandardCharsets.UTF_8))));
+
+        var sessions = sessionRedisRepository.findAllByUser(tenantId, userId);
+
+        assertThat(sessions).hasSize(1);
+        assertThat(sessions.get(0).getRequestCount()).isEqualTo(7);
+        assertThat(sessions.get(0).getLastAccess()).isEqualTo(Instant.ofEpochMilli(flushedAccess.toEpochMilli()));
     }
 
     @Test
@@ -143,21 +305,45 @@ class SessionRedisRepositoryTest {
 
         sessionRedisRepository.update(testSession);
 
-        verify(valueOperations).set(anyString(), eq(testSession), anyLong(), eq(TimeUnit.MINUTES));
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), anyLong(), anyString(),
+                eq(testSession), eq(testSession.getSessionId()), anyLong(), anyLong(), anyString(), anyLong());
     }
 
     @Test
-    void findByRefreshToken_ShouldReturnSession() {
-        String sessionKey = "session:tenant:user:" + testSession.getSessionId();
+    void findByRefreshToken_ShouldReadSessionKeyDirectly() {
+        String sessionKey = "session:" + tenantId + ":" + userId + ":" + testSession.getSessionId();
+        when(valueOperations.get("refresh:" + testSession.getRefreshToken())).thenReturn(sessionKey);
+        when(valueOperations.get(sessionKey)).thenReturn(testSession);
+
+        SessionData result = sessionRedisRepository.findByRefreshToken(testSession.getRefreshToken());
+
+        assertThat(result).isSameAs(testSession);
+        verify(redisTemplate, never()).scan(any(ScanOptions.class));
+        verify(redisTemplate, never()).keys(anyString());
+    }
+
+    @Test
+    void findByRefreshToken_ShouldScanForLegacySessionIdEntries() {
+        String sessionKey = "session:" + tenantId + ":" + userId + ":" + testSession.getSessionId();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenReturn(true);
+        when(cursor.next()).thenReturn(sessionKey);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
         when(valueOperations.get("refresh:" + testSession.getRefreshToken())).thenReturn(testSession.getSessionId());
-        when(redisTemplate.keys(anyString())).thenReturn(Set.of(sessionKey));
         when(valueOperations.get(sessionKey)).thenReturn(testSession);
 
         SessionData result = sessionRedisRepository.findByRefreshToken(testSession.getRefreshToken());
 
-        assertThat(result).isNotNull();
-        assertThat(result.getSessionId()).isEqualTo(testSession.getSessionId());
+        assertThat(result).isSameAs(testSession);
+        verify(redisTemplate, never()).keys(anyString());
     }
-}
 
+    @Test
+    void findByRefreshToken_ShouldRejectRotatedToken() {
+        String sessionKey = "session:" + tenantId + ":" + userId + ":" + testSession.getSessionId();
+        when(valueOperations.get("refresh:old-refresh-token")).thenReturn(sessionKey);
+        when(valueOperations.get(sessionKey)).thenReturn(testSession);
 
+        assertThat(sessionRedisRepository.findByRefreshToken("old-refresh-token")).isNull();
+    }
+}
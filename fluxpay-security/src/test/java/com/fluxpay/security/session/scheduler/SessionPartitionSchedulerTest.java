@@ -0,0 +1,88 @@
+package com.fluxpay.security.session.scheduler;
+
+import com.fluxpay.security.session.config.SessionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionPartitionSchedulerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SessionProperties sessionProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private SessionPartitionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        sessionProperties = new SessionProperties();
+        sessionProperties.getAudit().setRetentionDays(90);
+        sessionProperties.getAudit().setPartitionsAhead(2);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new SessionPartitionScheduler(jdbcTemplate, sessionProperties, meterRegistry);
+    }
+
+    @Test
+    void maintainPartitions_CreatesCurrentAndUpcomingMonths() {
+        scheduler.maintainPartitions(LocalDate.of(2026, 10, 19));
+
+        for (String table : SessionPartitionScheduler.PARTITIONED_TABLES) {
+            verify(jdbcTemplate).queryForObject("SELECT create_monthly_partition(?, ?)", Object.class,
+                    table, Date.valueOf("2026-10-01"));
+            verify(jdbcTemplate).queryForObject("SELECT create_monthly_partition(?, ?)", Object.class,
+                    table, Date.valueOf("2026-11-01"));
+            verify(jdbcTemplate).queryForObject("SELECT create_monthly_partition(?, ?)", Object.class,
+                    table, Date.valueOf("2026-12-01"));
+        }
+        verify(jdbcTemplate, times(6)).queryForObject(eq("SELECT create_monthly_partition(?, ?)"), eq(Object.class), any(), any());
+    }
+
+    @Test
+    void maintainPartitions_DropsPartitionsPastRetention() {
+        scheduler.maintainPartitions(LocalDate.of(2026, 10, 19));
+
+        for (String table : SessionPartitionScheduler.PARTITIONED_TABLES) {
+            verify(jdbcTemplate).queryForObject("SELECT drop_monthly_partitions_before(?, ?)", Integer.class,
+                    table, Date.valueOf("2026-07-21"));
+        }
+    }
+
+    @Test
+    void maintainPartitions_ContinuesWithNextTable_WhenOneFails() {
+        when(jdbcTemplate.queryForObject(eq("SELECT create_monthly_partition(?, ?)"), eq(Object.class), eq("session_audit_logs"), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        scheduler.maintainPartitions(LocalDate.of(2026, 10, 19));
+
+        verify(jdbcTemplate).queryForObject("SELECT drop_monthly_partitions_before(?, ?)", Integer.class,
+                "session_events", Date.valueOf("2026-07-21"));
+    }
+
+    @Test
+    void maintainPartitions_CountsFailuresPerTable() {
+        when(jdbcTemplate.queryForObject(eq("SELECT create_monthly_partition(?, ?)"), eq(Object.class), eq("session_audit_logs"), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        scheduler.maintainPartitions(LocalDate.of(2026, 10, 19));
+
+        assertThat(meterRegistry.counter("session.partition.maintenance.failed", "table", "session_audit_logs").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.find("session.partition.maintenance.failed").tag("table", "session_events").counter())
+                .isNull();
+    }
+}
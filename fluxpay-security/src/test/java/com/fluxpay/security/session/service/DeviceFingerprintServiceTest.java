@@ -9,6 +9,11 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -132,6 +137,38 @@ class DeviceFingerprintServiceTest {
 
         assertThat(fingerprint).isNotNull().isNotEmpty();
     }
-}
 
+    @Test
+    void generateFingerprint_ShouldHashJoinedHeaders() throws Exception {
+        HttpServletRequest request = SessionTestDataFactory.createMockHttpServletRequest();
+        String raw = String.join("|", request.getHeader("User-Agent"), request.getHeader("Accept-Language"),
+                request.getHeader("Accept-Encoding"));
+        String expected = Base64.getEncoder().encodeToString(
+                MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(deviceFingerprintService.generateFingerprint(request)).isEqualTo(expected);
+    }
+
+    @Test
+    void generateFingerprint_ShouldBeComputedOncePerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("User-Agent", "agent");
+
+        String fingerprint = deviceFingerprintService.generateFingerprint(request);
+        DeviceInfo deviceInfo = deviceFingerprintService.extractDeviceInfo(request);
 
+        assertThat(request.getAttribute(DeviceFingerprintService.FINGERPRINT_ATTRIBUTE)).isEqualTo(fingerprint);
+        assertThat(deviceInfo.getDeviceId()).isSameAs(fingerprint);
+    }
+
+    @Test
+    void extractDeviceInfo_ShouldReturnIndependentCopiesForCachedAgent() {
+        DeviceInfo first = deviceFingerprintService.extractDeviceInfo(SessionTestDataFactory.createMockHttpServletRequest());
+        first.setBrowser("changed");
+
+        DeviceInfo second = deviceFingerprintService.extractDeviceInfo(SessionTestDataFactory.createMockHttpServletRequest());
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getBrowser()).isEqualTo("Chrome");
+    }
+}
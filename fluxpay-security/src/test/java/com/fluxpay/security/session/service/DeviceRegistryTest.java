@@ -0,0 +1,74 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.security.session.model.DeviceInfo;
+import com.fluxpay.security.session.util.SessionTestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceRegistryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private DeviceRegistry deviceRegistry;
+
+    @BeforeEach
+    void setUp() {
+        deviceRegistry = new DeviceRegistry(jdbcTemplate, 100);
+    }
+
+    @Test
+    void resolve_RegistersDeviceOnce() {
+        UUID id = UUID.randomUUID();
+        DeviceInfo deviceInfo = SessionTestDataFactory.createDeviceInfo();
+        when(jdbcTemplate.queryForObject(anyString(), eq(UUID.class), any(Object[].class))).thenReturn(id);
+
+        assertThat(deviceRegistry.resolve(deviceInfo)).isEqualTo(id);
+        assertThat(deviceRegistry.resolve(deviceInfo)).isEqualTo(id);
+
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(UUID.class), any(Object[].class));
+    }
+
+    @Test
+    void resolve_WithoutFingerprint_ReturnsNull() {
+        DeviceInfo deviceInfo = SessionTestDataFactory.createDeviceInfo();
+        deviceInfo.setDeviceId(null);
+
+        assertThat(deviceRegistry.resolve(deviceInfo)).isNull();
+        assertThat(deviceRegistry.resolve(null)).isNull();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void resolve_WhenRegistrationFails_ReturnsNullAndRetriesLater() {
+        UUID id = UUID.randomUUID();
+        DeviceInfo deviceInfo = SessionTestDataFactory.createDeviceInfo();
+        when(jdbcTemplate.queryForObject(anyString(), eq(UUID.class), any(Object[].class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenReturn(id);
+
+        assertThat(deviceRegistry.resolve(deviceInfo)).isNull();
+        // Caffeine drops the failed future from a completion callback that may run after the first resolve returns
+        UUID resolved = null;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (resolved == null && System.nanoTime() < deadline) {
+            resolved = deviceRegistry.resolve(deviceInfo);
+        }
+        assertThat(resolved).isEqualTo(id);
+    }
+}
@@ -0,0 +1,105 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.common.exception.RateLimitExceededException;
+import com.fluxpay.security.session.config.SessionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleServiceTest {
+
+    private static final String ACCOUNT_KEY = "login_failures:account:user@example.com";
+    private static final String IP_KEY = "login_failures:ip:10.0.0.1";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private SessionProperties properties;
+    private LoginThrottleService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SessionProperties();
+        service = new LoginThrottleService(redisTemplate, properties);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void checkAllowed_BelowLimits_ShouldPass() {
+        when(valueOperations.multiGet(List.of(ACCOUNT_KEY, IP_KEY))).thenReturn(Arrays.asList(4, null));
+
+        assertThatCode(() -> service.checkAllowed("User@Example.com ", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkAllowed_AtAccountLimit_ShouldThrow() {
+        when(valueOperations.multiGet(List.of(ACCOUNT_KEY, IP_KEY))).thenReturn(Arrays.asList(5, 5));
+
+        assertThatThrownBy(() -> service.checkAllowed("user@example.com", "10.0.0.1"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void checkAllowed_AtIpLimit_ShouldThrow() {
+        when(valueOperations.multiGet(List.of(ACCOUNT_KEY, IP_KEY))).thenReturn(Arrays.asList(null, 50));
+
+        assertThatThrownBy(() -> service.checkAllowed("user@example.com", "10.0.0.1"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordFailure_ShouldCountAccountAndIpUntilLockoutExpires() {
+        long lockoutMillis = Duration.ofMinutes(15).toMillis();
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(ACCOUNT_KEY)), eq(lockoutMillis)))
+                .thenReturn(2L);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(IP_KEY)), eq(lockoutMillis)))
+                .thenReturn(7L);
+
+        int failures = service.recordFailure("user@example.com", "10.0.0.1");
+
+        assertThat(failures).isEqualTo(2);
+        verify(valueOperations, never()).increment(anyString());
+        verify(redisTemplate, never()).expire(anyString(), any(Duration.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordFailure_ShouldSetTtlOnlyWhenCounterStarts() {
+        ArgumentCaptor<RedisScript<Long>> script = ArgumentCaptor.forClass(RedisScript.class);
+
+        service.recordFailure("user@example.com", null);
+
+        verify(redisTemplate).execute(script.capture(), eq(List.of(ACCOUNT_KEY)),
+                eq(Duration.ofMinutes(15).toMillis()));
+        assertThat(script.getValue().getScriptAsString())
+                .contains("INCR", "PEXPIRE")
+                .contains("count == 1");
+    }
+
+    @Test
+    void recordSuccess_ShouldClearAccountCounterAndReturnPriorFailures() {
+        when(valueOperations.getAndDelete(ACCOUNT_KEY)).thenReturn(3);
+
+        assertThat(service.recordSuccess("user@example.com")).isEqualTo(3);
+    }
+}
@@ -1,89 +1,139 @@
 package com.fluxpay.security.session.service;
 
+import com.fluxpay.security.session.config.RateLimitProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.mockito.stubbing.OngoingStubbing;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
 class RateLimitServiceTest {
 
     @Mock
     private RedisTemplate<String, Object> redisTemplate;
 
-    @Mock
-    private ValueOperations<String, Object> valueOperations;
-
-    @InjectMocks
+    private RateLimitProperties properties;
     private RateLimitService rateLimitService;
 
     @BeforeEach
     void setUp() {
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        properties = new RateLimitProperties();
+        rateLimitService = new RateLimitService(redisTemplate, properties, 1000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void grant(long... permits) {
+        OngoingStubbing<Object> stubbing = when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()));
+        for (long permit : permits) {
+            stubbing = stubbing.thenReturn(permit);
+        }
     }
 
     @Test
-    void testIsRateLimited_ShouldReturnFalse_WhenUnderLimit() {
-        when(valueOperations.increment(anyString())).thenReturn(1L);
-        when(redisTemplate.expire(anyString(), anyLong(), any())).thenReturn(true);
+    void testIsRateLimited_ShouldReturnFalse_WhenPermitGranted() {
+        grant(1L);
 
         boolean result = rateLimitService.isRateLimited("test-id", "session_creation");
 
         assertFalse(result);
-        verify(redisTemplate).expire(anyString(), eq(Duration.ofMinutes(1).getSeconds()), any());
+        long interval = Duration.ofMinutes(1).toNanos() / 1000 / 5;
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("ratelimit:session_creation:test-id")),
+                eq(interval), eq(interval * 5), eq(1));
     }
 
-    @org.junit.jupiter.params.ParameterizedTest
-    @org.junit.jupiter.params.provider.ValueSource(longs = {6L, 7L, 100L})
-    void testIsRateLimited_ShouldReturnTrue_WhenAtOrOverLimit(long count) {
-        when(valueOperations.increment(anyString())).thenReturn(count);
+    @Test
+    void testIsRateLimited_ShouldReturnTrue_WhenNoPermitGranted() {
+        grant(0L);
 
-        boolean result = rateLimitService.isRateLimited("test-id", "session_creation");
+        assertTrue(rateLimitService.isRateLimited("test-id", "session_creation"));
+    }
+
+    @Test
+    void testIsRateLimited_ShouldReturnTrue_WhenScriptReturnsNull() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(null);
 
-        assertTrue(result);
+        assertTrue(rateLimitService.isRateLimited("test-id", "session_creation"));
     }
 
     @Test
-    void testIsRateLimited_ShouldHandleNullCount() {
-        when(valueOperations.increment(anyString())).thenReturn(null);
+    void testIsRateLimited_ShouldLeaseBlockForHighLimits() {
+        grant(50L);
 
-        boolean result = rateLimitService.isRateLimited("test-id", "session_creation");
+        for (int i = 0; i < 50; i++) {
+            assertFalse(rateLimitService.isRateLimited("session-1", "session_requests"));
+        }
 
-        assertFalse(result);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyLong(), anyLong(), eq(50));
     }
 
-    @org.junit.jupiter.params.ParameterizedTest
-    @org.junit.jupiter.params.provider.CsvSource({
-        "session_requests, 1001",
-        "unknown_operation, 101"
-    })
-    void testIsRateLimited_ForDifferentOperations_ShouldReturnTrue_WhenOverLimit(String operation, long count) {
-        when(valueOperations.increment(anyString())).thenReturn(count);
+    @Test
+    void testIsRateLimited_ShouldGoBackToRedis_WhenLeaseExhausted() {
+        grant(2L, 0L);
+
+        assertFalse(rateLimitService.isRateLimited("session-1", "session_requests"));
+        assertFalse(rateLimitService.isRateLimited("session-1", "session_requests"));
+        assertTrue(rateLimitService.isRateLimited("session-1", "session_requests"));
+    }
 
-        boolean result = rateLimitService.isRateLimited("test-id", operation);
+    @Test
+    void testIsRateLimited_ShouldKeepLeasesPerIdentifier() {
+        grant(50L, 0L);
 
-        assertTrue(result);
+        assertFalse(rateLimitService.isRateLimited("session-1", "session_requests"));
+        assertTrue(rateLimitService.isRateLimited("session-2", "session_requests"));
     }
 
     @Test
-    void testIsRateLimited_ShouldSetExpireOnlyOnFirstIncrement() {
-        when(valueOperations.increment(anyString())).thenReturn(1L, 2L);
-        when(redisTemplate.expire(anyString(), anyLong(), any())).thenReturn(true);
+    void testIsRateLimited_ShouldUseConfiguredLimits() {
+        properties.getOperations().put("session_creation", 40);
+        grant(2L);
 
-        rateLimitService.isRateLimited("test-id", "session_creation");
         rateLimitService.isRateLimited("test-id", "session_creation");
 
-        verify(redisTemplate, times(1)).expire(anyString(), anyLong(), any());
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), anyLong(), anyLong(), eq(2));
     }
-}
 
+    @Test
+    void testIsRateLimited_ShouldFallBackToDefaultLimit_ForUnknownOperation() {
+        grant(1L);
+
+        rateLimitService.isRateLimited("test-id", "unknown_operation");
+
+        long interval = Duration.ofMinutes(1).toNanos() / 1000 / 100;
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), eq(interval), eq(interval * 100), eq(5));
+    }
+
+    @Test
+    void testIsTenantRateLimited_ShouldUseTierLimit() {
+        UUID tenantId = UUID.randomUUID();
+        grant(1L);
+
+        rateLimitService.isTenantRateLimited(tenantId, "enterprise");
+
+        long interval = Duration.ofMinutes(1).toNanos() / 1000 / 12000;
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("ratelimit:tenant_requests:" + tenantId)),
+                eq(interval), eq(interval * 12000), eq(100));
+    }
+
+    @Test
+    void testIsRateLimited_ShouldRejectWithoutRedis_WhenLimitIsZero() {
+        assertTrue(rateLimitService.isRateLimited("key", "api_key_requests", 0));
+
+        verifyNoInteractions(redisTemplate);
+    }
+}
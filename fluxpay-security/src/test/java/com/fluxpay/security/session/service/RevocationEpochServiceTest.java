@@ -0,0 +1,137 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.security.session.config.SessionProperties;
+import com.fluxpay.security.session.model.RevocationEpoch;
+import com.fluxpay.security.session.repository.SessionRedisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RevocationEpochServiceTest {
+
+    @Mock
+    private SessionRedisRepository sessionRepository;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private RevocationEpochService revocationEpochService;
+    private MessageListener epochListener;
+    private UUID tenantId;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        ChannelTopic topic = new ChannelTopic("revocation_epochs");
+        when(sessionRepository.revocationEpochTopic()).thenReturn(topic);
+        when(sessionRepository.findRevocationEpoch(anyString())).thenReturn(RevocationEpoch.NONE);
+
+        SessionProperties properties = new SessionProperties();
+        SessionProperties.Ttl ttl = new SessionProperties.Ttl();
+        ttl.setRefreshToken(Duration.ofDays(7));
+        properties.setTtl(ttl);
+
+        revocationEpochService = new RevocationEpochService(sessionRepository, properties, listenerContainer, 30, 100);
+
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), eq(topic));
+        epochListener = listener.getValue();
+        tenantId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void isRevoked_ReturnsFalse_WhenNoEpochStored() {
+        assertThat(revocationEpochService.isRevoked(tenantId, userId, "session", Instant.now())).isFalse();
+    }
+
+    @Test
+    void revokeUserSessions_RevokesEarlierTokensWithOneWrite() {
+        Instant issuedAt = Instant.now();
+
+        revocationEpochService.revokeUserSessions(tenantId, userId, null);
+
+        assertThat(revocationEpochService.isRevoked(tenantId, userId, "session", issuedAt)).isTrue();
+        assertThat(revocationEpochService.isRevoked(tenantId, UUID.randomUUID(), "session", issuedAt)).isFalse();
+        verify(sessionRepository).saveRevocationEpoch(eq("user:" + tenantId + ":" + userId), any(), eq(Duration.ofDays(7)));
+        verify(sessionRepository).publishRevocationEpoch("user:" + tenantId + ":" + userId);
+    }
+
+    @Test
+    void revokeUserSessions_KeepsExemptSession() {
+        Instant issuedAt = Instant.now();
+
+        revocationEpochService.revokeUserSessions(tenantId, userId, "current");
+
+        assertThat(revocationEpochService.isRevoked(tenantId, userId, "current", issuedAt)).isFalse();
+        assertThat(revocationEpochService.isRevoked(tenantId, userId, "other", issuedAt)).isTrue();
+    }
+
+    @Test
+    void isRevoked_AllowsTokensIssuedAfterEpoch() {
+        revocationEpochService.revokeUserSessions(tenantId, userId, null);
+
+        assertThat(revocationEpochService.isRevoked(tenantId, userId, "session", Instant.now().plusSeconds(2))).isFalse();
+    }
+
+    @Test
+    void isRevoked_AllowsSessionsSignedInWithinTheSameSecond() throws Exception {
+        revocationEpochService.revokeUserSessions(tenantId, userId, null);
+        Thread.sleep(5);
+
+        assertThat(revocationEpochService.isRevoked(tenantId, userId, "fresh", Instant.now())).isFalse();
+    }
+
+    @Test
+    void revokeTenantSessions_RevokesEveryUserInTenant() {
+        Instant issuedAt = Instant.now();
+
+        revocationEpochService.revokeTenantSessions(tenantId);
+
+        assertThat(revocationEpochService.isRevoked(tenantId, userId, "session", issuedAt)).isTrue();
+        assertThat(revocationEpochService.isRevoked(tenantId, UUID.randomUUID(), "session", issuedAt)).isTrue();
+        assertThat(revocationEpochService.isRevoked(UUID.randomUUID(), userId, "session", issuedAt)).isFalse();
+    }
+
+    @Test
+    void isRevoked_CachesEpochLookups() {
+        revocationEpochService.isRevoked(tenantId, userId, "session", Instant.now());
+        revocationEpochService.isRevoked(tenantId, userId, "session", Instant.now());
+
+        verify(sessionRepository, times(2)).findRevocationEpoch(anyString());
+    }
+
+    @Test
+    void epochMessage_EvictsLocalEntry() {
+        String scope = "user:" + tenantId + ":" + userId;
+        revocationEpochService.isRevoked(tenantId, userId, "session", Instant.now());
+        when(sessionRepository.findRevocationEpoch(scope))
+                .thenReturn(new RevocationEpoch(Instant.now().plusSeconds(1), null));
+        when(sessionRepository.readMessage(any(Message.class))).thenReturn(scope);
+
+        epochListener.onMessage(mock(Message.class), null);
+
+        assertThat(revocationEpochService.isRevoked(tenantId, userId, "session", Instant.now())).isTrue();
+    }
+}
@@ -0,0 +1,138 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.security.session.model.SessionAccess;
+import com.fluxpay.security.session.model.SessionData;
+import com.fluxpay.security.session.repository.SessionRedisRepository;
+import com.fluxpay.security.session.util.SessionTestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionAccessTrackerTest {
+
+    @Mock
+    private SessionRedisRepository sessionRepository;
+
+    private SessionAccessTracker accessTracker;
+    private SessionData session;
+
+    @BeforeEach
+    void setUp() {
+        accessTracker = new SessionAccessTracker(sessionRepository);
+        session = SessionTestDataFactory.createSessionData(UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_CoalescesAccessesPerSession() {
+        Instant first = Instant.now().minusSeconds(2);
+        Instant last = Instant.now();
+        accessTracker.record(session, last);
+        accessTracker.record(session, first);
+        accessTracker.record(session, first);
+
+        accessTracker.flush();
+
+        ArgumentCaptor<List<SessionAccess>> batch = ArgumentCaptor.forClass(List.class);
+        verify(sessionRepository).recordAccess(batch.capture());
+        assertThat(batch.getValue()).hasSize(1);
+        SessionAccess access = batch.getValue().get(0);
+        assertThat(access.sessionId()).isEqualTo(session.getSessionId());
+        assertThat(access.requestCount()).isEqualTo(3);
+        assertThat(access.lastAccess()).isEqualTo(Instant.ofEpochMilli(last.toEpochMilli()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_SendsOnlyNewAccessesAndDropsIdleSessions() {
+        accessTracker.record(session, Instant.now());
+        accessTracker.flush();
+
+        accessTracker.flush();
+
+        ArgumentCaptor<List<SessionAccess>> batch = ArgumentCaptor.forClass(List.class);
+        verify(sessionRepository, times(2)).recordAccess(batch.capture());
+        assertThat(batch.getAllValues().get(1)).isEmpty();
+        assertThat(accessTracker.pendingSessions()).isZero();
+    }
+
+    @Test
+    void flush_FailureDoesNotPropagate() {
+        accessTracker.record(session, Instant.now());
+        doThrow(new RuntimeException("Redis unavailable")).when(sessionRepository).recordAccess(anyList());
+
+        accessTracker.flush();
+
+        verify(sessionRepository).recordAccess(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_FailureRequeuesAccessesForNextFlush() {
+        accessTracker.record(session, Instant.now());
+        accessTracker.record(session, Instant.now());
+        doThrow(new RuntimeException("Redis unavailable")).doNothing().when(sessionRepository).recordAccess(anyList());
+        accessTracker.flush();
+        accessTracker.record(session, Instant.now());
+
+        accessTracker.flush();
+
+        ArgumentCaptor<List<SessionAccess>> batch = ArgumentCaptor.forClass(List.class);
+        verify(sessionRepository, times(2)).recordAccess(batch.capture());
+        assertThat(batch.getAllValues().get(1)).singleElement()
+                .extracting(SessionAccess::requestCount).isEqualTo(3L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ConcurrentWithRecord_LosesNoAccesses() throws Exception {
+        List<Long> flushed = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<SessionAccess> batch = invocation.getArgument(0);
+            batch.forEach(access -> flushed.add(access.requestCount()));
+            return null;
+        }).when(sessionRepository).recordAccess(anyList());
+        int writers = 4;
+        int perWriter = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < perWriter; j++) {
+                        accessTracker.record(session, Instant.now());
+                    }
+                }));
+            }
+            while (!futures.stream().allMatch(Future::isDone)) {
+                accessTracker.flush();
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        accessTracker.flush();
+
+        assertThat(flushed.stream().mapToLong(Long::longValue).sum()).isEqualTo((long) writers * perWriter);
+    }
+}
@@ -1,9 +1,8 @@
 package com.fluxpay.security.session.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fluxpay.security.session.entity.SessionAuditLog;
+import com.fluxpay.security.session.model.DeviceInfo;
 import com.fluxpay.security.session.model.SessionData;
-import com.fluxpay.security.session.repository.SessionAuditRepository;
 import com.fluxpay.security.session.util.SessionTestDataFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,17 +14,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class SessionAuditServiceTest {
 
     @Mock
-    private SessionAuditRepository auditRepository;
-
-    @Mock
-    private ObjectMapper objectMapper;
+    private SessionAuditWriter auditWriter;
 
     @InjectMocks
     private SessionAuditService sessionAuditService;
@@ -43,7 +39,7 @@ class SessionAuditServiceTest {
 
         sessionAuditService.logSessionCreated(testSession).get();
 
-        verify(auditRepository).save(captor.capture());
+        verify(auditWriter).enqueue(captor.capture(), any());
         SessionAuditLog log = captor.getValue();
         assertThat(log.getSessionId()).isEqualTo(testSession.getSessionId());
         assertThat(log.getUserId()).isEqualTo(testSession.getUserId());
@@ -57,7 +53,7 @@ class SessionAuditServiceTest {
 
         sessionAuditService.logSessionTerminated(testSession, "Manual logout").get();
 
-        verify(auditRepository).save(captor.capture());
+        verify(auditWriter).enqueue(captor.capture(), any());
         SessionAuditLog log = captor.getValue();
         assertThat(log.getEventType()).isEqualTo("SESSION_TERMINATED");
         assertThat(log.getDetails()).isEqualTo("Manual logout");
@@ -69,7 +65,7 @@ class SessionAuditServiceTest {
 
         sessionAuditService.logTokenRefreshed(testSession).get();
 
-        verify(auditRepository).save(captor.capture());
+        verify(auditWriter).enqueue(captor.capture(), any());
         SessionAuditLog log = captor.getValue();
         assertThat(log.getEventType()).isEqualTo("TOKEN_REFRESHED");
     }
@@ -80,36 +76,31 @@ class SessionAuditServiceTest {
 
         sessionAuditService.logSecurityEvent(testSession, "SUSPICIOUS_LOGIN", "IP change detected").get();
 
-        verify(auditRepository).save(captor.capture());
+        verify(auditWriter).enqueue(captor.capture(), any());
         SessionAuditLog log = captor.getValue();
         assertThat(log.getEventType()).isEqualTo("SUSPICIOUS_LOGIN");
         assertThat(log.getDetails()).isEqualTo("IP change detected");
     }
 
     @Test
-    void serializeDeviceInfo_WithJsonProcessingException_ShouldFallbackToToString() throws Exception {
-        ArgumentCaptor<SessionAuditLog> captor = ArgumentCaptor.forClass(SessionAuditLog.class);
-        when(objectMapper.writeValueAsString(any())).thenThrow(new com.fasterxml.jackson.core.JsonProcessingException("Test exception") {});
+    void logSessionCreated_ShouldHandDeviceToWriterWithoutResolvingIt() throws Exception {
+        ArgumentCaptor<SessionAuditLog> log = ArgumentCaptor.forClass(SessionAuditLog.class);
+        ArgumentCaptor<DeviceInfo> device = ArgumentCaptor.forClass(DeviceInfo.class);
 
         sessionAuditService.logSessionCreated(testSession).get();
 
-        verify(auditRepository).save(captor.capture());
-        SessionAuditLog log = captor.getValue();
-        assertThat(log.getDeviceInfo()).isNotNull();
+        verify(auditWriter).enqueue(log.capture(), device.capture());
+        assertThat(device.getValue()).isEqualTo(testSession.getDeviceInfo()).isNotSameAs(testSession.getDeviceInfo());
+        assertThat(log.getValue().getDeviceId()).isNull();
+        assertThat(log.getValue().getDeviceInfo()).isNull();
     }
 
     @Test
-    void serializeDeviceInfo_WithNullDeviceInfo_ShouldReturnEmptyString() throws Exception {
+    void logSessionCreated_WithNullDeviceInfo_ShouldPassNoDevice() throws Exception {
         testSession.setDeviceInfo(null);
-        ArgumentCaptor<SessionAuditLog> captor = ArgumentCaptor.forClass(SessionAuditLog.class);
-        when(objectMapper.writeValueAsString(null)).thenThrow(new com.fasterxml.jackson.core.JsonProcessingException("Null value") {});
 
         sessionAuditService.logSessionCreated(testSession).get();
 
-        verify(auditRepository).save(captor.capture());
-        SessionAuditLog log = captor.getValue();
-        assertThat(log.getDeviceInfo()).isEmpty();
+        verify(auditWriter).enqueue(any(SessionAuditLog.class), isNull());
     }
 }
-
-
@@ -0,0 +1,254 @@
+package com.fluxpay.security.session.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fluxpay.security.session.entity.SessionAuditLog;
+import com.fluxpay.security.session.model.DeviceInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SessionAuditWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DeviceRegistry deviceRegistry;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SessionAuditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    private SessionAuditWriter writer(int capacity, SessionAuditWriter.OverflowPolicy policy) {
+        return new SessionAuditWriter(jdbcTemplate, deviceRegistry, objectMapper, meterRegistry, capacity, policy, 1, 2, 10, 2, 1);
+    }
+
+    private SessionAuditLog log() {
+        return SessionAuditLog.builder()
+                .sessionId(UUID.randomUUID().toString())
+                .userId(UUID.randomUUID())
+                .tenantId(UUID.randomUUID())
+                .eventType("SESSION_CREATED")
+                .build();
+    }
+
+    private DeviceInfo device() {
+        return DeviceInfo.builder().deviceId("fp").deviceType("desktop").browser("Firefox").build();
+    }
+
+    @Test
+    void enqueue_DoesNotWriteOnCallerThread() {
+        writer = writer(10, SessionAuditWriter.OverflowPolicy.CALLER_RUNS);
+
+        writer.enqueue(log(), null);
+
+        assertThat(writer.pending()).isEqualTo(1);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drain_WritesInBatches() {
+        writer = writer(10, SessionAuditWriter.OverflowPolicy.CALLER_RUNS);
+        for (int i = 0; i < 5; i++) {
+            writer.enqueue(log(), null);
+        }
+
+        writer.drain();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), any(Collection.class),
+                eq(2), any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(Collection.class),
+                eq(1), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(meterRegistry.counter("session.audit.written").count()).isEqualTo(5.0);
+        assertThat(writer.pending()).isZero();
+    }
+
+    @Test
+    void enqueue_StampsEventTime() {
+        writer = writer(10, SessionAuditWriter.OverflowPolicy.CALLER_RUNS);
+        SessionAuditLog log = log();
+
+        writer.enqueue(log, null);
+
+        assertThat(log.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void enqueue_DropsWhenFull_WithDropPolicy() {
+        writer = writer(1, SessionAuditWriter.OverflowPolicy.DROP);
+
+        writer.enqueue(log(), null);
+        writer.enqueue(log(), null);
+
+        assertThat(writer.pending()).isEqualTo(1);
+        assertThat(meterRegistry.counter("session.audit.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void enqueue_DropsAfterTimeout_WithBlockPolicy() {
+        writer = writer(1, SessionAuditWriter.OverflowPolicy.BLOCK);
+
+        writer.enqueue(log(), null);
+        writer.enqueue(log(), null);
+
+        assertThat(meterRegistry.counter("session.audit.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueue_WritesOnCallerThreadWhenFull_WithCallerRunsPolicy() {
+        writer = writer(1, SessionAuditWriter.OverflowPolicy.CALLER_RUNS);
+
+        writer.enqueue(log(), null);
+        writer.enqueue(log(), null);
+
+        verify(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(meterRegistry.counter("session.audit.caller_runs").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_CountsFailures() {
+        writer = writer(10, SessionAuditWriter.OverflowPolicy.CALLER_RUNS);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new RuntimeException("database down"));
+        writer.enqueue(log(), null);
+
+        writer.drain();
+
+        assertThat(meterRegistry.counter("session.audit.failed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void start_RetriesFailedBatches() {
+        writer = writer(10, SessionAuditWriter.OverflowPolicy.BLOCK);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new RuntimeException("database down"))
+                .thenReturn(new int[][]{{1}});
+        writer.start();
+
+        writer.enqueue(log(), null);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> meterRegistry.counter("session.audit.written").count() == 1.0);
+        assertThat(meterRegistry.counter("session.audit.retried").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("session.audit.failed").count()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void start_CountsBatchAsFailedOnceRetriesAreExhausted() {
+        writer = writer(10, SessionAuditWriter.OverflowPolicy.BLOCK);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new RuntimeException("database down"));
+        writer.start();
+
+        writer.enqueue(log(), null);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> meterRegistry.counter("session.audit.failed").count() == 1.0);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void enqueue_DoesNotResolveDeviceOnCallerThread() {
+        writer = writer(10, SessionAuditWriter.OverflowPolicy.BLOCK);
+
+        writer.enqueue(log(), device());
+
+        verifyNoInteractions(deviceRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drain_ReferencesRegisteredDevice() throws Exception {
+        writer = writer(10, SessionAuditWriter.OverflowPolicy.BLOCK);
+        DeviceInfo device = device();
+        UUID deviceId = UUID.randomUUID();
+        when(deviceRegistry.resolve(device)).thenReturn(deviceId);
+        SessionAuditLog log = log();
+        writer.enqueue(log, device);
+
+        writer.drain();
+
+        assertThat(log.getDeviceId()).isEqualTo(deviceId);
+        assertThat(log.getDeviceInfo()).isNull();
+        verify(objectMapper, never()).writeValueAsString(any());
+    }
+
+    @Test
+    void drain_StoresDeviceInline_WhenRegistrationFails() throws Exception {
+        writer = writer(10, SessionAuditWriter.OverflowPolicy.BLOCK);
+        DeviceInfo device = device();
+        when(deviceRegistry.resolve(device)).thenReturn(null);
+        when(objectMapper.writeValueAsString(device)).thenReturn("{\"deviceId\":\"fp\"}");
+        SessionAuditLog log = log();
+        writer.enqueue(log, device);
+
+        writer.drain();
+
+        assertThat(log.getDeviceId()).isNull();
+        assertThat(log.getDeviceInfo()).isEqualTo("{\"deviceId\":\"fp\"}");
+    }
+
+    @Test
+    void drain_FallsBackToToString_WhenDeviceCannotBeSerialized() throws Exception {
+        writer = writer(10, SessionAuditWriter.OverflowPolicy.BLOCK);
+        DeviceInfo device = device();
+        when(objectMapper.writeValueAsString(any())).thenThrow(new JsonProcessingException("Test exception") {});
+        SessionAuditLog log = log();
+        writer.enqueue(log, device);
+
+        writer.drain();
+
+        assertThat(log.getDeviceInfo()).isEqualTo(device.toString());
+    }
+
+    @Test
+    void start_DrainsQueueInBackground() {
+        writer = writer(10, SessionAuditWriter.OverflowPolicy.CALLER_RUNS);
+        writer.start();
+
+        writer.enqueue(log(), null);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> meterRegistry.counter("session.audit.written").count() == 1.0);
+    }
+}
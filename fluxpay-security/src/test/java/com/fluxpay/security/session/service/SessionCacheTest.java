@@ -0,0 +1,108 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.security.session.model.SessionData;
+import com.fluxpay.security.session.repository.SessionRedisRepository;
+import com.fluxpay.security.session.util.SessionTestDataFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SessionCacheTest {
+
+    @Mock
+    private SessionRedisRepository sessionRepository;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private SessionCache sessionCache;
+    private MessageListener invalidationListener;
+    private SessionData session;
+
+    @BeforeEach
+    void setUp() {
+        ChannelTopic topic = new ChannelTopic("session_invalidations");
+        when(sessionRepository.sessionInvalidationTopic()).thenReturn(topic);
+
+        sessionCache = new SessionCache(sessionRepository, listenerContainer, 30, 100);
+
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), eq(topic));
+        invalidationListener = listener.getValue();
+        session = SessionTestDataFactory.createSessionData(UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    @Test
+    void get_ReturnsPutSession() {
+        sessionCache.put(session);
+
+        assertThat(sessionCache.get(session.getTenantId(), session.getUserId(), session.getSessionId())).isEqualTo(session);
+    }
+
+    @Test
+    void get_ReturnsIndependentCopies() {
+        sessionCache.put(session);
+        session.setRole("MUTATED_AFTER_PUT");
+
+        SessionData first = sessionCache.get(session.getTenantId(), session.getUserId(), session.getSessionId());
+        first.setLastAccess(Instant.EPOCH);
+        first.getSecurityFlags().setSuspiciousActivity(true);
+        SessionData second = sessionCache.get(session.getTenantId(), session.getUserId(), session.getSessionId());
+
+        assertThat(first).isNotSameAs(second);
+        assertThat(second.getRole()).isNotEqualTo("MUTATED_AFTER_PUT");
+        assertThat(second.getLastAccess()).isNotEqualTo(Instant.EPOCH);
+        assertThat(second.getSecurityFlags().isSuspiciousActivity()).isFalse();
+    }
+
+    @Test
+    void get_IsScopedToTenantAndUser() {
+        sessionCache.put(session);
+
+        assertThat(sessionCache.get(UUID.randomUUID(), session.getUserId(), session.getSessionId())).isNull();
+        assertThat(sessionCache.get(session.getTenantId(), UUID.randomUUID(), session.getSessionId())).isNull();
+    }
+
+    @Test
+    void invalidate_EvictsAndBroadcasts() {
+        sessionCache.put(session);
+
+        sessionCache.invalidate(session);
+
+        assertThat(sessionCache.get(session.getTenantId(), session.getUserId(), session.getSessionId())).isNull();
+        verify(sessionRepository).publishSessionInvalidation(
+                session.getTenantId() + ":" + session.getUserId() + ":" + session.getSessionId());
+    }
+
+    @Test
+    void invalidationMessage_FromOtherNodeEvictsLocally() {
+        sessionCache.put(session);
+        Message message = mock(Message.class);
+        when(sessionRepository.readMessage(message))
+                .thenReturn(session.getTenantId() + ":" + session.getUserId() + ":" + session.getSessionId());
+
+        invalidationListener.onMessage(message, null);
+
+        assertThat(sessionCache.get(session.getTenantId(), session.getUserId(), session.getSessionId())).isNull();
+        verify(sessionRepository, never()).publishSessionInvalidation(anyString());
+    }
+}
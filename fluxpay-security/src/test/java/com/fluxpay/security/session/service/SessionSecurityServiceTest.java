@@ -38,6 +38,12 @@ class SessionSecurityServiceTest {
     @Mock
     private SessionAuditService auditService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private SessionCache sessionCache;
+
     @InjectMocks
     private SessionSecurityService sessionSecurityService;
 
@@ -74,7 +80,7 @@ class SessionSecurityServiceTest {
 
     @Test
     void validateSession_ShouldReturnTrue_ForValidSession() {
-        when(sessionRepository.isTokenBlacklisted(testSession.getAccessToken())).thenReturn(false);
+        when(tokenRevocationService.isDigestRevoked(testSession.getAccessTokenDigest())).thenReturn(false);
         when(rateLimitService.isRateLimited(testSession.getSessionId(), "session_requests")).thenReturn(false);
 
         boolean result = sessionSecurityService.validateSession(testSession);
@@ -93,7 +99,7 @@ class SessionSecurityServiceTest {
 
     @Test
     void validateSession_ShouldReturnFalse_WhenBlacklisted() {
-        when(sessionRepository.isTokenBlacklisted(testSession.getAccessToken())).thenReturn(true);
+        when(tokenRevocationService.isDigestRevoked(testSession.getAccessTokenDigest())).thenReturn(true);
 
         boolean result = sessionSecurityService.validateSession(testSession);
 
@@ -111,7 +117,7 @@ class SessionSecurityServiceTest {
 
     @Test
     void validateSession_ShouldReturnFalse_WhenRateLimited() {
-        when(sessionRepository.isTokenBlacklisted(testSession.getAccessToken())).thenReturn(false);
+        when(tokenRevocationService.isDigestRevoked(testSession.getAccessTokenDigest())).thenReturn(false);
         when(rateLimitService.isRateLimited(testSession.getSessionId(), "session_requests")).thenReturn(true);
 
         boolean result = sessionSecurityService.validateSession(testSession);
@@ -184,7 +190,7 @@ class SessionSecurityServiceTest {
     @Test
     void validateSession_ShouldReturnTrue_WhenSecurityFlagsIsNull() {
         testSession.setSecurityFlags(null);
-        when(sessionRepository.isTokenBlacklisted(testSession.getAccessToken())).thenReturn(false);
+        when(tokenRevocationService.isDigestRevoked(testSession.getAccessTokenDigest())).thenReturn(false);
         when(rateLimitService.isRateLimited(testSession.getSessionId(), "session_requests")).thenReturn(false);
 
         boolean result = sessionSecurityService.validateSession(testSession);
@@ -195,7 +201,7 @@ class SessionSecurityServiceTest {
     @Test
     void validateSession_ShouldReturnTrue_WhenSessionIdIsNull() {
         testSession.setSessionId(null);
-        when(sessionRepository.isTokenBlacklisted(testSession.getAccessToken())).thenReturn(false);
+        when(tokenRevocationService.isDigestRevoked(testSession.getAccessTokenDigest())).thenReturn(false);
 
         boolean result = sessionSecurityService.validateSession(testSession);
 
@@ -292,7 +298,7 @@ class SessionSecurityServiceTest {
 
     @Test
     void validateSession_ShouldMarkSuspicious_WhenRateLimitExceeded() {
-        when(sessionRepository.isTokenBlacklisted(testSession.getAccessToken())).thenReturn(false);
+        when(tokenRevocationService.isDigestRevoked(testSession.getAccessTokenDigest())).thenReturn(false);
         when(rateLimitService.isRateLimited(testSession.getSessionId(), "session_requests")).thenReturn(true);
 
         boolean result = sessionSecurityService.validateSession(testSession);
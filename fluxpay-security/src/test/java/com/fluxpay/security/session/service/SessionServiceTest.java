@@ -3,6 +3,8 @@ package com.fluxpay.security.session.service;
 import com.fluxpay.common.exception.SessionExpiredException;
 import com.fluxpay.common.exception.SessionInvalidException;
 import com.fluxpay.security.jwt.JwtTokenProvider;
+import com.fluxpay.security.jwt.TokenDigest;
+import com.fluxpay.security.session.codec.SessionDataCodec;
 import com.fluxpay.security.session.config.SessionProperties;
 import com.fluxpay.security.session.model.SessionData;
 import com.fluxpay.security.session.repository.SessionRedisRepository;
@@ -27,6 +29,7 @@ import java.util.concurrent.CompletableFuture;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -49,6 +52,18 @@ class SessionServiceTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private SessionCache sessionCache;
+
+    @Mock
+    private SessionAccessTracker accessTracker;
+
+    @Mock
+    private RevocationEpochService revocationEpochService;
+
     @InjectMocks
     private SessionService sessionService;
 
@@ -83,7 +98,7 @@ class SessionServiceTest {
     @Test
     void createSession_ShouldCreateNewSession() {
         doNothing().when(securityService).validateSessionCreation(testSession);
-        when(sessionRepository.countActiveSessions(tenantId, userId)).thenReturn(2L);
+        when(sessionRepository.evictExcessSessions(tenantId, userId, 5)).thenReturn(List.of());
 
         SessionData result = sessionService.createSession(testSession);
 
@@ -99,13 +114,12 @@ class SessionServiceTest {
         SessionData oldestSession = SessionTestDataFactory.createSessionData(tenantId, userId);
         oldestSession.setCreatedAt(Instant.now().minusSeconds(3600));
 
-        when(sessionRepository.countActiveSessions(tenantId, userId)).thenReturn(5L);
-        when(sessionRepository.findOldestSession(tenantId, userId)).thenReturn(oldestSession);
-        when(sessionRepository.findBySessionId(eq(tenantId), eq(userId), any())).thenReturn(oldestSession);
+        when(sessionRepository.evictExcessSessions(tenantId, userId, 5)).thenReturn(List.of(oldestSession.getSessionId()));
+        when(sessionRepository.findBySessionId(tenantId, userId, oldestSession.getSessionId())).thenReturn(oldestSession);
 
         sessionService.createSession(testSession);
 
-        verify(sessionRepository).delete(tenantId, userId, oldestSession.getSessionId());
+        verify(sessionRepository).delete(oldestSession);
     }
 
     @Test
@@ -118,6 +132,18 @@ class SessionServiceTest {
 
         assertThat(result).isNotNull();
         assertThat(result.getSessionId()).isEqualTo(testSession.getSessionId());
+        verify(sessionCache).put(testSession);
+    }
+
+    @Test
+    void getSession_ShouldServeCachedSessionWithoutRedis() {
+        when(sessionCache.get(tenantId, userId, testSession.getSessionId())).thenReturn(testSession);
+        when(securityService.validateSession(testSession)).thenReturn(true);
+
+        SessionData result = sessionService.getSession(tenantId, userId, testSession.getSessionId());
+
+        assertThat(result).isSameAs(testSession);
+        verify(sessionRepository, never()).findBySessionId(any(), any(), any());
     }
 
     @Test
@@ -129,7 +155,7 @@ class SessionServiceTest {
         SessionData result = sessionService.getSession(tenantId, userId, testSession.getSessionId());
 
         assertThat(result).isNull();
-        verify(sessionRepository).delete(tenantId, userId, testSession.getSessionId());
+        verify(sessionRepository).delete(testSession);
     }
 
     @Test
@@ -143,16 +169,14 @@ class SessionServiceTest {
     }
 
     @Test
-    void updateLastAccess_ShouldUpdateSessionData() throws Exception {
-        ArgumentCaptor<SessionData> captor = ArgumentCaptor.forClass(SessionData.class);
-        testSession.setRequestCount(1);
+    void updateLastAccess_ShouldRecordAccessWithoutRewritingSession() throws Exception {
+        testSession.setLastAccess(null);
 
         sessionService.updateLastAccess(testSession).get();
 
-        verify(sessionRepository).update(captor.capture());
-        SessionData updated = captor.getValue();
-        assertThat(updated.getRequestCount()).isEqualTo(2);
-        assertThat(updated.getLastAccess()).isNotNull();
+        assertThat(testSession.getLastAccess()).isNotNull();
+        verify(accessTracker).record(testSession, testSession.getLastAccess());
+        verify(sessionRepository, never()).update(any());
     }
 
     @Test
@@ -162,27 +186,20 @@ class SessionServiceTest {
 
         sessionService.invalidateSession(tenantId, userId, testSession.getSessionId());
 
-        verify(sessionRepository).delete(tenantId, userId, testSession.getSessionId());
-        verify(sessionRepository, atLeastOnce()).blacklistToken(any(), any());
+        verify(sessionRepository).delete(testSession);
+        verify(sessionCache).invalidate(tenantId, userId, testSession.getSessionId());
+        verify(tokenRevocationService).revokeDigest(eq(testSession.getAccessTokenDigest()), any(Duration.class));
         verify(auditService).logSessionTerminated(testSession, "Manual invalidation");
     }
 
     @Test
-    void invalidateAllUserSessions_ShouldInvalidateAllExceptExcluded() {
-        SessionData session1 = SessionTestDataFactory.createSessionData(tenantId, userId);
-        SessionData session2 = SessionTestDataFactory.createSessionData(tenantId, userId);
-        SessionData session3 = SessionTestDataFactory.createSessionData(tenantId, userId);
-
-        when(sessionRepository.findAllByUser(tenantId, userId))
-                .thenReturn(Arrays.asList(session1, session2, session3));
-        when(sessionRepository.findBySessionId(eq(tenantId), eq(userId), any()))
-                .thenReturn(session1, session2, session3);
+    void invalidateAllUserSessions_ShouldRevokeEpochExceptExcluded() {
+        sessionService.invalidateAllUserSessions(tenantId, userId, "current-session");
 
-        sessionService.invalidateAllUserSessions(tenantId, userId, session2.getSessionId());
-
-        verify(sessionRepository).delete(tenantId, userId, session1.getSessionId());
-        verify(sessionRepository, never()).delete(tenantId, userId, session2.getSessionId());
-        verify(sessionRepository).delete(tenantId, userId, session3.getSessionId());
+        verify(revocationEpochService).revokeUserSessions(tenantId, userId, "current-session");
+        verify(sessionRepository, never()).findAllByUser(any(), any());
+        verify(sessionRepository, never()).delete(any(SessionData.class));
+        verify(auditService).logSecurityEvent(any(SessionData.class), eq("ALL_SESSIONS_REVOKED"), anyString());
     }
 
     @Test
@@ -200,9 +217,30 @@ class SessionServiceTest {
         assertThat(result.getAccessToken()).isEqualTo("new-access-token");
         assertThat(result.getRefreshToken()).isNotEqualTo(refreshToken);
         verify(sessionRepository).update(testSession);
+        verify(sessionCache).invalidate(testSession);
         verify(auditService).logTokenRefreshed(testSession);
     }
 
+    @Test
+    void refreshSession_ThenLogout_ShouldRevokeOldAndNewAccessTokensOfDecodedSession() {
+        testSession.setAccessToken("old-access-token");
+        testSession.setExpiresAt(Instant.now().plusSeconds(3600));
+        SessionData decoded = SessionDataCodec.decode(SessionDataCodec.encode(testSession));
+        assertThat(decoded.getAccessToken()).isNull();
+
+        when(sessionRepository.findByRefreshToken(decoded.getRefreshToken())).thenReturn(decoded);
+        when(securityService.verifyDeviceFingerprint(decoded, decoded.getDeviceFingerprint())).thenReturn(true);
+        when(jwtTokenProvider.createToken(userId, tenantId, decoded.getRole(), decoded.getSessionId()))
+                .thenReturn("new-access-token");
+        when(sessionRepository.findBySessionId(tenantId, userId, decoded.getSessionId())).thenReturn(decoded);
+
+        sessionService.refreshSession(decoded.getRefreshToken(), decoded.getDeviceFingerprint());
+        sessionService.invalidateSession(tenantId, userId, decoded.getSessionId());
+
+        verify(tokenRevocationService).revokeDigest(eq(TokenDigest.of("old-access-token")), any(Duration.class));
+        verify(tokenRevocationService).revokeDigest(eq(TokenDigest.of("new-access-token")), any(Duration.class));
+    }
+
     @Test
     void refreshSession_ShouldThrowExceptionForExpiredToken() {
         testSession.setRefreshTokenExpiresAt(Instant.now().minusSeconds(3600));
@@ -243,28 +281,41 @@ class SessionServiceTest {
     @Test
     void isTokenBlacklisted_ShouldReturnBlacklistStatus() {
         String token = "test-token";
-        when(sessionRepository.isTokenBlacklisted(token)).thenReturn(true);
+        when(tokenRevocationService.isRevoked(token)).thenReturn(true);
 
         boolean result = sessionService.isTokenBlacklisted(token);
 
         assertThat(result).isTrue();
-        verify(sessionRepository).isTokenBlacklisted(token);
+        verify(tokenRevocationService).isRevoked(token);
     }
 
     @Test
-    void invalidateAllUserSessions_ShouldInvalidateAll_WhenExcludeSessionIdIsNull() {
-        SessionData session1 = SessionTestDataFactory.createSessionData(tenantId, userId);
-        SessionData session2 = SessionTestDataFactory.createSessionData(tenantId, userId);
+    void invalidateAllUserSessions_ShouldRevokeEpoch_WhenExcludeSessionIdIsNull() {
+        sessionService.invalidateAllUserSessions(tenantId, userId, null);
 
-        when(sessionRepository.findAllByUser(tenantId, userId))
-                .thenReturn(Arrays.asList(session1, session2));
-        when(sessionRepository.findBySessionId(eq(tenantId), eq(userId), any()))
-                .thenReturn(session1, session2);
+        verify(revocationEpochService).revokeUserSessions(tenantId, userId, null);
+        verify(sessionRepository, never()).delete(any(SessionData.class));
+    }
 
-        sessionService.invalidateAllUserSessions(tenantId, userId, null);
+    @Test
+    void getUserSessions_ShouldSkipRevokedSessions() {
+        SessionData active = SessionTestDataFactory.createSessionData(tenantId, userId);
+        SessionData revoked = SessionTestDataFactory.createSessionData(tenantId, userId);
+
+        when(sessionRepository.findAllByUser(tenantId, userId)).thenReturn(Arrays.asList(active, revoked));
+        when(revocationEpochService.isRevoked(revoked)).thenReturn(true);
+
+        assertThat(sessionService.getUserSessions(tenantId, userId)).containsExactly(active);
+    }
+
+    @Test
+    void refreshSession_ShouldThrowException_WhenSessionRevokedByEpoch() {
+        when(sessionRepository.findByRefreshToken(testSession.getRefreshToken())).thenReturn(testSession);
+        when(revocationEpochService.isRevoked(testSession)).thenReturn(true);
 
-        verify(sessionRepository).delete(tenantId, userId, session1.getSessionId());
-        verify(sessionRepository).delete(tenantId, userId, session2.getSessionId());
+        assertThatThrownBy(() -> sessionService.refreshSession(testSession.getRefreshToken(), testSession.getDeviceFingerprint()))
+                .isInstanceOf(SessionExpiredException.class);
+        verify(sessionRepository, never()).update(any());
     }
 
     @Test
@@ -293,7 +344,7 @@ class SessionServiceTest {
 
         sessionService.invalidateSession(tenantId, userId, "non-existent");
 
-        verify(sessionRepository, never()).delete(any(), any(), any());
+        verify(sessionRepository, never()).delete(any(SessionData.class));
     }
 
     @Test
@@ -308,7 +359,8 @@ class SessionServiceTest {
 
         sessionService.invalidateSession(tenantId, userId, testSession.getSessionId());
 
-        verify(sessionRepository, times(2)).blacklistToken(anyString(), any(Duration.class));
+        verify(tokenRevocationService).revokeDigest(eq(TokenDigest.of("access-token")), any(Duration.class));
+        verify(tokenRevocationService).revoke(eq("refresh-token"), any(Duration.class));
     }
 
     @Test
@@ -323,7 +375,8 @@ class SessionServiceTest {
 
         sessionService.invalidateSession(tenantId, userId, testSession.getSessionId());
 
-        verify(sessionRepository, never()).blacklistToken(anyString(), any(Duration.class));
+        verify(tokenRevocationService, never()).revokeDigest(anyString(), any(Duration.class));
+        verify(tokenRevocationService, never()).revoke(anyString(), any(Duration.class));
     }
 }
 
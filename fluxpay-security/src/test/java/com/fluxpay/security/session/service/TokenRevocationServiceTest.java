@@ -0,0 +1,119 @@
+package com.fluxpay.security.session.service;
+
+import com.fluxpay.security.jwt.TokenDigest;
+import com.fluxpay.security.session.repository.SessionRedisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private SessionRedisRepository sessionRepository;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private TokenRevocationService tokenRevocationService;
+    private MessageListener revocationListener;
+
+    @BeforeEach
+    void setUp() {
+        ChannelTopic topic = new ChannelTopic("token_revocations");
+        when(sessionRepository.revocationTopic()).thenReturn(topic);
+
+        tokenRevocationService = new TokenRevocationService(sessionRepository, listenerContainer, 1000, 100, 60);
+
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), eq(topic));
+        revocationListener = listener.getValue();
+    }
+
+    @Test
+    void isRevoked_BeforeWarmupChecksRedisAndCachesResult() {
+        when(sessionRepository.isTokenRevoked(TokenDigest.of("token"))).thenReturn(false);
+
+        assertThat(tokenRevocationService.isRevoked("token")).isFalse();
+        assertThat(tokenRevocationService.isRevoked("token")).isFalse();
+
+        verify(sessionRepository, times(1)).isTokenRevoked(TokenDigest.of("token"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void isRevoked_AfterWarmupSkipsRedisForUnknownTokens() {
+        doAnswer(invocation -> {
+            ((Consumer<String>) invocation.getArgument(0)).accept(TokenDigest.of("revoked-token"));
+            return null;
+        }).when(sessionRepository).scanRevokedTokens(any());
+        when(sessionRepository.isTokenRevoked(TokenDigest.of("revoked-token"))).thenReturn(true);
+
+        tokenRevocationService.rebuild();
+
+        assertThat(tokenRevocationService.isRevoked("active-token")).isFalse();
+        assertThat(tokenRevocationService.isRevoked("revoked-token")).isTrue();
+        verify(sessionRepository, never()).isTokenRevoked(TokenDigest.of("active-token"));
+    }
+
+    @Test
+    void revoke_StoresPublishesAndAppliesLocally() {
+        tokenRevocationService.rebuild();
+
+        tokenRevocationService.revoke("token", Duration.ofMinutes(10));
+
+        String digest = TokenDigest.of("token");
+        verify(sessionRepository).revokeToken(digest, Duration.ofMinutes(10));
+        verify(sessionRepository).publishRevocation(digest);
+        assertThat(tokenRevocationService.isRevoked("token")).isTrue();
+        verify(sessionRepository, never()).isTokenRevoked(anyString());
+    }
+
+    @Test
+    void revocationMessage_FromOtherNodeIsAppliedLocally() {
+        tokenRevocationService.rebuild();
+        Message message = mock(Message.class);
+        when(sessionRepository.readMessage(message)).thenReturn(TokenDigest.of("token"));
+
+        revocationListener.onMessage(message, null);
+
+        assertThat(tokenRevocationService.isRevoked("token")).isTrue();
+        verify(sessionRepository, never()).isTokenRevoked(anyString());
+    }
+
+    @Test
+    void rebuild_FailureKeepsRedisFallback() {
+        doThrow(new RuntimeException("Redis unavailable")).when(sessionRepository).scanRevokedTokens(any());
+        when(sessionRepository.isTokenRevoked(anyString())).thenReturn(true);
+
+        tokenRevocationService.rebuild();
+
+        assertThat(tokenRevocationService.isRevoked("token")).isTrue();
+    }
+
+    @Test
+    void rebuild_MigratesLegacyBlacklistOnce() {
+        tokenRevocationService.rebuild();
+        tokenRevocationService.rebuild();
+
+        verify(sessionRepository, times(1)).migrateLegacyBlacklist();
+        verify(sessionRepository, times(2)).scanRevokedTokens(any());
+    }
+}
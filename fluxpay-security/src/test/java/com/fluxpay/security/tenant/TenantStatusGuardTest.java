@@ -0,0 +1,113 @@
+package com.fluxpay.security.tenant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fluxpay.common.enums.TenantStatus;
+import com.fluxpay.security.session.service.RateLimitService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantStatusGuardTest {
+
+    @Mock
+    private ObjectProvider<TenantStateResolver> resolverProvider;
+
+    @Mock
+    private TenantStateResolver resolver;
+
+    @Mock
+    private RateLimitService rateLimitService;
+
+    private TenantStatusGuard guard;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private UUID tenantId;
+
+    @BeforeEach
+    void setUp() {
+        guard = new TenantStatusGuard(resolverProvider, rateLimitService,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        request = new MockHttpServletRequest("GET", "/api/invoices");
+        response = new MockHttpServletResponse();
+        tenantId = UUID.randomUUID();
+        lenient().when(resolverProvider.getIfAvailable()).thenReturn(resolver);
+    }
+
+    @Test
+    void rejectIfNotAdmitted_WithActiveTenant_ShouldAllow() throws Exception {
+        when(resolver.resolve(tenantId)).thenReturn(Optional.of(state(TenantStatus.ACTIVE)));
+
+        assertThat(guard.rejectIfNotAdmitted(tenantId, request, response)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void rejectIfNotAdmitted_WithSuspendedTenant_ShouldWriteForbidden() throws Exception {
+        when(resolver.resolve(tenantId)).thenReturn(Optional.of(state(TenantStatus.SUSPENDED)));
+
+        assertThat(guard.rejectIfNotAdmitted(tenantId, request, response)).isTrue();
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentAsString()).contains("Tenant Suspended", tenantId.toString());
+        verifyNoInteractions(rateLimitService);
+    }
+
+    @Test
+    void rejectIfNotAdmitted_WithDeletedTenant_ShouldWriteForbidden() throws Exception {
+        when(resolver.resolve(tenantId)).thenReturn(Optional.of(state(TenantStatus.DELETED)));
+
+        assertThat(guard.rejectIfNotAdmitted(tenantId, request, response)).isTrue();
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    void rejectIfNotAdmitted_WhenTierLimitExceeded_ShouldWriteTooManyRequests() throws Exception {
+        when(resolver.resolve(tenantId)).thenReturn(Optional.of(state(TenantStatus.ACTIVE)));
+        when(rateLimitService.isTenantRateLimited(tenantId, "starter")).thenReturn(true);
+
+        assertThat(guard.rejectIfNotAdmitted(tenantId, request, response)).isTrue();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getContentAsString()).contains("Rate Limit Exceeded", "starter");
+    }
+
+    @Test
+    void rejectIfNotAdmitted_WhenRateLimiterFails_ShouldAllow() throws Exception {
+        when(resolver.resolve(tenantId)).thenReturn(Optional.of(state(TenantStatus.ACTIVE)));
+        when(rateLimitService.isTenantRateLimited(tenantId, "starter"))
+                .thenThrow(new IllegalStateException("redis down"));
+
+        assertThat(guard.rejectIfNotAdmitted(tenantId, request, response)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void rejectIfNotAdmitted_WhenLookupFails_ShouldAllow() throws Exception {
+        when(resolver.resolve(tenantId)).thenThrow(new IllegalStateException("database down"));
+
+        assertThat(guard.rejectIfNotAdmitted(tenantId, request, response)).isFalse();
+    }
+
+    @Test
+    void rejectIfNotAdmitted_WithoutResolver_ShouldAllow() throws Exception {
+        when(resolverProvider.getIfAvailable()).thenReturn(null);
+
+        assertThat(guard.rejectIfNotAdmitted(tenantId, request, response)).isFalse();
+        verifyNoInteractions(resolver);
+    }
+
+    private TenantState state(TenantStatus status) {
+        return new TenantState(tenantId, status, "starter", 10, 1000);
+    }
+}
@@ -0,0 +1,20 @@
+package com.fluxpay.subscription.dto;
+
+public record EntitlementDecision(String featureKey, boolean entitled, Integer limit, boolean unlimited) {
+
+    public static EntitlementDecision denied(String featureKey) {
+        return new EntitlementDecision(featureKey, false, null, false);
+    }
+
+    public static EntitlementDecision enabled(String featureKey) {
+        return new EntitlementDecision(featureKey, true, null, false);
+    }
+
+    public static EntitlementDecision limited(String featureKey, int limit) {
+        return new EntitlementDecision(featureKey, limit > 0, limit, false);
+    }
+
+    public static EntitlementDecision unlimited(String featureKey) {
+        return new EntitlementDecision(featureKey, true, null, true);
+    }
+}
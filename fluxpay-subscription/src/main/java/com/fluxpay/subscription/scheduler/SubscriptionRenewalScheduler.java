@@ -3,6 +3,7 @@ package com.fluxpay.subscription.scheduler;
 import com.fluxpay.common.enums.SubscriptionStatus;
 import com.fluxpay.subscription.entity.Subscription;
 import com.fluxpay.subscription.repository.SubscriptionRepository;
+import com.fluxpay.subscription.service.EntitlementService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -16,12 +17,15 @@ import java.util.List;
 public class SubscriptionRenewalScheduler {
 
     private final SubscriptionRepository subscriptionRepository;
+    private final EntitlementService entitlementService;
 
     @Value("${SUBSCRIPTION_DEFAULT_PERIOD_DAYS:30}")
     private int defaultPeriodDays;
 
-    public SubscriptionRenewalScheduler(SubscriptionRepository subscriptionRepository) {
+    public SubscriptionRenewalScheduler(SubscriptionRepository subscriptionRepository,
+                                        EntitlementService entitlementService) {
         this.subscriptionRepository = subscriptionRepository;
+        this.entitlementService = entitlementService;
     }
 
     @Scheduled(cron = "${SUBSCRIPTION_TRIAL_EXPIRATION_CRON:0 0 2 * * ?}")
@@ -37,6 +41,7 @@ public class SubscriptionRenewalScheduler {
         for (Subscription subscription : trialSubscriptions) {
             subscription.setStatus(SubscriptionStatus.ACTIVE);
             subscriptionRepository.save(subscription);
+            entitlementService.invalidate(subscription.getId());
         }
     }
 
@@ -76,6 +81,7 @@ public class SubscriptionRenewalScheduler {
         for (Subscription subscription : canceledSubscriptions) {
             subscription.setStatus(SubscriptionStatus.CANCELED);
             subscriptionRepository.save(subscription);
+            entitlementService.invalidate(subscription.getId());
         }
     }
 }
@@ -0,0 +1,47 @@
+package com.fluxpay.subscription.service;
+
+import com.fluxpay.subscription.dto.EntitlementDecision;
+
+import java.util.BitSet;
+import java.util.UUID;
+
+final class CompiledEntitlements {
+
+    private final UUID tenantId;
+    private final FeatureIndex index;
+    private final BitSet enabled;
+    private final int[] limits;
+
+    CompiledEntitlements(UUID tenantId, FeatureIndex index, BitSet enabled, int[] limits) {
+        this.tenantId = tenantId;
+        this.index = index;
+        this.enabled = enabled;
+        this.limits = limits;
+    }
+
+    UUID tenantId() {
+        return tenantId;
+    }
+
+    String catalogEtag() {
+        return index.catalogEtag();
+    }
+
+    FeatureIndex index() {
+        return index;
+    }
+
+    EntitlementDecision check(String featureKey) {
+        int position = index.position(featureKey);
+        if (position < 0 || !enabled.get(position)) {
+            return EntitlementDecision.denied(featureKey);
+        }
+        if (index.isBoolean(position)) {
+            return EntitlementDecision.enabled(featureKey);
+        }
+        int limit = limits[position];
+        return limit == FeatureIndex.UNLIMITED
+                ? EntitlementDecision.unlimited(featureKey)
+                : EntitlementDecision.limited(featureKey, limit);
+    }
+}
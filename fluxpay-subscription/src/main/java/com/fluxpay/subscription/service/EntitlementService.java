@@ -0,0 +1,205 @@
+package com.fluxpay.subscription.service;
+
+import com.fluxpay.common.enums.SubscriptionStatus;
+import com.fluxpay.common.exception.ResourceNotFoundException;
+import com.fluxpay.product.dto.CatalogSnapshot;
+import com.fluxpay.product.entity.Price;
+import com.fluxpay.product.entity.ProductFeature;
+import com.fluxpay.product.repository.PriceRepository;
+import com.fluxpay.product.repository.ProductFeatureRepository;
+import com.fluxpay.product.service.CatalogService;
+import com.fluxpay.security.cache.CacheInvalidator;
+import com.fluxpay.security.context.TenantContext;
+import com.fluxpay.subscription.dto.EntitlementDecision;
+import com.fluxpay.subscription.entity.Subscription;
+import com.fluxpay.subscription.entity.SubscriptionItem;
+import com.fluxpay.subscription.repository.SubscriptionItemRepository;
+import com.fluxpay.subscription.repository.SubscriptionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+public class EntitlementService {
+
+    private static final String INVALIDATION_CHANNEL = "entitlement_invalidations";
+
+    private static final Set<SubscriptionStatus> ENTITLED_STATUSES = EnumSet.of(
+            SubscriptionStatus.TRIALING,
+            SubscriptionStatus.ACTIVE,
+            SubscriptionStatus.PAST_DUE
+    );
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionItemRepository subscriptionItemRepository;
+    private final PriceRepository priceRepository;
+    private final ProductFeatureRepository productFeatureRepository;
+    private final CatalogService catalogService;
+    private final Cache<UUID, CompiledEntitlements> entitlements;
+    private final Cache<UUID, FeatureIndex> featureIndexes;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final CacheInvalidator invalidator;
+
+    public EntitlementService(
+            SubscriptionRepository subscriptionRepository,
+            SubscriptionItemRepository subscriptionItemRepository,
+            PriceRepository priceRepository,
+            ProductFeatureRepository productFeatureRepository,
+            CatalogService catalogService,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${ENTITLEMENT_CACHE_TTL_SECONDS:300}") long ttlSeconds,
+            @Value("${ENTITLEMENT_CACHE_MAX_SIZE:100000}") long maxSize) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.subscriptionItemRepository = subscriptionItemRepository;
+        this.priceRepository = priceRepository;
+        this.productFeatureRepository = productFeatureRepository;
+        this.catalogService = catalogService;
+        this.entitlements = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+        this.featureIndexes = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .build();
+        this.invalidator = new CacheInvalidator(INVALIDATION_CHANNEL, redisTemplate, listenerContainer,
+                subscriptionId -> evictLocally(UUID.fromString(subscriptionId)));
+    }
+
+    public EntitlementDecision check(UUID subscriptionId, String featureKey) {
+        return entitlementsFor(subscriptionId).check(featureKey);
+    }
+
+    public Map<String, EntitlementDecision> checkAll(UUID subscriptionId, Collection<String> featureKeys) {
+        CompiledEntitlements compiled = entitlementsFor(subscriptionId);
+        Map<String, EntitlementDecision> decisions = new LinkedHashMap<>();
+        for (String featureKey : featureKeys) {
+            decisions.put(featureKey, compiled.check(featureKey));
+        }
+        return decisions;
+    }
+
+    public Map<String, EntitlementDecision> getEntitlements(UUID subscriptionId) {
+        CompiledEntitlements compiled = entitlementsFor(subscriptionId);
+        FeatureIndex index = compiled.index();
+        Map<String, EntitlementDecision> decisions = new LinkedHashMap<>();
+        for (int position = 0; position < index.size(); position++) {
+            decisions.put(index.key(position), compiled.check(index.key(position)));
+        }
+        return decisions;
+    }
+
+    public void invalidate(UUID subscriptionId) {
+        invalidator.invalidate(subscriptionId.toString());
+    }
+
+    private void evictLocally(UUID subscriptionId) {
+        invalidations.incrementAndGet();
+        entitlements.invalidate(subscriptionId);
+    }
+
+    private CompiledEntitlements entitlementsFor(UUID subscriptionId) {
+        UUID tenantId = Objects.requireNonNull(TenantContext.getCurrentTenantId(),
+                "Tenant context is required to check entitlements");
+        CatalogSnapshot catalog = catalogService.getCatalog(tenantId);
+
+        CompiledEntitlements compiled = entitlements.getIfPresent(subscriptionId);
+        if (compiled == null || !compiled.catalogEtag().equals(catalog.etag())) {
+            long generation = invalidations.get();
+            compiled = compile(subscriptionId, tenantId, catalog);
+            if (invalidations.get() == generation) {
+                entitlements.put(subscriptionId, compiled);
+            }
+        }
+
+        if (!compiled.tenantId().equals(tenantId)) {
+            throw new ResourceNotFoundException("Subscription", subscriptionId);
+        }
+        return compiled;
+    }
+
+    private CompiledEntitlements compile(UUID subscriptionId, UUID tenantId, CatalogSnapshot catalog) {
+        Subscription subscription = subscriptionRepository.findById(subscriptionId)
+                .filter(s -> s.getDeletedAt() == null && tenantId.equals(s.getTenantId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Subscription", subscriptionId));
+
+        FeatureIndex index = featureIndex(tenantId, catalog);
+        BitSet enabled = new BitSet(index.size());
+        int[] limits = new int[index.size()];
+
+        if (ENTITLED_STATUSES.contains(subscription.getStatus())) {
+            for (ProductFeature productFeature : productFeaturesOf(subscriptionId)) {
+                int position = index.position(productFeature.getFeatureId());
+                if (position < 0) {
+                    continue;
+                }
+                if (index.isBoolean(position)) {
+                    if (productFeature.getValue() == null || productFeature.getValue() != 0) {
+                        enabled.set(position);
+                    }
+                    continue;
+                }
+
+                int limit = productFeature.getValue() != null
+                        ? FeatureIndex.normalizeLimit(productFeature.getValue())
+                        : index.defaultLimit(position);
+                limits[position] = enabled.get(position) ? mergeLimits(limits[position], limit) : limit;
+                enabled.set(position);
+            }
+        }
+
+        return new CompiledEntitlements(tenantId, index, enabled, limits);
+    }
+
+    private List<ProductFeature> productFeaturesOf(UUID subscriptionId) {
+        List<UUID> priceIds = subscriptionItemRepository.findBySubscriptionId(subscriptionId).stream()
+                .filter(item -> item.getDeletedAt() == null)
+                .map(SubscriptionItem::getPriceId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (priceIds.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> productIds = priceRepository.findAllById(priceIds).stream()
+                .map(Price::getProductId)
+                .collect(Collectors.toSet());
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return productFeatureRepository.findByProductIdIn(productIds);
+    }
+
+    private FeatureIndex featureIndex(UUID tenantId, CatalogSnapshot catalog) {
+        FeatureIndex index = featureIndexes.getIfPresent(tenantId);
+        if (index == null || !index.catalogEtag().equals(catalog.etag())) {
+            index = FeatureIndex.of(catalog.etag(), catalog.features());
+            featureIndexes.put(tenantId, index);
+        }
+        return index;
+    }
+
+    private static int mergeLimits(int current, int candidate) {
+        if (current == FeatureIndex.UNLIMITED || candidate == FeatureIndex.UNLIMITED) {
+            return FeatureIndex.UNLIMITED;
+        }
+        return Math.max(current, candidate);
+    }
+}
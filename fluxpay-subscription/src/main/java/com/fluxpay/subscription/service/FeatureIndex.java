@@ -0,0 +1,79 @@
+package com.fluxpay.subscription.service;
+
+import com.fluxpay.product.dto.CatalogFeature;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+final class FeatureIndex {
+
+    static final int UNLIMITED = -1;
+
+    private static final String BOOLEAN_TYPE = "boolean";
+
+    private final String catalogEtag;
+    private final String[] keys;
+    private final Map<String, Integer> positionsByKey;
+    private final Map<UUID, Integer> positionsById;
+    private final boolean[] booleanFeatures;
+    private final int[] defaultLimits;
+
+    private FeatureIndex(String catalogEtag, List<CatalogFeature> features) {
+        int size = features.size();
+        this.catalogEtag = catalogEtag;
+        this.keys = new String[size];
+        this.positionsByKey = new HashMap<>(size * 2);
+        this.positionsById = new HashMap<>(size * 2);
+        this.booleanFeatures = new boolean[size];
+        this.defaultLimits = new int[size];
+
+        for (int position = 0; position < size; position++) {
+            CatalogFeature feature = features.get(position);
+            keys[position] = feature.featureKey();
+            positionsByKey.put(feature.featureKey(), position);
+            positionsById.put(feature.id(), position);
+            booleanFeatures[position] = BOOLEAN_TYPE.equalsIgnoreCase(feature.type());
+            defaultLimits[position] = normalizeLimit(feature.defaultValue());
+        }
+    }
+
+    static FeatureIndex of(String catalogEtag, List<CatalogFeature> features) {
+        return new FeatureIndex(catalogEtag, features);
+    }
+
+    static int normalizeLimit(Integer value) {
+        return value == null || value < 0 ? UNLIMITED : value;
+    }
+
+    String catalogEtag() {
+        return catalogEtag;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    String key(int position) {
+        return keys[position];
+    }
+
+    int position(String featureKey) {
+        Integer position = positionsByKey.get(featureKey);
+        return position != null ? position : -1;
+    }
+
+    int position(UUID featureId) {
+        Integer position = positionsById.get(featureId);
+        return position != null ? position : -1;
+    }
+
+    boolean isBoolean(int position) {
+        return booleanFeatures[position];
+    }
+
+    int defaultLimit(int position) {
+        return defaultLimits[position];
+    }
+}
@@ -24,12 +24,15 @@ public class SubscriptionService {
 
     private final SubscriptionRepository subscriptionRepository;
     private final SubscriptionItemRepository subscriptionItemRepository;
+    private final EntitlementService entitlementService;
 
     public SubscriptionService(
             SubscriptionRepository subscriptionRepository,
-            SubscriptionItemRepository subscriptionItemRepository) {
+            SubscriptionItemRepository subscriptionItemRepository,
+            EntitlementService entitlementService) {
         this.subscriptionRepository = subscriptionRepository;
         this.subscriptionItemRepository = subscriptionItemRepository;
+        this.entitlementService = entitlementService;
     }
 
     public Subscription createSubscription(Subscription subscription, List<SubscriptionItem> items) {
@@ -84,6 +87,7 @@ public class SubscriptionService {
     public Subscription activateSubscription(UUID id) {
         Subscription subscription = findSubscriptionById(id);
         subscription.setStatus(SubscriptionStatus.ACTIVE);
+        entitlementService.invalidate(id);
         return subscriptionRepository.save(subscription);
     }
 
@@ -100,12 +104,14 @@ public class SubscriptionService {
             subscription.setCancelAt(subscription.getCurrentPeriodEnd());
         }
 
+        entitlementService.invalidate(id);
         return subscriptionRepository.save(subscription);
     }
 
     public Subscription pauseSubscription(UUID id) {
         Subscription subscription = findSubscriptionById(id);
         subscription.setStatus(SubscriptionStatus.PAUSED);
+        entitlementService.invalidate(id);
         return subscriptionRepository.save(subscription);
     }
 
@@ -116,6 +122,7 @@ public class SubscriptionService {
     private Subscription updateSubscriptionStatus(UUID id, SubscriptionStatus status) {
         Subscription subscription = findSubscriptionById(id);
         subscription.setStatus(status);
+        entitlementService.invalidate(id);
         return subscriptionRepository.save(subscription);
     }
 }
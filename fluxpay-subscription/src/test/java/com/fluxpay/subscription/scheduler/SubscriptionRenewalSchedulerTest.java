@@ -3,6 +3,7 @@ package com.fluxpay.subscription.scheduler;
 import com.fluxpay.common.enums.SubscriptionStatus;
 import com.fluxpay.subscription.entity.Subscription;
 import com.fluxpay.subscription.repository.SubscriptionRepository;
+import com.fluxpay.subscription.service.EntitlementService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -24,6 +25,9 @@ class SubscriptionRenewalSchedulerTest {
     @Mock
     private SubscriptionRepository subscriptionRepository;
 
+    @Mock
+    private EntitlementService entitlementService;
+
     @InjectMocks
     private SubscriptionRenewalScheduler scheduler;
 
@@ -70,6 +74,7 @@ class SubscriptionRenewalSchedulerTest {
         scheduler.processCanceledSubscriptions();
 
         verify(subscriptionRepository).save(argThat(s -> s.getStatus() == SubscriptionStatus.CANCELED));
+        verify(entitlementService).invalidate(subscription.getId());
     }
 
     @Test
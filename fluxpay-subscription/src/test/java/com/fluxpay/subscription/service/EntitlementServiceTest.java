@@ -0,0 +1,306 @@
+package com.fluxpay.subscription.service;
+
+import com.fluxpay.common.enums.SubscriptionStatus;
+import com.fluxpay.common.exception.ResourceNotFoundException;
+import com.fluxpay.product.dto.CatalogFeature;
+import com.fluxpay.product.dto.CatalogSnapshot;
+import com.fluxpay.product.entity.Feature;
+import com.fluxpay.product.entity.Price;
+import com.fluxpay.product.entity.ProductFeature;
+import com.fluxpay.product.repository.PriceRepository;
+import com.fluxpay.product.repository.ProductFeatureRepository;
+import com.fluxpay.product.service.CatalogService;
+import com.fluxpay.security.context.TenantContext;
+import com.fluxpay.subscription.dto.EntitlementDecision;
+import com.fluxpay.subscription.entity.Subscription;
+import com.fluxpay.subscription.entity.SubscriptionItem;
+import com.fluxpay.subscription.repository.SubscriptionItemRepository;
+import com.fluxpay.subscription.repository.SubscriptionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EntitlementServiceTest {
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private SubscriptionItemRepository subscriptionItemRepository;
+
+    @Mock
+    private PriceRepository priceRepository;
+
+    @Mock
+    private ProductFeatureRepository productFeatureRepository;
+
+    @Mock
+    private CatalogService catalogService;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private EntitlementService entitlementService;
+    private UUID tenantId;
+    private Subscription subscription;
+    private Feature sso;
+    private Feature seats;
+    private Feature projects;
+    private UUID basicProductId;
+    private UUID addonProductId;
+
+    @BeforeEach
+    void setUp() {
+        entitlementService = new EntitlementService(subscriptionRepository, subscriptionItemRepository,
+                priceRepository, productFeatureRepository, catalogService, redisTemplate, listenerContainer, 300, 1000);
+        tenantId = UUID.randomUUID();
+        TenantContext.setCurrentTenant(tenantId);
+
+        subscription = new Subscription();
+        subscription.setId(UUID.randomUUID());
+        subscription.setTenantId(tenantId);
+        subscription.setStatus(SubscriptionStatus.ACTIVE);
+
+        sso = feature("sso", "boolean", null);
+        seats = feature("seats", "limit", 1);
+        projects = feature("projects", "limit", null);
+        basicProductId = UUID.randomUUID();
+        addonProductId = UUID.randomUUID();
+
+        when(catalogService.getCatalog(tenantId)).thenReturn(catalog("\"v1\"", List.of(sso, seats, projects)));
+        when(subscriptionRepository.findById(subscription.getId())).thenReturn(Optional.of(subscription));
+        when(subscriptionItemRepository.findBySubscriptionId(subscription.getId()))
+                .thenReturn(List.of(item(UUID.randomUUID()), item(UUID.randomUUID())));
+        when(priceRepository.findAllById(anyCollection())).thenReturn(List.of(price(basicProductId), price(addonProductId)));
+        when(productFeatureRepository.findByProductIdIn(anyCollection())).thenReturn(List.of(
+                productFeature(basicProductId, sso, 1),
+                productFeature(basicProductId, seats, 5),
+                productFeature(addonProductId, seats, 20)
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void check_BooleanFeatureEnabled() {
+        EntitlementDecision decision = entitlementService.check(subscription.getId(), "sso");
+
+        assertThat(decision.entitled()).isTrue();
+        assertThat(decision.limit()).isNull();
+    }
+
+    @Test
+    void check_LimitsMergeToHighestAcrossProducts() {
+        EntitlementDecision decision = entitlementService.check(subscription.getId(), "seats");
+
+        assertThat(decision.entitled()).isTrue();
+        assertThat(decision.limit()).isEqualTo(20);
+        assertThat(decision.unlimited()).isFalse();
+    }
+
+    @Test
+    void check_FeatureNotGrantedOrUnknown() {
+        assertThat(entitlementService.check(subscription.getId(), "projects").entitled()).isFalse();
+        assertThat(entitlementService.check(subscription.getId(), "does-not-exist").entitled()).isFalse();
+    }
+
+    @Test
+    void check_NullValueFallsBackToDefaultAndUnlimitedWins() {
+        when(productFeatureRepository.findByProductIdIn(anyCollection())).thenReturn(List.of(
+                productFeature(basicProductId, projects, 3),
+                productFeature(addonProductId, projects, null)
+        ));
+
+        EntitlementDecision decision = entitlementService.check(subscription.getId(), "projects");
+
+        assertThat(decision.entitled()).isTrue();
+        assertThat(decision.unlimited()).isTrue();
+    }
+
+    @Test
+    void check_InactiveSubscriptionHasNoEntitlements() {
+        subscription.setStatus(SubscriptionStatus.CANCELED);
+
+        assertThat(entitlementService.check(subscription.getId(), "sso").entitled()).isFalse();
+        verify(productFeatureRepository, never()).findByProductIdIn(anyCollection());
+    }
+
+    @Test
+    void check_CompilesOnceAndServesFromMemory() {
+        entitlementService.check(subscription.getId(), "sso");
+        entitlementService.check(subscription.getId(), "seats");
+        entitlementService.checkAll(subscription.getId(), List.of("sso", "seats"));
+
+        verify(subscriptionRepository, times(1)).findById(subscription.getId());
+        verify(productFeatureRepository, times(1)).findByProductIdIn(anyCollection());
+    }
+
+    @Test
+    void check_RecompilesWhenCatalogChanges() {
+        entitlementService.check(subscription.getId(), "sso");
+        when(catalogService.getCatalog(tenantId)).thenReturn(catalog("\"v2\"", List.of(sso, seats, projects)));
+
+        entitlementService.check(subscription.getId(), "sso");
+
+        verify(subscriptionRepository, times(2)).findById(subscription.getId());
+    }
+
+    @Test
+    void invalidate_RecompilesOnNextCheck() {
+        assertThat(entitlementService.check(subscription.getId(), "sso").entitled()).isTrue();
+
+        subscription.setStatus(SubscriptionStatus.PAUSED);
+        entitlementService.invalidate(subscription.getId());
+
+        assertThat(entitlementService.check(subscription.getId(), "sso").entitled()).isFalse();
+    }
+
+    @Test
+    void invalidate_PublishesToOtherNodes() {
+        entitlementService.invalidate(subscription.getId());
+
+        verify(redisTemplate).convertAndSend("entitlement_invalidations", subscription.getId().toString());
+    }
+
+    @Test
+    void invalidate_DoesNotPublishBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        entitlementService.invalidate(subscription.getId());
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void invalidationMessage_EvictsLocally() {
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) serializer);
+        byte[] body = subscription.getId().toString().getBytes(StandardCharsets.UTF_8);
+        when(serializer.deserialize(body)).thenReturn(subscription.getId().toString());
+        assertThat(entitlementService.check(subscription.getId(), "sso").entitled()).isTrue();
+
+        subscription.setStatus(SubscriptionStatus.PAUSED);
+        listener.getValue().onMessage(new DefaultMessage("entitlement_invalidations".getBytes(StandardCharsets.UTF_8), body), null);
+
+        assertThat(entitlementService.check(subscription.getId(), "sso").entitled()).isFalse();
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    void checkAll_ReturnsDecisionPerRequestedKey() {
+        Map<String, EntitlementDecision> decisions = entitlementService.checkAll(subscription.getId(),
+                List.of("seats", "sso", "unknown"));
+
+        assertThat(decisions).containsOnlyKeys("seats", "sso", "unknown");
+        assertThat(decisions.get("seats").limit()).isEqualTo(20);
+        assertThat(decisions.get("sso").entitled()).isTrue();
+        assertThat(decisions.get("unknown").entitled()).isFalse();
+    }
+
+    @Test
+    void getEntitlements_ListsEveryCatalogFeature() {
+        Map<String, EntitlementDecision> decisions = entitlementService.getEntitlements(subscription.getId());
+
+        assertThat(decisions).containsOnlyKeys("sso", "seats", "projects");
+        assertThat(decisions.get("projects").entitled()).isFalse();
+    }
+
+    @Test
+    void check_OtherTenantSubscriptionNotFound() {
+        subscription.setTenantId(UUID.randomUUID());
+
+        assertThatThrownBy(() -> entitlementService.check(subscription.getId(), "sso"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void check_CachedEntitlementsNotVisibleToOtherTenant() {
+        entitlementService.check(subscription.getId(), "sso");
+
+        UUID otherTenant = UUID.randomUUID();
+        TenantContext.setCurrentTenant(otherTenant);
+        when(catalogService.getCatalog(otherTenant)).thenReturn(catalog("\"v1\"", List.of()));
+
+        assertThatThrownBy(() -> entitlementService.check(subscription.getId(), "sso"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private CatalogSnapshot catalog(String etag, List<Feature> features) {
+        return new CatalogSnapshot(tenantId, 0L, etag, List.of(), Map.of(),
+                features.stream().map(CatalogFeature::of).toList(), Map.of());
+    }
+
+    private Feature feature(String key, String type, Integer defaultValue) {
+        Feature feature = new Feature();
+        feature.setId(UUID.randomUUID());
+        feature.setTenantId(tenantId);
+        feature.setFeatureKey(key);
+        feature.setName(key);
+        feature.setType(type);
+        feature.setDefaultValue(defaultValue);
+        return feature;
+    }
+
+    private SubscriptionItem item(UUID priceId) {
+        SubscriptionItem item = new SubscriptionItem();
+        item.setId(UUID.randomUUID());
+        item.setSubscriptionId(subscription.getId());
+        item.setPriceId(priceId);
+        return item;
+    }
+
+    private Price price(UUID productId) {
+        Price price = new Price();
+        price.setId(UUID.randomUUID());
+        price.setProductId(productId);
+        return price;
+    }
+
+    private ProductFeature productFeature(UUID productId, Feature feature, Integer value) {
+        ProductFeature productFeature = new ProductFeature();
+        productFeature.setProductId(productId);
+        productFeature.setFeatureId(feature.getId());
+        productFeature.setValue(value);
+        return productFeature;
+    }
+}
@@ -41,6 +41,9 @@ class SubscriptionServiceTest {
     @Mock
     private SubscriptionItemRepository subscriptionItemRepository;
 
+    @Mock
+    private EntitlementService entitlementService;
+
     @InjectMocks
     private SubscriptionService subscriptionService;
 
@@ -216,6 +219,7 @@ class SubscriptionServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(SubscriptionStatus.ACTIVE);
         verify(subscriptionRepository).save(subscription);
+        verify(entitlementService).invalidate(subscription.getId());
     }
 
     @Test
@@ -232,6 +236,7 @@ class SubscriptionServiceTest {
         assertThat(result.getCanceledAt()).isNotNull();
         assertThat(result.getCancelAt()).isNotNull();
         verify(subscriptionRepository).save(subscription);
+        verify(entitlementService).invalidate(subscription.getId());
     }
 
     @Test
@@ -249,6 +254,7 @@ class SubscriptionServiceTest {
         assertThat(result.getCanceledAt()).isNotNull();
         assertThat(result.getCancelAt()).isEqualTo(periodEnd);
         verify(subscriptionRepository).save(subscription);
+        verify(entitlementService).invalidate(subscription.getId());
     }
 
     @Test
@@ -262,6 +268,7 @@ class SubscriptionServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(SubscriptionStatus.PAUSED);
         verify(subscriptionRepository).save(subscription);
+        verify(entitlementService).invalidate(subscription.getId());
     }
 
     @Test
@@ -276,5 +283,6 @@ class SubscriptionServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(SubscriptionStatus.ACTIVE);
         verify(subscriptionRepository).save(subscription);
+        verify(entitlementService).invalidate(subscription.getId());
     }
 }
@@ -47,6 +47,10 @@ public class ApiKey extends BaseEntity {
     @Column(name = "revoked_at")
     private Instant revokedAt;
 
+    // Only set on the instance returned by createApiKey; the key itself is never stored.
+    @Transient
+    private String rawKey;
+
     @PrePersist
     public void prePersist() {
         if (this.tenantId == null) {
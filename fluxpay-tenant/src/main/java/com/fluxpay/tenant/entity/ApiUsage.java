@@ -0,0 +1,24 @@
+package com.fluxpay.tenant.entity;
+
+import com.fluxpay.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "api_usage")
+@Getter
+@Setter
+public class ApiUsage extends BaseEntity {
+
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    private UUID tenantId;
+
+    @Column(name = "usage_month", nullable = false, updatable = false, length = 7)
+    private String usageMonth;
+
+    @Column(name = "call_count", nullable = false)
+    private Long callCount = 0L;
+}
@@ -2,8 +2,13 @@ package com.fluxpay.tenant.repository;
 
 import com.fluxpay.tenant.entity.ApiKey;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,5 +19,10 @@ public interface ApiKeyRepository extends JpaRepository<ApiKey, UUID> {
     Optional<ApiKey> findByKeyHash(String keyHash);
 
     List<ApiKey> findByTenantIdAndRevokedAtIsNull(UUID tenantId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ApiKey k SET k.lastUsedAt = :lastUsedAt WHERE k.id = :id AND (k.lastUsedAt IS NULL OR k.lastUsedAt < :lastUsedAt)")
+    int updateLastUsedAt(@Param("id") UUID id, @Param("lastUsedAt") Instant lastUsedAt);
 }
 
@@ -0,0 +1,29 @@
+package com.fluxpay.tenant.repository;
+
+import com.fluxpay.tenant.entity.ApiUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ApiUsageRepository extends JpaRepository<ApiUsage, UUID> {
+
+    Optional<ApiUsage> findByTenantIdAndUsageMonth(UUID tenantId, String usageMonth);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO api_usage (id, tenant_id, usage_month, call_count, created_at, updated_at)
+            VALUES (gen_random_uuid(), :tenantId, :usageMonth, :callCount, now(), now())
+            ON CONFLICT (tenant_id, usage_month)
+            DO UPDATE SET call_count = GREATEST(api_usage.call_count, EXCLUDED.call_count), updated_at = now()
+            """, nativeQuery = true)
+    int recordTotal(@Param("tenantId") UUID tenantId, @Param("usageMonth") String usageMonth,
+                    @Param("callCount") long callCount);
+}
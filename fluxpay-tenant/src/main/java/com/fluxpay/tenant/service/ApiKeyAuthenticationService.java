@@ -0,0 +1,102 @@
+package com.fluxpay.tenant.service;
+
+import com.fluxpay.security.apikey.ApiKeyPrincipal;
+import com.fluxpay.security.apikey.ApiKeyResolver;
+import com.fluxpay.security.cache.CacheInvalidator;
+import com.fluxpay.security.concurrent.BlockingLoads;
+import com.fluxpay.tenant.entity.ApiKey;
+import com.fluxpay.tenant.repository.ApiKeyRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ApiKeyAuthenticationService implements ApiKeyResolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApiKeyAuthenticationService.class);
+    private static final String INVALIDATION_CHANNEL = "api_key_invalidations";
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final AsyncCache<String, ApiKeyPrincipal> principals;
+    private final CacheInvalidator invalidator;
+    private final Map<UUID, Instant> lastUsed = new ConcurrentHashMap<>();
+
+    public ApiKeyAuthenticationService(
+            ApiKeyRepository apiKeyRepository,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${API_KEY_CACHE_TTL_SECONDS:300}") long ttlSeconds,
+            @Value("${API_KEY_CACHE_MAX_SIZE:10000}") long maxSize) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .executor(BlockingLoads.EXECUTOR)
+                .buildAsync();
+        this.invalidator = new CacheInvalidator(INVALIDATION_CHANNEL, redisTemplate, listenerContainer,
+                keyHash -> principals.synchronous().invalidate(keyHash));
+    }
+
+    @Override
+    public Optional<ApiKeyPrincipal> resolve(String rawKey) {
+        try {
+            return Optional.ofNullable(BlockingLoads.join(principals.get(ApiKeyService.hashKey(rawKey), this::load)));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to resolve API key: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void recordUsage(ApiKeyPrincipal principal) {
+        lastUsed.put(principal.keyId(), Instant.now());
+    }
+
+    public void invalidate(String keyHash) {
+        invalidator.invalidate(keyHash);
+    }
+
+    @Scheduled(fixedDelayString = "${API_KEY_LAST_USED_FLUSH_INTERVAL_MS:60000}")
+    public void flushLastUsed() {
+        for (Map.Entry<UUID, Instant> entry : lastUsed.entrySet()) {
+            try {
+                apiKeyRepository.updateLastUsedAt(entry.getKey(), entry.getValue());
+                lastUsed.remove(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                LOGGER.warn("Failed to record last use of API key {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushLastUsed();
+    }
+
+    // Unknown and revoked keys load as null, which Caffeine does not keep, so guessed keys cannot crowd out real ones
+    private ApiKeyPrincipal load(String keyHash) {
+        return apiKeyRepository.findByKeyHash(keyHash)
+                .filter(apiKey -> !apiKey.isRevoked())
+                .map(ApiKeyAuthenticationService::toPrincipal)
+                .orElse(null);
+    }
+
+    private static ApiKeyPrincipal toPrincipal(ApiKey apiKey) {
+        return new ApiKeyPrincipal(apiKey.getId(), apiKey.getTenantId(), apiKey.getScope(),
+                apiKey.getRateLimitPerMinute(), apiKey.getExpiresAt());
+    }
+}
@@ -6,9 +6,13 @@ import com.fluxpay.tenant.repository.ApiKeyRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,9 +25,11 @@ public class ApiKeyService {
     private static final int KEY_LENGTH = 32;
 
     private final ApiKeyRepository apiKeyRepository;
+    private final ApiKeyAuthenticationService apiKeyAuthenticationService;
 
-    public ApiKeyService(ApiKeyRepository apiKeyRepository) {
+    public ApiKeyService(ApiKeyRepository apiKeyRepository, ApiKeyAuthenticationService apiKeyAuthenticationService) {
         this.apiKeyRepository = apiKeyRepository;
+        this.apiKeyAuthenticationService = apiKeyAuthenticationService;
     }
 
     public ApiKey createApiKey(ApiKey apiKey, boolean isLive) {
@@ -32,6 +38,7 @@ public class ApiKeyService {
         
         apiKey.setKeyPrefix(prefix);
         apiKey.setKeyHash(hashKey(key));
+        apiKey.setRawKey(key);
         
         return apiKeyRepository.save(apiKey);
     }
@@ -63,6 +70,7 @@ public class ApiKeyService {
         ApiKey apiKey = findApiKeyById(id);
         apiKey.setRevokedAt(Instant.now());
         apiKeyRepository.save(apiKey);
+        apiKeyAuthenticationService.invalidate(apiKey.getKeyHash());
     }
 
     public void updateLastUsed(UUID id) {
@@ -79,8 +87,13 @@ public class ApiKeyService {
         return prefix + randomPart;
     }
 
-    private String hashKey(String key) {
-        return Integer.toHexString(key.hashCode());
+    public static String hashKey(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
 
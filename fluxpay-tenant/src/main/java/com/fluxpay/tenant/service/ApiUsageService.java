@@ -0,0 +1,185 @@
+package com.fluxpay.tenant.service;
+
+import com.fluxpay.security.concurrent.BlockingLoads;
+import com.fluxpay.security.concurrent.RetiringCounter;
+import com.fluxpay.tenant.entity.ApiUsage;
+import com.fluxpay.tenant.entity.Tenant;
+import com.fluxpay.tenant.repository.ApiUsageRepository;
+import com.fluxpay.tenant.repository.TenantRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ApiUsageService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApiUsageService.class);
+    private static final String KEY_PREFIX = "api_usage:";
+    private static final Duration KEY_TTL = Duration.ofDays(62);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ApiUsageRepository apiUsageRepository;
+    private final TenantRepository tenantRepository;
+    private final Map<UsageKey, RetiringCounter> pending = new ConcurrentHashMap<>();
+    private final AsyncLoadingCache<UUID, Budget> budgets;
+
+    public ApiUsageService(
+            RedisTemplate<String, Object> redisTemplate,
+            ApiUsageRepository apiUsageRepository,
+            TenantRepository tenantRepository,
+            @Value("${API_USAGE_BUDGET_REFRESH_SECONDS:60}") long refreshSeconds,
+            @Value("${API_USAGE_BUDGET_CACHE_MAX_SIZE:10000}") long maxSize) {
+        this.redisTemplate = redisTemplate;
+        this.apiUsageRepository = apiUsageRepository;
+        this.tenantRepository = tenantRepository;
+        this.budgets = Caffeine.newBuilder()
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .expireAfterAccess(Duration.ofHours(1))
+                .maximumSize(maxSize)
+                .executor(BlockingLoads.EXECUTOR)
+                .buildAsync(this::loadBudget);
+    }
+
+    public void record(UUID tenantId) {
+        add(new UsageKey(tenantId, currentMonth()), 1);
+    }
+
+    public boolean isQuotaExceeded(UUID tenantId) {
+        Budget budget;
+        try {
+            budget = BlockingLoads.join(budgets.get(tenantId));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to load API usage budget for tenant {}: {}", tenantId, e.getMessage());
+            return false;
+        }
+        if (budget.limit() == null) {
+            return false;
+        }
+        String month = currentMonth();
+        long used = month.equals(budget.month()) ? budget.used() : 0L;
+        return used + pendingCalls(tenantId, month) >= budget.limit();
+    }
+
+    public long getCurrentUsage(UUID tenantId) {
+        String month = currentMonth();
+        return loadUsed(tenantId, month) + pendingCalls(tenantId, month);
+    }
+
+    @Scheduled(fixedDelayString = "${API_USAGE_FLUSH_INTERVAL_MS:5000}")
+    public void flush() {
+        List<UsageKey> keys = new ArrayList<>();
+        List<Long> counts = new ArrayList<>();
+        for (UsageKey key : pending.keySet()) {
+            RetiringCounter detached = pending.remove(key);
+            if (detached == null) {
+                continue;
+            }
+            long calls = detached.retire();
+            if (calls > 0) {
+                keys.add(key);
+                counts.add(calls);
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < keys.size(); i++) {
+                    byte[] key = redisKey(keys.get(i)).getBytes(StandardCharsets.UTF_8);
+                    connection.stringCommands().incrBy(key, counts.get(i));
+                    connection.keyCommands().expire(key, KEY_TTL.toSeconds());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            for (int i = 0; i < keys.size(); i++) {
+                add(keys.get(i), counts.get(i));
+            }
+            LOGGER.warn("Failed to flush API usage for {} tenants: {}", keys.size(), e.getMessage());
+            return;
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            UsageKey key = keys.get(i);
+            long total = ((Number) results.get(2 * i)).longValue();
+            budgets.synchronous().asMap().computeIfPresent(key.tenantId(), (tenantId, budget) ->
+                    budget.month().equals(key.month()) ? new Budget(budget.month(), budget.limit(), total) : budget);
+            try {
+                apiUsageRepository.recordTotal(key.tenantId(), key.month(), total);
+            } catch (Exception e) {
+                LOGGER.warn("Failed to persist API usage for tenant {}: {}", key.tenantId(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private Budget loadBudget(UUID tenantId) {
+        Long limit = tenantRepository.findById(tenantId)
+                .map(Tenant::getMaxApiCallsPerMonth)
+                .map(Integer::longValue)
+                .orElse(null);
+        String month = currentMonth();
+        return new Budget(month, limit, loadUsed(tenantId, month));
+    }
+
+    private long loadUsed(UUID tenantId, String month) {
+        Object value = redisTemplate.opsForValue().get(redisKey(new UsageKey(tenantId, month)));
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return apiUsageRepository.findByTenantIdAndUsageMonth(tenantId, month)
+                .map(ApiUsage::getCallCount)
+                .orElse(0L);
+    }
+
+    private void add(UsageKey key, long calls) {
+        while (true) {
+            if (pending.computeIfAbsent(key, k -> RetiringCounter.striped()).add(calls)) {
+                return;
+            }
+        }
+    }
+
+    private long pendingCalls(UUID tenantId, String month) {
+        RetiringCounter calls = pending.get(new UsageKey(tenantId, month));
+        return calls != null ? calls.sum() : 0L;
+    }
+
+    private static String redisKey(UsageKey key) {
+        return KEY_PREFIX + key.tenantId() + ":" + key.month();
+    }
+
+    public static String currentMonth() {
+        return YearMonth.now(ZoneOffset.UTC).toString();
+    }
+
+    private record UsageKey(UUID tenantId, String month) {
+    }
+
+    private record Budget(String month, Long limit, long used) {
+    }
+}
@@ -3,6 +3,8 @@ package com.fluxpay.tenant.service;
 import com.fluxpay.common.enums.TenantStatus;
 import com.fluxpay.common.exception.ResourceNotFoundException;
 import com.fluxpay.common.exception.ValidationException;
+import com.fluxpay.security.session.service.RevocationEpochService;
+import com.fluxpay.security.transaction.AfterCommit;
 import com.fluxpay.tenant.entity.Tenant;
 import com.fluxpay.tenant.repository.TenantRepository;
 import org.springframework.stereotype.Service;
@@ -15,9 +17,14 @@ import java.util.UUID;
 public class TenantService {
 
     private final TenantRepository tenantRepository;
+    private final RevocationEpochService revocationEpochService;
+    private final TenantStateService tenantStateService;
 
-    public TenantService(TenantRepository tenantRepository) {
+    public TenantService(TenantRepository tenantRepository, RevocationEpochService revocationEpochService,
+                         TenantStateService tenantStateService) {
         this.tenantRepository = tenantRepository;
+        this.revocationEpochService = revocationEpochService;
+        this.tenantStateService = tenantStateService;
     }
 
     public Tenant createTenant(Tenant tenant) {
@@ -67,12 +74,15 @@ public class TenantService {
         Tenant tenant = findTenantById(id);
         tenant.setStatus(TenantStatus.SUSPENDED);
         tenantRepository.save(tenant);
+        tenantStateService.invalidate(id);
+        AfterCommit.run(() -> revocationEpochService.revokeTenantSessions(id));
     }
 
     public void activateTenant(UUID id) {
         Tenant tenant = findTenantById(id);
         tenant.setStatus(TenantStatus.ACTIVE);
         tenantRepository.save(tenant);
+        tenantStateService.invalidate(id);
     }
 
     public void deleteTenant(UUID id) {
@@ -80,6 +90,7 @@ public class TenantService {
         tenant.softDelete();
         tenant.setStatus(TenantStatus.DELETED);
         tenantRepository.save(tenant);
+        tenantStateService.invalidate(id);
+        AfterCommit.run(() -> revocationEpochService.revokeTenantSessions(id));
     }
 }
-
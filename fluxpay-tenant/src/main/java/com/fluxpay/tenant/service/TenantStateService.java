@@ -0,0 +1,62 @@
+package com.fluxpay.tenant.service;
+
+import com.fluxpay.security.cache.CacheInvalidator;
+import com.fluxpay.security.concurrent.BlockingLoads;
+import com.fluxpay.security.tenant.TenantState;
+import com.fluxpay.security.tenant.TenantStateResolver;
+import com.fluxpay.tenant.entity.Tenant;
+import com.fluxpay.tenant.repository.TenantRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class TenantStateService implements TenantStateResolver {
+
+    private static final String INVALIDATION_CHANNEL = "tenant_state_invalidations";
+
+    private final TenantRepository tenantRepository;
+    private final AsyncCache<UUID, Optional<TenantState>> states;
+    private final CacheInvalidator invalidator;
+
+    public TenantStateService(
+            TenantRepository tenantRepository,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${TENANT_STATE_CACHE_TTL_SECONDS:60}") long ttlSeconds,
+            @Value("${TENANT_STATE_CACHE_MAX_SIZE:10000}") long maxSize) {
+        this.tenantRepository = tenantRepository;
+        this.states = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .executor(BlockingLoads.EXECUTOR)
+                .buildAsync();
+        this.invalidator = new CacheInvalidator(INVALIDATION_CHANNEL, redisTemplate, listenerContainer,
+                tenantId -> states.synchronous().invalidate(UUID.fromString(tenantId)));
+    }
+
+    @Override
+    public Optional<TenantState> resolve(UUID tenantId) {
+        return BlockingLoads.join(states.get(tenantId, this::load));
+    }
+
+    public void invalidate(UUID tenantId) {
+        invalidator.invalidate(tenantId.toString());
+    }
+
+    private Optional<TenantState> load(UUID tenantId) {
+        return tenantRepository.findById(tenantId).map(TenantStateService::toState);
+    }
+
+    private static TenantState toState(Tenant tenant) {
+        return new TenantState(tenant.getId(), tenant.getStatus(), tenant.getSubscriptionTier(),
+                tenant.getMaxUsers(), tenant.getMaxApiCallsPerMonth());
+    }
+}
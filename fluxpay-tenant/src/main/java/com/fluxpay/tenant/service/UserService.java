@@ -58,7 +58,14 @@ public class UserService {
     }
 
     public boolean verifyPassword(User user, String plainPassword) {
-        return passwordEncoder.matches(plainPassword, user.getPasswordHash());
+        if (!passwordEncoder.matches(plainPassword, user.getPasswordHash())) {
+            return false;
+        }
+        if (passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            user.setPasswordHash(passwordEncoder.encode(plainPassword));
+            userRepository.save(user);
+        }
+        return true;
     }
 
     public void updateLastLogin(UUID userId, String ipAddress) {
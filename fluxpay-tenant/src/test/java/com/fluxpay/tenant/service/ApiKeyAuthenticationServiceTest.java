@@ -0,0 +1,160 @@
+package com.fluxpay.tenant.service;
+
+import com.fluxpay.common.enums.ApiKeyScope;
+import com.fluxpay.security.apikey.ApiKeyPrincipal;
+import com.fluxpay.tenant.entity.ApiKey;
+import com.fluxpay.tenant.repository.ApiKeyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyAuthenticationServiceTest {
+
+    private static final String RAW_KEY = "fpk_live_abc";
+
+    @Mock
+    private ApiKeyRepository apiKeyRepository;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private ApiKeyAuthenticationService service;
+    private ApiKey apiKey;
+
+    @BeforeEach
+    void setUp() {
+        service = new ApiKeyAuthenticationService(apiKeyRepository, redisTemplate, listenerContainer, 300, 100);
+
+        apiKey = new ApiKey();
+        apiKey.setId(UUID.randomUUID());
+        apiKey.setTenantId(UUID.randomUUID());
+        apiKey.setKeyHash(ApiKeyService.hashKey(RAW_KEY));
+        apiKey.setScope(ApiKeyScope.WRITE);
+        apiKey.setRateLimitPerMinute(60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void resolve_ShouldLoadOnceAndServeFromCache() {
+        when(apiKeyRepository.findByKeyHash(apiKey.getKeyHash())).thenReturn(Optional.of(apiKey));
+
+        Optional<ApiKeyPrincipal> first = service.resolve(RAW_KEY);
+        Optional<ApiKeyPrincipal> second = service.resolve(RAW_KEY);
+
+        assertThat(first).contains(new ApiKeyPrincipal(apiKey.getId(), apiKey.getTenantId(), ApiKeyScope.WRITE, 60, null));
+        assertThat(second).isEqualTo(first);
+        verify(apiKeyRepository, times(1)).findByKeyHash(apiKey.getKeyHash());
+    }
+
+    @Test
+    void resolve_ShouldRejectRevokedKey() {
+        apiKey.setRevokedAt(Instant.now());
+        when(apiKeyRepository.findByKeyHash(apiKey.getKeyHash())).thenReturn(Optional.of(apiKey));
+
+        assertThat(service.resolve(RAW_KEY)).isEmpty();
+    }
+
+    @Test
+    void resolve_ShouldNotCacheUnknownKeys() {
+        when(apiKeyRepository.findByKeyHash(apiKey.getKeyHash())).thenReturn(Optional.empty());
+
+        assertThat(service.resolve(RAW_KEY)).isEmpty();
+        assertThat(service.resolve(RAW_KEY)).isEmpty();
+
+        verify(apiKeyRepository, times(2)).findByKeyHash(apiKey.getKeyHash());
+    }
+
+    @Test
+    void resolve_ShouldReturnEmpty_WhenLookupFails() {
+        when(apiKeyRepository.findByKeyHash(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThat(service.resolve(RAW_KEY)).isEmpty();
+    }
+
+    @Test
+    void invalidate_ShouldEvictAndPublish() {
+        when(apiKeyRepository.findByKeyHash(apiKey.getKeyHash())).thenReturn(Optional.of(apiKey));
+        service.resolve(RAW_KEY);
+
+        service.invalidate(apiKey.getKeyHash());
+        service.resolve(RAW_KEY);
+
+        verify(redisTemplate).convertAndSend("api_key_invalidations", apiKey.getKeyHash());
+        verify(apiKeyRepository, times(2)).findByKeyHash(apiKey.getKeyHash());
+    }
+
+    @Test
+    void invalidate_ShouldWaitForCommit() {
+        when(apiKeyRepository.findByKeyHash(apiKey.getKeyHash())).thenReturn(Optional.of(apiKey));
+        service.resolve(RAW_KEY);
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.invalidate(apiKey.getKeyHash());
+        service.resolve(RAW_KEY);
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        service.resolve(RAW_KEY);
+
+        verify(redisTemplate).convertAndSend("api_key_invalidations", apiKey.getKeyHash());
+        verify(apiKeyRepository, times(2)).findByKeyHash(apiKey.getKeyHash());
+    }
+
+    @Test
+    void flushLastUsed_ShouldCoalesceUsesIntoOneUpdate() {
+        ApiKeyPrincipal principal = new ApiKeyPrincipal(apiKey.getId(), apiKey.getTenantId(), ApiKeyScope.WRITE, 60, null);
+
+        service.recordUsage(principal);
+        service.recordUsage(principal);
+        service.recordUsage(principal);
+        service.flushLastUsed();
+        service.flushLastUsed();
+
+        verify(apiKeyRepository, times(1)).updateLastUsedAt(eq(apiKey.getId()), any(Instant.class));
+    }
+
+    @Test
+    void flushLastUsed_ShouldRetry_WhenUpdateFails() {
+        ApiKeyPrincipal principal = new ApiKeyPrincipal(apiKey.getId(), apiKey.getTenantId(), ApiKeyScope.WRITE, 60, null);
+        when(apiKeyRepository.updateLastUsedAt(eq(apiKey.getId()), any(Instant.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(1);
+
+        service.recordUsage(principal);
+        service.flushLastUsed();
+        service.flushLastUsed();
+
+        verify(apiKeyRepository, times(2)).updateLastUsedAt(eq(apiKey.getId()), any(Instant.class));
+    }
+}
@@ -28,6 +28,10 @@ class ApiKeyServiceTest {
     @Mock
     private ApiKeyRepository apiKeyRepository;
 
+
+    @Mock
+    private ApiKeyAuthenticationService apiKeyAuthenticationService;
+
     @InjectMocks
     private ApiKeyService apiKeyService;
 
@@ -66,9 +70,17 @@ class ApiKeyServiceTest {
         assertThat(result.getId()).isNotNull();
         assertThat(result.getKeyPrefix()).isEqualTo("fpk_live_");
         assertThat(result.getKeyHash()).isNotNull();
+        assertThat(result.getRawKey()).startsWith("fpk_live_");
+        assertThat(result.getKeyHash()).isEqualTo(ApiKeyService.hashKey(result.getRawKey()));
         verify(apiKeyRepository).save(newApiKey);
     }
 
+    @Test
+    void hashKey_ShouldReturnSha256Hex() {
+        assertThat(ApiKeyService.hashKey("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
     @Test
     void createApiKey_WithTestKey_ShouldSetTestPrefix() {
         ApiKey newApiKey = new ApiKey();
@@ -215,6 +227,7 @@ class ApiKeyServiceTest {
         assertThat(apiKey.getRevokedAt()).isNotNull();
         verify(apiKeyRepository).findById(apiKeyId);
         verify(apiKeyRepository).save(apiKey);
+        verify(apiKeyAuthenticationService).invalidate("hashed-key");
     }
 
     @Test
@@ -249,4 +262,3 @@ class ApiKeyServiceTest {
         verify(apiKeyRepository, never()).save(any());
     }
 }
-
@@ -0,0 +1,191 @@
+package com.fluxpay.tenant.service;
+
+import com.fluxpay.tenant.entity.ApiUsage;
+import com.fluxpay.tenant.entity.Tenant;
+import com.fluxpay.tenant.repository.ApiUsageRepository;
+import com.fluxpay.tenant.repository.TenantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ApiUsageServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private ApiUsageRepository apiUsageRepository;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    private ApiUsageService apiUsageService;
+    private UUID tenantId;
+    private String usageKey;
+
+    @BeforeEach
+    void setUp() {
+        tenantId = UUID.randomUUID();
+        usageKey = "api_usage:" + tenantId + ":" + ApiUsageService.currentMonth();
+
+        Tenant tenant = new Tenant();
+        tenant.setId(tenantId);
+        tenant.setMaxApiCallsPerMonth(10);
+        when(tenantRepository.findById(tenantId)).thenReturn(Optional.of(tenant));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(apiUsageRepository.findByTenantIdAndUsageMonth(any(), anyString())).thenReturn(Optional.empty());
+
+        apiUsageService = new ApiUsageService(redisTemplate, apiUsageRepository, tenantRepository, 60, 100);
+    }
+
+    @Test
+    void isQuotaExceeded_ReturnsFalse_WhenUnderLimit() {
+        when(valueOperations.get(usageKey)).thenReturn(5);
+
+        assertThat(apiUsageService.isQuotaExceeded(tenantId)).isFalse();
+    }
+
+    @Test
+    void isQuotaExceeded_CountsUnflushedLocalCalls() {
+        when(valueOperations.get(usageKey)).thenReturn(8);
+
+        apiUsageService.record(tenantId);
+        assertThat(apiUsageService.isQuotaExceeded(tenantId)).isFalse();
+        apiUsageService.record(tenantId);
+        assertThat(apiUsageService.isQuotaExceeded(tenantId)).isTrue();
+    }
+
+    @Test
+    void isQuotaExceeded_LoadsBudgetOncePerRefresh() {
+        when(valueOperations.get(usageKey)).thenReturn(1);
+
+        for (int i = 0; i < 5; i++) {
+            apiUsageService.isQuotaExceeded(tenantId);
+        }
+
+        verify(valueOperations, times(1)).get(usageKey);
+        verify(tenantRepository, times(1)).findById(tenantId);
+    }
+
+    @Test
+    void isQuotaExceeded_ReturnsFalse_WhenTenantHasNoLimit() {
+        UUID unlimited = UUID.randomUUID();
+        when(tenantRepository.findById(unlimited)).thenReturn(Optional.empty());
+
+        assertThat(apiUsageService.isQuotaExceeded(unlimited)).isFalse();
+    }
+
+    @Test
+    void isQuotaExceeded_FailsOpen_WhenBudgetCannotBeLoaded() {
+        when(valueOperations.get(anyString())).thenThrow(new RuntimeException("Redis unavailable"));
+
+        assertThat(apiUsageService.isQuotaExceeded(tenantId)).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_IncrementsRedisAndUpdatesBudget() {
+        when(valueOperations.get(usageKey)).thenReturn(0);
+        apiUsageService.isQuotaExceeded(tenantId);
+        for (int i = 0; i < 3; i++) {
+            apiUsageService.record(tenantId);
+        }
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(10L, true));
+
+        apiUsageService.flush();
+
+        verify(apiUsageRepository).recordTotal(tenantId, ApiUsageService.currentMonth(), 10L);
+        assertThat(apiUsageService.isQuotaExceeded(tenantId)).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_KeepsCounts_WhenRedisFails() {
+        when(valueOperations.get(usageKey)).thenReturn(7);
+        apiUsageService.record(tenantId);
+        apiUsageService.record(tenantId);
+        apiUsageService.record(tenantId);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new RuntimeException("down"));
+
+        apiUsageService.flush();
+
+        assertThat(apiUsageService.getCurrentUsage(tenantId)).isEqualTo(10L);
+        verify(apiUsageRepository, never()).recordTotal(any(), anyString(), eq(10L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ConcurrentWithRecord_LosesNoCalls() throws Exception {
+        when(valueOperations.get(usageKey)).thenReturn(null);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new RuntimeException("down"));
+        int writers = 4;
+        int perWriter = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < perWriter; j++) {
+                        apiUsageService.record(tenantId);
+                    }
+                }));
+            }
+            while (!futures.stream().allMatch(Future::isDone)) {
+                apiUsageService.flush();
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        apiUsageService.flush();
+
+        assertThat(apiUsageService.getCurrentUsage(tenantId)).isEqualTo((long) writers * perWriter);
+    }
+
+    @Test
+    void flush_SkipsRedis_WhenNothingRecorded() {
+        apiUsageService.flush();
+
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    void getCurrentUsage_FallsBackToDatabase_WhenRedisKeyMissing() {
+        ApiUsage usage = new ApiUsage();
+        usage.setCallCount(42L);
+        when(valueOperations.get(usageKey)).thenReturn(null);
+        when(apiUsageRepository.findByTenantIdAndUsageMonth(tenantId, ApiUsageService.currentMonth()))
+                .thenReturn(Optional.of(usage));
+
+        assertThat(apiUsageService.getCurrentUsage(tenantId)).isEqualTo(42L);
+    }
+}
@@ -3,15 +3,20 @@ package com.fluxpay.tenant.service;
 import com.fluxpay.common.enums.TenantStatus;
 import com.fluxpay.common.exception.ResourceNotFoundException;
 import com.fluxpay.common.exception.ValidationException;
+import com.fluxpay.security.session.service.RevocationEpochService;
 import com.fluxpay.tenant.entity.Tenant;
 import com.fluxpay.tenant.repository.TenantRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,11 +31,24 @@ class TenantServiceTest {
     @Mock
     private TenantRepository tenantRepository;
 
+    @Mock
+    private RevocationEpochService revocationEpochService;
+
+    @Mock
+    private TenantStateService tenantStateService;
+
     @InjectMocks
     private TenantService tenantService;
 
     private Tenant tenant;
 
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @BeforeEach
     void setUp() {
         tenant = new Tenant();
@@ -83,6 +101,55 @@ class TenantServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    void suspendTenant_RevokesTenantSessions() {
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+
+        tenantService.suspendTenant(tenant.getId());
+
+        assertThat(tenant.getStatus()).isEqualTo(TenantStatus.SUSPENDED);
+        verify(tenantStateService).invalidate(tenant.getId());
+        verify(revocationEpochService).revokeTenantSessions(tenant.getId());
+    }
+
+    @Test
+    void suspendTenant_RevokesTenantSessionsOnlyAfterCommit() {
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+        TransactionSynchronizationManager.initSynchronization();
+
+        tenantService.suspendTenant(tenant.getId());
+
+        verify(revocationEpochService, never()).revokeTenantSessions(any());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(revocationEpochService).revokeTenantSessions(tenant.getId());
+    }
+
+    @Test
+    void deleteTenant_DoesNotRevokeSessionsWhenRolledBack() {
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+        TransactionSynchronizationManager.initSynchronization();
+
+        tenantService.deleteTenant(tenant.getId());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verify(revocationEpochService, never()).revokeTenantSessions(any());
+    }
+
+    @Test
+    void activateTenant_DoesNotRevokeSessions() {
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+
+        tenantService.activateTenant(tenant.getId());
+
+        assertThat(tenant.getStatus()).isEqualTo(TenantStatus.ACTIVE);
+        verify(tenantStateService).invalidate(tenant.getId());
+        verify(revocationEpochService, never()).revokeTenantSessions(any());
+    }
+
     @Test
     void getTenantBySlug_Success() {
         when(tenantRepository.findBySlug(tenant.getSlug())).thenReturn(Optional.of(tenant));
@@ -0,0 +1,128 @@
+package com.fluxpay.tenant.service;
+
+import com.fluxpay.common.enums.TenantStatus;
+import com.fluxpay.security.tenant.TenantState;
+import com.fluxpay.tenant.entity.Tenant;
+import com.fluxpay.tenant.repository.TenantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantStateServiceTest {
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private TenantStateService service;
+    private Tenant tenant;
+
+    @BeforeEach
+    void setUp() {
+        service = new TenantStateService(tenantRepository, redisTemplate, listenerContainer, 60, 100);
+
+        tenant = new Tenant();
+        tenant.setId(UUID.randomUUID());
+        tenant.setStatus(TenantStatus.ACTIVE);
+        tenant.setSubscriptionTier("professional");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void resolve_ShouldLoadOnceAndServeFromCache() {
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+
+        Optional<TenantState> first = service.resolve(tenant.getId());
+        Optional<TenantState> second = service.resolve(tenant.getId());
+
+        assertThat(first).contains(new TenantState(tenant.getId(), TenantStatus.ACTIVE, "professional", 5, 10000));
+        assertThat(second).isEqualTo(first);
+        verify(tenantRepository, times(1)).findById(tenant.getId());
+    }
+
+    @Test
+    void invalidate_OutsideTransaction_ShouldEvictAndPublish() {
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+        service.resolve(tenant.getId());
+
+        tenant.setStatus(TenantStatus.SUSPENDED);
+        service.invalidate(tenant.getId());
+
+        assertThat(service.resolve(tenant.getId())).hasValueSatisfying(state -> assertThat(state.isActive()).isFalse());
+        verify(redisTemplate).convertAndSend("tenant_state_invalidations", tenant.getId().toString());
+    }
+
+    @Test
+    void invalidate_InsideTransaction_ShouldWaitForCommit() {
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+        service.resolve(tenant.getId());
+
+        TenantStatus before = tenant.getStatus();
+        TransactionSynchronizationManager.initSynchronization();
+        service.invalidate(tenant.getId());
+        tenant.setStatus(TenantStatus.SUSPENDED);
+
+        assertThat(service.resolve(tenant.getId()).map(TenantState::status)).contains(before);
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(service.resolve(tenant.getId()).map(TenantState::status)).contains(TenantStatus.SUSPENDED);
+        verify(redisTemplate).convertAndSend("tenant_state_invalidations", tenant.getId().toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void invalidationMessage_ShouldEvictLocally() {
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) serializer);
+        byte[] body = tenant.getId().toString().getBytes(StandardCharsets.UTF_8);
+        when(serializer.deserialize(body)).thenReturn(tenant.getId().toString());
+        when(tenantRepository.findById(tenant.getId())).thenReturn(Optional.of(tenant));
+        service.resolve(tenant.getId());
+
+        tenant.setStatus(TenantStatus.SUSPENDED);
+        listener.getValue().onMessage(new DefaultMessage("tenant_state_invalidations".getBytes(StandardCharsets.UTF_8), body), null);
+
+        assertThat(service.resolve(tenant.getId()).map(TenantState::status)).contains(TenantStatus.SUSPENDED);
+        verify(tenantRepository, times(2)).findById(tenant.getId());
+    }
+}
@@ -216,6 +216,29 @@ class UserServiceTest {
         verify(passwordEncoder).matches(plainPassword, "encoded-password");
     }
 
+    @Test
+    void verifyPassword_WithOutdatedHash_ShouldRehash() {
+        when(passwordEncoder.matches("password123", "encoded-password")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encoded-password")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("rehashed-password");
+
+        boolean result = userService.verifyPassword(user, "password123");
+
+        assertThat(result).isTrue();
+        assertThat(user.getPasswordHash()).isEqualTo("rehashed-password");
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void verifyPassword_WithIncorrectPassword_ShouldNotRehash() {
+        when(passwordEncoder.matches("wrong-password", "encoded-password")).thenReturn(false);
+
+        userService.verifyPassword(user, "wrong-password");
+
+        verify(passwordEncoder, never()).upgradeEncoding(any());
+        verify(passwordEncoder, never()).encode(any());
+    }
+
     @Test
     void updateLastLogin_ShouldUpdateFields() {
         String ipAddress = "192.168.1.1";